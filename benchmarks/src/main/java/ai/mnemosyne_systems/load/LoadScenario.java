@@ -0,0 +1,210 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.load;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replays support agent and customer workflows against a running instance seeded with the {@code synthetic} profile and
+ * reports p50/p99 latency per endpoint.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar ai.mnemosyne_systems.load.LoadScenario --url http://localhost:8080 --duration 120
+ * </pre>
+ */
+public final class LoadScenario {
+
+    private static final Pattern TICKET_LINK = Pattern.compile("/tickets/(\\d+)\"");
+    private static final Pattern NUMBER = Pattern.compile("/\\d+");
+
+    private final Map<String, String> options;
+    private final String url;
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Integer> errors = new ConcurrentHashMap<>();
+
+    private LoadScenario(Map<String, String> options) {
+        this.options = options;
+        this.url = option("url", "http://localhost:8080");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        new LoadScenario(options).run();
+    }
+
+    private void run() throws InterruptedException {
+        int agents = intOption("agents", 10);
+        int customers = intOption("customers", 40);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(intOption("duration", 60));
+        long seed = intOption("seed", 42);
+        ExecutorService executor = Executors.newFixedThreadPool(agents + customers);
+        for (int i = 0; i < agents + customers; i++) {
+            boolean agent = i < agents;
+            Random random = new Random(seed + i);
+            String username = agent ? agentName(i) : customerName(random);
+            executor.submit(() -> session(agent, username, random, deadline));
+        }
+        executor.shutdown();
+        executor.awaitTermination(intOption("duration", 60) + 60L, TimeUnit.SECONDS);
+        report();
+    }
+
+    private void session(boolean agent, String username, Random random, long deadline) {
+        HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER).connectTimeout(Duration.ofSeconds(10)).build();
+        String base = agent ? "/support" : "/user/tickets";
+        try {
+            login(client, username);
+            while (System.nanoTime() < deadline) {
+                String dashboard = get(client, base);
+                List<String> ids = ticketIds(dashboard);
+                get(client, "/tickets/alarm/status");
+                if (!ids.isEmpty()) {
+                    String id = ids.get(random.nextInt(ids.size()));
+                    String detail = agent ? "/support/tickets/" + id : "/user/tickets/" + id;
+                    get(client, detail);
+                    if (random.nextInt(10) == 0) {
+                        postMessage(client, detail + "/messages", "Load scenario reply from " + username);
+                    }
+                }
+                get(client, agent ? "/support/open" : "/user/tickets/closed");
+                think(random);
+            }
+        } catch (IOException ex) {
+            errors.merge("session " + (agent ? "agent" : "customer"), 1, Integer::sum);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void login(HttpClient client, String username) throws IOException, InterruptedException {
+        String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8) + "&password="
+                + URLEncoder.encode(option("password", "synthetic"), StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)).build();
+        send(client, request, "POST /login");
+    }
+
+    private String get(HttpClient client, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + path)).GET().build();
+        return send(client, request, "GET " + NUMBER.matcher(path).replaceAll("/{id}"));
+    }
+
+    private void postMessage(HttpClient client, String path, String body) throws IOException, InterruptedException {
+        String boundary = "----load" + UUID.randomUUID();
+        String multipart = "--" + boundary + "\r\nContent-Disposition: form-data; name=\"body\"\r\n\r\n" + body
+                + "\r\n--" + boundary + "--\r\n";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + path))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(multipart)).build();
+        send(client, request, "POST " + NUMBER.matcher(path).replaceAll("/{id}"));
+    }
+
+    private String send(HttpClient client, HttpRequest request, String endpoint)
+            throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - started;
+        latencies.computeIfAbsent(endpoint, key -> Collections.synchronizedList(new ArrayList<>())).add(elapsed);
+        if (response.statusCode() >= 400) {
+            errors.merge(endpoint, 1, Integer::sum);
+        }
+        return response.body();
+    }
+
+    private List<String> ticketIds(String html) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = TICKET_LINK.matcher(html == null ? "" : html);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private void think(Random random) throws InterruptedException {
+        int think = intOption("think", 0);
+        if (think > 0) {
+            Thread.sleep(random.nextInt(think * 2 + 1));
+        }
+    }
+
+    private String agentName(int index) {
+        return String.format("ssupport%02d", index % intOption("support-users", 20) + 1);
+    }
+
+    private String customerName(Random random) {
+        String code = Long.toString(random.nextInt(intOption("companies", 500)), 36).toLowerCase(Locale.ENGLISH);
+        code = "s" + "0".repeat(Math.max(0, 5 - code.length())) + code;
+        return code + "u" + (random.nextInt(intOption("users-per-company", 10)) + 1);
+    }
+
+    private void report() {
+        System.out.printf("%-40s %8s %8s %10s %10s %10s%n", "endpoint", "count", "errors", "p50 ms", "p99 ms",
+                "max ms");
+        for (Map.Entry<String, List<Long>> entry : new TreeMap<>(latencies).entrySet()) {
+            List<Long> values;
+            synchronized (entry.getValue()) {
+                values = new ArrayList<>(entry.getValue());
+            }
+            Collections.sort(values);
+            System.out.printf("%-40s %8d %8d %10.1f %10.1f %10.1f%n", entry.getKey(), values.size(),
+                    errors.getOrDefault(entry.getKey(), 0), millis(percentile(values, 0.50)),
+                    millis(percentile(values, 0.99)), millis(values.get(values.size() - 1)));
+        }
+        errors.forEach((key, count) -> {
+            if (!latencies.containsKey(key)) {
+                System.out.printf("%-40s %8s %8d%n", key, "-", count);
+            }
+        });
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(option(name, Integer.toString(defaultValue)));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AttachmentHelper#detectMimeType} and {@link AttachmentHelper#extractFileName} for the cases an upload goes
+ * through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttachmentBenchmark {
+
+    private byte[] png;
+    private byte[] text;
+    private MultivaluedMap<String, String> headers;
+
+    @Setup
+    public void setup() {
+        png = new byte[] { (byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0 };
+        text = "2025-01-01 12:00:00 ERROR connection refused".getBytes(StandardCharsets.UTF_8);
+        headers = new MultivaluedHashMap<>();
+        headers.putSingle("Content-Disposition", "form-data; name=\"attachments\"; filename=\"server log.txt\"");
+    }
+
+    @Benchmark
+    public String detectProvided() {
+        return AttachmentHelper.detectMimeType("application/pdf; charset=binary", "report.pdf", text);
+    }
+
+    @Benchmark
+    public String detectImage() {
+        return AttachmentHelper.detectMimeType("application/octet-stream", "screenshot", png);
+    }
+
+    @Benchmark
+    public String detectExtension() {
+        return AttachmentHelper.detectMimeType(null, "export.CSV", text);
+    }
+
+    @Benchmark
+    public String extractFileName() {
+        return AttachmentHelper.extractFileName(headers);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.Ticket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Ticket#formatName} and {@link SupportResource#formatDate}, which run once per ticket or message row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormattingBenchmark {
+
+    private Company company;
+    private LocalDateTime date;
+    private long sequence;
+
+    @Setup
+    public void setup() {
+        company = new Company();
+        company.name = "Mnemosyne Systems Inc";
+        date = LocalDateTime.of(2025, 3, 14, 15, 9);
+    }
+
+    @Benchmark
+    public String formatName() {
+        return Ticket.formatName(company, ++sequence % 100000);
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return SupportResource.formatDate(date);
+    }
+}
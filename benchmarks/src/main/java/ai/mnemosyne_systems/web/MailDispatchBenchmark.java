@@ -0,0 +1,117 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests answered per second by a worker pool when some of them send a ticket notification over a slow SMTP server,
+ * with the mail sent by the worker itself ({@code inline}) or handed to virtual threads ({@code virtual}) as
+ * {@code ticket.mailer.virtual-threads} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MailDispatchBenchmark {
+
+    private static final int REQUESTS = 1000;
+    private static final long REQUEST_WORK = 2000;
+
+    @Param({ "inline", "virtual" })
+    public String dispatch;
+
+    @Param({ "20" })
+    public int workers;
+
+    @Param({ "10" })
+    public int mailPercent;
+
+    @Param({ "100" })
+    public int smtpMillis;
+
+    private ExecutorService workerPool;
+    private ExecutorService mailExecutor;
+
+    @Setup
+    public void setup() {
+        workerPool = Executors.newFixedThreadPool(workers);
+        mailExecutor = "virtual".equals(dispatch) ? virtualThreadExecutor() : null;
+    }
+
+    @TearDown
+    public void tearDown() {
+        workerPool.shutdownNow();
+        if (mailExecutor != null) {
+            mailExecutor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void requests() throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            boolean sendsMail = i % 100 < mailPercent;
+            workerPool.execute(() -> {
+                handle(sendsMail);
+                answered.countDown();
+            });
+        }
+        answered.await();
+    }
+
+    private void handle(boolean sendsMail) {
+        Blackhole.consumeCPU(REQUEST_WORK);
+        if (!sendsMail) {
+            return;
+        }
+        if (mailExecutor == null) {
+            smtp();
+        } else {
+            mailExecutor.execute(this::smtp);
+        }
+    }
+
+    private void smtp() {
+        try {
+            Thread.sleep(smtpMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Before Java 21 a platform thread per message stands in for the virtual threads
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import io.quarkus.qute.RawString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MarkdownTemplateExtension#markdown} on message bodies of the sizes seen on ticket pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarkdownBenchmark {
+
+    private static final String SHORT = "Thanks, that fixed it. Please close the ticket.";
+
+    private static final String MEDIUM = """
+            Hi,
+
+            After upgrading to **1.4.2** the nightly backup fails with:
+
+            ```
+            ERROR: could not open file "base/16384/2619": No such file or directory
+            ```
+
+            Steps we have tried:
+
+            1. Restarted the service
+            2. Ran `vacuumdb --all`
+            3. Checked the [upgrade notes](https://example.com/notes)
+
+            Any idea what to look at next?
+            """;
+
+    @Param({ "short", "medium", "long" })
+    String size;
+
+    private String body;
+
+    @Setup
+    public void setup() {
+        body = switch (size) {
+        case "short" -> SHORT;
+        case "medium" -> MEDIUM;
+        default -> MEDIUM.repeat(20);
+        };
+    }
+
+    @Benchmark
+    public RawString markdown() {
+        return MarkdownTemplateExtension.markdown(body);
+    }
+}
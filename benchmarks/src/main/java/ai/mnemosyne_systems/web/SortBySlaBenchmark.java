@@ -0,0 +1,93 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Ticket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SupportResource#sortBySla} on a shuffled dashboard. Each invocation sorts a fresh copy, so the copy is part of
+ * the measured time. {@code ticketIndex} builds the {@link TicketIndex} of the same tickets, which sorts them once, and
+ * {@code ticketIndexPass} lists them in SLA order from a built index, as each dashboard request does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortBySlaBenchmark {
+
+    private static final String[] COLORS = { "Red", "Yellow", "White", null };
+
+    @Param({ "10000", "50000", "100000" })
+    int tickets;
+
+    private List<Ticket> source;
+    private List<Ticket> byId;
+    private TicketIndex index;
+    private Map<Long, String> slaColors;
+    private Map<Long, LocalDateTime> messageDates;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        source = new ArrayList<>(tickets);
+        slaColors = new HashMap<>();
+        messageDates = new HashMap<>();
+        for (long i = 1; i <= tickets; i++) {
+            Ticket ticket = new Ticket();
+            ticket.id = i;
+            source.add(ticket);
+            slaColors.put(i, COLORS[random.nextInt(COLORS.length)]);
+            if (random.nextInt(10) > 0) {
+                messageDates.put(i, now.minusMinutes(random.nextInt(60 * 24 * 90)));
+            }
+        }
+        byId = new ArrayList<>(source);
+        index = new TicketIndex(byId, slaColors, messageDates, Map.of());
+        Collections.shuffle(source, random);
+    }
+
+    @Benchmark
+    public List<Ticket> sortBySla() {
+        List<Ticket> copy = new ArrayList<>(source);
+        SupportResource.sortBySla(copy, slaColors, messageDates);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Ticket> ticketIndex() {
+        return new TicketIndex(byId, slaColors, messageDates, Map.of()).unassigned();
+    }
+
+    @Benchmark
+    public List<Ticket> ticketIndexPass() {
+        return index.unassigned();
+    }
+}
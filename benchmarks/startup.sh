@@ -0,0 +1,134 @@
+#!/usr/bin/env bash
+#
+# Eclipse Public License - v 2.0
+#
+#   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+#   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+#   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+#
+
+# Measures the time to the first answered request and the resident set size of a packaged build.
+#
+#   startup.sh [-r runs] [-w warmup requests] [-p port] jar|appcds|native|crac
+#
+# jar and appcds start target/quarkus-app/quarkus-run.jar, the latter with the archive built by the
+# appcds profile. native starts the runner built by the native profile. crac needs a JDK with CRaC
+# support: a checkpoint is taken once the first request is answered and the runs restore from it.
+
+set -u
+
+RUNS=5
+WARMUP=100
+PORT=8080
+
+while getopts "r:w:p:" opt; do
+    case "$opt" in
+        r) RUNS="$OPTARG" ;;
+        w) WARMUP="$OPTARG" ;;
+        p) PORT="$OPTARG" ;;
+        *) exit 1 ;;
+    esac
+done
+shift $((OPTIND - 1))
+
+MODE="${1:-jar}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+APP="$ROOT/target/quarkus-app"
+CRAC_DIR="$ROOT/target/crac"
+URL="http://localhost:$PORT/login"
+PID=""
+
+command_for() {
+    case "$MODE" in
+        jar)
+            echo "java -Dquarkus.http.port=$PORT -jar $APP/quarkus-run.jar"
+            ;;
+        appcds)
+            echo "java -XX:SharedArchiveFile=$APP/app-cds.jsa -Dquarkus.http.port=$PORT -jar $APP/quarkus-run.jar"
+            ;;
+        native)
+            echo "$(ls "$ROOT"/target/*-runner | head -n 1) -Dquarkus.http.port=$PORT"
+            ;;
+        crac)
+            echo "java -XX:CRaCRestoreFrom=$CRAC_DIR"
+            ;;
+        *)
+            echo "Unknown mode: $MODE" >&2
+            exit 1
+            ;;
+    esac
+}
+
+now_ms() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+rss_mb() {
+    echo $(($(ps -o rss= -p "$1") / 1024))
+}
+
+wait_ready() {
+    for _ in $(seq 1 1200); do
+        if [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL")" = "200" ]; then
+            return 0
+        fi
+        if ! kill -0 "$PID" 2> /dev/null; then
+            return 1
+        fi
+        sleep 0.05
+    done
+    return 1
+}
+
+stop() {
+    if [ -n "$PID" ]; then
+        kill "$PID" 2> /dev/null
+        wait "$PID" 2> /dev/null
+        PID=""
+    fi
+}
+
+trap stop EXIT
+
+if [ "$MODE" = "crac" ]; then
+    rm -rf "$CRAC_DIR"
+    mkdir -p "$CRAC_DIR"
+    java -XX:CRaCCheckpointTo="$CRAC_DIR" -Dquarkus.http.port="$PORT" -jar "$APP/quarkus-run.jar" > /dev/null 2>&1 &
+    PID=$!
+    if ! wait_ready; then
+        echo "Application did not start" >&2
+        exit 1
+    fi
+    jcmd "$PID" JDK.checkpoint > /dev/null
+    wait "$PID" 2> /dev/null
+    PID=""
+fi
+
+COMMAND="$(command_for)" || exit 1
+TOTAL_START=0
+TOTAL_READY=0
+TOTAL_WARM=0
+
+printf "%-8s %4s %12s %14s %14s\n" "mode" "run" "startup ms" "ready RSS MB" "warm RSS MB"
+for run in $(seq 1 "$RUNS"); do
+    start=$(now_ms)
+    $COMMAND > /dev/null 2>&1 &
+    PID=$!
+    if ! wait_ready; then
+        echo "Application did not start" >&2
+        exit 1
+    fi
+    elapsed=$(($(now_ms) - start))
+    ready=$(rss_mb "$PID")
+    for _ in $(seq 1 "$WARMUP"); do
+        curl -s -o /dev/null "$URL"
+    done
+    warm=$(rss_mb "$PID")
+    stop
+    printf "%-8s %4d %12d %14d %14d\n" "$MODE" "$run" "$elapsed" "$ready" "$warm"
+    TOTAL_START=$((TOTAL_START + elapsed))
+    TOTAL_READY=$((TOTAL_READY + ready))
+    TOTAL_WARM=$((TOTAL_WARM + warm))
+done
+printf "%-8s %4s %12d %14d %14d\n" "$MODE" "avg" $((TOTAL_START / RUNS)) $((TOTAL_READY / RUNS)) \
+    $((TOTAL_WARM / RUNS))
@@ -0,0 +1,52 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Named versions of what has been applied to the database, such as the seed data and the schema it was seeded on.
+ */
+@Entity
+@Table(name = "app_metadata")
+public class AppMetadata extends PanacheEntityBase {
+
+    public static final String SEED_VERSION = "seed.version";
+    public static final String SCHEMA_VERSION = "schema.version";
+
+    @Id
+    public String name;
+
+    @Column(nullable = false)
+    public String version;
+
+    @Column(name = "updated_at", nullable = false)
+    public LocalDateTime updatedAt;
+
+    public static String versionOf(String name) {
+        AppMetadata metadata = findById(name);
+        return metadata == null ? null : metadata.version;
+    }
+
+    public static void record(String name, String version) {
+        AppMetadata metadata = findById(name);
+        if (metadata == null) {
+            metadata = new AppMetadata();
+            metadata.name = name;
+        }
+        metadata.version = version;
+        metadata.updatedAt = LocalDateTime.now();
+        metadata.persist();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "archived_attachments")
+public class ArchivedAttachment extends PanacheEntityBase {
+
+    @Id
+    public Long id;
+
+    @Column(nullable = false)
+    public String name;
+
+    @Column(nullable = false)
+    public String mimeType;
+
+    @Column(name = "size_bytes", nullable = false)
+    public int sizeBytes;
+
+    @Basic(fetch = FetchType.LAZY)
+    @Column(nullable = false, columnDefinition = "bytea")
+    public byte[] data;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "message_id", nullable = false)
+    public ArchivedMessage message;
+
+    public String sizeLabel() {
+        return sizeBytes == 1 ? "1 byte" : sizeBytes + " bytes";
+    }
+
+    public boolean isImage() {
+        return mimeType != null && mimeType.toLowerCase().startsWith("image/");
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "archived_messages")
+public class ArchivedMessage extends PanacheEntityBase {
+
+    @Id
+    public Long id;
+
+    @Column(nullable = false, columnDefinition = "text")
+    public String body;
+
+    @Column(nullable = false)
+    public LocalDateTime date;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "ticket_id", nullable = false)
+    public ArchivedTicket ticket;
+
+    @Column(name = "author_id")
+    public Long authorId;
+
+    @Column(name = "author_name")
+    public String authorName;
+
+    @OneToMany(mappedBy = "message")
+    public List<ArchivedAttachment> attachments = new ArrayList<>();
+}
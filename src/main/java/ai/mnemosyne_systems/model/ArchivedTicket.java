@@ -0,0 +1,79 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A closed ticket moved out of the hot tables by the archiver. Names are copied at archive time, so the archive stays
+ * readable when companies or users change later.
+ */
+@Entity
+@Table(name = "archived_tickets")
+public class ArchivedTicket extends PanacheEntityBase {
+
+    @Id
+    public Long id;
+
+    @Column(nullable = false)
+    public String name;
+
+    @Column(nullable = false)
+    public String status;
+
+    @Column(name = "company_id", nullable = false)
+    public Long companyId;
+
+    @Column(name = "company_name")
+    public String companyName;
+
+    @Column(name = "requester_id")
+    public Long requesterId;
+
+    @Column(name = "requester_name")
+    public String requesterName;
+
+    @Column(name = "category_name")
+    public String categoryName;
+
+    @Column(name = "entitlement_name")
+    public String entitlementName;
+
+    @Column(name = "level_name")
+    public String levelName;
+
+    @Column(name = "external_issue_link")
+    public String externalIssueLink;
+
+    @Column(name = "closed_at")
+    public LocalDateTime closedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    public LocalDateTime archivedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "archived_ticket_supports", joinColumns = @JoinColumn(name = "ticket_id"))
+    @Column(name = "user_name")
+    public List<String> supportNames = new ArrayList<>();
+
+    @ElementCollection
+    @CollectionTable(name = "archived_ticket_tams", joinColumns = @JoinColumn(name = "ticket_id"))
+    @Column(name = "user_name")
+    public List<String> tamNames = new ArrayList<>();
+}
@@ -24,7 +24,6 @@ import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "companies")
@@ -75,12 +74,4 @@ public class Company extends PanacheEntityBase {
 
     @OneToMany(mappedBy = "company", cascade = CascadeType.ALL, orphanRemoval = true)
     public List<CompanyEntitlement> entitlements = new ArrayList<>();
-
-    public String emailsDisplay() {
-        if (users == null || users.isEmpty()) {
-            return "";
-        }
-        return users.stream().map(user -> user.email).filter(email -> email != null && !email.isBlank())
-                .map(email -> "<a href=\"mailto:" + email + "\">" + email + "</a>").collect(Collectors.joining(", "));
-    }
 }
@@ -9,12 +9,15 @@
 package ai.mnemosyne_systems.model;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
@@ -45,4 +48,40 @@ public class CompanyEntitlement extends PanacheEntityBase {
     public LocalDate date;
 
     public Integer duration;
+
+    /**
+     * The last day covered, derived from {@link #date} and {@link #duration}.
+     */
+    @Column(name = "end_date")
+    public LocalDate endDate;
+
+    /**
+     * Whether {@link #endDate} has passed, kept by the entity on write and by the daily expiry job in between.
+     */
+    @Column(nullable = false)
+    public boolean expired;
+
+    @PrePersist
+    @PreUpdate
+    void updateEndDate() {
+        endDate = endDate(date, duration);
+        expired = isExpiredOn(endDate, LocalDate.now());
+    }
+
+    public static LocalDate endDate(LocalDate date, Integer duration) {
+        if (date == null || duration == null) {
+            return null;
+        }
+        if (duration == DURATION_MONTHLY) {
+            return date.plusMonths(1);
+        }
+        if (duration == DURATION_YEARLY) {
+            return date.plusYears(1);
+        }
+        return null;
+    }
+
+    public static boolean isExpiredOn(LocalDate endDate, LocalDate day) {
+        return endDate != null && day.isAfter(endDate);
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.model;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A company as the company list shows it, with the number of its users and the first of their e-mail addresses. Rows
+ * are read through plain queries, so the session does not manage them.
+ */
+public record CompanyRow(Long id, String name, String countryName, long userCount, List<String> emailSummary) {
+
+    /** The number of e-mail addresses shown per company. */
+    public static final int EMAIL_SUMMARY = 3;
+
+    /**
+     * A page of the companies by name, counted from 0, with the first {@link #EMAIL_SUMMARY} e-mail addresses of their
+     * users read in a second query.
+     */
+    public static List<CompanyRow> page(int page, int size) {
+        EntityManager entityManager = Panache.getEntityManager();
+        List<Object[]> companies = entityManager
+                .createQuery("select c.id, c.name, co.name, size(c.users) from Company c left join c.country co"
+                        + " order by c.name, c.id", Object[].class)
+                .setFirstResult(page * size).setMaxResults(size).getResultList();
+        if (companies.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(companies.size());
+        for (Object[] company : companies) {
+            ids.add((Long) company[0]);
+        }
+        // Numbered per company, so that only the addresses shown leave the database
+        Map<Long, List<String>> emails = new HashMap<>();
+        for (Object[] email : entityManager
+                .createQuery("select e.companyId, e.email from (select c.id as companyId,"
+                        + " u.email as email, row_number() over (partition by c.id order by u.email) as position"
+                        + " from Company c join c.users u where c.id in :ids) e"
+                        + " where e.position <= :summary order by e.companyId, e.position", Object[].class)
+                .setParameter("ids", ids).setParameter("summary", (long) EMAIL_SUMMARY).getResultList()) {
+            emails.computeIfAbsent((Long) email[0], ignored -> new ArrayList<>()).add((String) email[1]);
+        }
+        List<CompanyRow> rows = new ArrayList<>(companies.size());
+        for (Object[] company : companies) {
+            rows.add(new CompanyRow((Long) company[0], (String) company[1], (String) company[2],
+                    ((Number) company[3]).longValue(), emails.getOrDefault((Long) company[0], List.of())));
+        }
+        return rows;
+    }
+
+    public static long count() {
+        return Company.count();
+    }
+
+    public long moreEmails() {
+        return Math.max(0, userCount - emailSummary.size());
+    }
+}
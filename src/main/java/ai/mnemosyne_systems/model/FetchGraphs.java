@@ -0,0 +1,38 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.model;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import jakarta.persistence.EntityManager;
+import java.util.Map;
+
+/**
+ * Applies the named entity graphs declared on the entities, so each page type loads its associations in the query that
+ * reads the entity instead of one lazy load at a time.
+ */
+public final class FetchGraphs {
+
+    public static final String LOAD_GRAPH = "jakarta.persistence.loadgraph";
+
+    private FetchGraphs() {
+    }
+
+    public static <T> PanacheQuery<T> apply(PanacheQuery<T> query, String graphName) {
+        return query.withHint(LOAD_GRAPH, Panache.getEntityManager().getEntityGraph(graphName));
+    }
+
+    public static <T> T findById(Class<T> type, Object id, String graphName) {
+        if (id == null) {
+            return null;
+        }
+        EntityManager entityManager = Panache.getEntityManager();
+        return entityManager.find(type, id, Map.of(LOAD_GRAPH, entityManager.getEntityGraph(graphName)));
+    }
+}
@@ -18,6 +18,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
@@ -49,4 +50,15 @@ public class Message extends PanacheEntityBase {
 
     @OneToMany(mappedBy = "message", cascade = CascadeType.ALL, orphanRemoval = true)
     public List<Attachment> attachments = new ArrayList<>();
+
+    /**
+     * Counts the edits of the message, for the cached renderings of its body.
+     */
+    @Column(nullable = false)
+    public int version;
+
+    @PreUpdate
+    void countEdit() {
+        version++;
+    }
 }
@@ -0,0 +1,32 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.model;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A message as the ticket list shows it. Rows are read through a constructor query, so the session does not manage
+ * them.
+ */
+public record MessageRow(Long id, Long ticketId, String body, LocalDateTime date, int version) {
+
+    /**
+     * The messages of all tickets, newest first.
+     */
+    public static List<MessageRow> listAll() {
+        return Panache.getEntityManager()
+                .createQuery(
+                        "select new ai.mnemosyne_systems.model.MessageRow(m.id, m.ticket.id, m.body, m.date,"
+                                + " m.version) from Message m where m.ticket is not null order by m.date desc",
+                        MessageRow.class)
+                .getResultList();
+    }
+}
@@ -19,15 +19,85 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import org.hibernate.Hibernate;
 
 @Entity
 @Table(name = "tickets")
+@NamedEntityGraph(name = Ticket.GRAPH_ROW, attributeNodes = { @NamedAttributeNode("company"),
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode(value = "companyEntitlement", subgraph = "entitlement") }, subgraphs = @NamedSubgraph(name = "entitlement", attributeNodes = {
+                @NamedAttributeNode("entitlement"), @NamedAttributeNode("supportLevel") }))
+@NamedEntityGraph(name = Ticket.GRAPH_DETAIL, attributeNodes = { @NamedAttributeNode("company"),
+        @NamedAttributeNode("category"), @NamedAttributeNode("requester"),
+        @NamedAttributeNode(value = "companyEntitlement", subgraph = "entitlement"),
+        @NamedAttributeNode("supportUsers"),
+        @NamedAttributeNode("tamUsers") }, subgraphs = @NamedSubgraph(name = "entitlement", attributeNodes = {
+                @NamedAttributeNode("entitlement"), @NamedAttributeNode("supportLevel") }))
+@NamedEntityGraph(name = Ticket.GRAPH_NOTIFICATION, attributeNodes = { @NamedAttributeNode("company"),
+        @NamedAttributeNode("requester"), @NamedAttributeNode("supportUsers"), @NamedAttributeNode("tamUsers") })
 public class Ticket extends PanacheEntityBase {
+    /** Columns shown in a row of the ticket tables. */
+    public static final String GRAPH_ROW = "Ticket.row";
+    /** Everything a ticket detail page and its updates touch. */
+    public static final String GRAPH_DETAIL = "Ticket.detail";
+    /** The ticket and the people that receive change emails. */
+    public static final String GRAPH_NOTIFICATION = "Ticket.notification";
+
+    public enum Status {
+        OPEN("Open"), ASSIGNED("Assigned"), IN_PROGRESS("In Progress"), RESOLVED("Resolved"), CLOSED("Closed");
+
+        private final String label;
+
+        Status(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public static Status fromLabel(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            String trimmed = value.trim();
+            for (Status option : values()) {
+                if (option.label.equalsIgnoreCase(trimmed) || option.name().equalsIgnoreCase(trimmed)) {
+                    return option;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * The label of the status, or Open when it is missing or unknown, as the ticket status migration maps them.
+         */
+        public static String normalize(String value) {
+            Status status = fromLabel(value);
+            return status == null ? OPEN.label : status.label;
+        }
+
+        public static String effective(String status, boolean hasSupport) {
+            String normalized = normalize(status);
+            if (hasSupport && OPEN.label.equals(normalized)) {
+                return ASSIGNED.label;
+            }
+            return normalized;
+        }
+    }
 
     @Id
     @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_seq", allocationSize = 1)
@@ -40,6 +110,12 @@ public class Ticket extends PanacheEntityBase {
     @Column(nullable = false)
     public String status;
 
+    @Column(name = "effective_status", nullable = false)
+    public String effectiveStatus;
+
+    @Column(name = "closed_at")
+    public LocalDateTime closedAt;
+
     @ManyToOne
     @JoinColumn(name = "category_id")
     public Category category;
@@ -64,14 +140,58 @@ public class Ticket extends PanacheEntityBase {
 
     @ManyToMany
     @JoinTable(name = "ticket_supports", joinColumns = @JoinColumn(name = "ticket_id"), inverseJoinColumns = @JoinColumn(name = "user_id"))
-    public List<User> supportUsers = new ArrayList<>();
+    public Set<User> supportUsers = new LinkedHashSet<>();
 
     @ManyToMany
     @JoinTable(name = "ticket_tams", joinColumns = @JoinColumn(name = "ticket_id"), inverseJoinColumns = @JoinColumn(name = "user_id"))
-    public List<User> tamUsers = new ArrayList<>();
+    public Set<User> tamUsers = new LinkedHashSet<>();
+
+    public boolean hasStatus(Status expected) {
+        return expected != null && expected.label.equals(status);
+    }
+
+    public boolean isClosed() {
+        return hasStatus(Status.CLOSED);
+    }
+
+    public boolean isEntitlementExpired() {
+        return companyEntitlement != null && companyEntitlement.expired;
+    }
+
+    public void refreshEffectiveStatus() {
+        status = Status.normalize(status);
+        effectiveStatus = Status.effective(status, supportUsers != null && !supportUsers.isEmpty());
+        updateClosedAt();
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeStatus() {
+        if (Hibernate.isInitialized(supportUsers)) {
+            refreshEffectiveStatus();
+            return;
+        }
+        status = Status.normalize(status);
+        if (!Status.OPEN.label.equals(status) || !Status.ASSIGNED.label.equals(effectiveStatus)) {
+            effectiveStatus = status;
+        }
+        updateClosedAt();
+    }
+
+    private void updateClosedAt() {
+        if (!isClosed()) {
+            closedAt = null;
+        } else if (closedAt == null) {
+            closedAt = LocalDateTime.now();
+        }
+    }
 
     public static String formatName(Company company, long sequence) {
-        String base = company == null || company.name == null ? "" : company.name.trim();
+        return formatName(company == null ? null : company.name, sequence);
+    }
+
+    public static String formatName(String companyName, long sequence) {
+        String base = companyName == null ? "" : companyName.trim();
         base = base.replaceAll("\\s+", "");
         if (base.isBlank()) {
             base = "COMP";
@@ -0,0 +1,25 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.model;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import java.util.List;
+
+/**
+ * A ticket as the ticket list shows it. Rows are read through a constructor query, so the session does not manage them.
+ */
+public record TicketRow(Long id, String name, String status, String companyName) {
+
+    public static List<TicketRow> listAll() {
+        return Panache.getEntityManager()
+                .createQuery("select new ai.mnemosyne_systems.model.TicketRow(t.id, t.name, t.status, c.name)"
+                        + " from Ticket t left join t.company c order by t.id", TicketRow.class)
+                .getResultList();
+    }
+}
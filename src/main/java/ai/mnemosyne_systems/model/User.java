@@ -66,8 +66,18 @@ public class User extends PanacheEntityBase {
     @Column(name = "password_hash", nullable = false)
     public String passwordHash;
 
-    @Column(name = "logo_base64", columnDefinition = "text")
-    public String logoBase64;
+    @Column(name = "logo_fingerprint", length = 64)
+    public String logoFingerprint;
+
+    /**
+     * Returns the URL of the logo thumbnail, which changes with the logo, or null without a logo.
+     */
+    public String getLogoUrl() {
+        if (logoFingerprint == null || id == null) {
+            return null;
+        }
+        return "/logos/" + id + "/" + logoFingerprint;
+    }
 
     /**
      * Returns the formatted phone number with extension if available.
@@ -0,0 +1,58 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * The uploaded logo of a user and its thumbnail. Pages only carry {@link User#logoFingerprint}, the image itself is
+ * served separately.
+ */
+@Entity
+@Table(name = "user_logos", uniqueConstraints = @UniqueConstraint(name = "uk_user_logos_user", columnNames = "user_id"))
+public class UserLogo extends PanacheEntityBase {
+
+    @Id
+    @SequenceGenerator(name = "user_logo_seq", sequenceName = "user_logo_seq", allocationSize = 1)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_logo_seq")
+    public Long id;
+
+    @OneToOne(optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    public User user;
+
+    @Column(name = "mime_type", nullable = false)
+    public String mimeType;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    public byte[] data;
+
+    @Column(columnDefinition = "bytea")
+    public byte[] thumbnail;
+
+    @Column(nullable = false, length = 64)
+    public String fingerprint;
+
+    public static UserLogo findForUser(Long userId) {
+        return find("user.id", userId).firstResult();
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.model;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import java.util.List;
+
+/**
+ * A user as the user lists show it. Rows are read through a constructor query, so the session does not manage them.
+ */
+public record UserRow(Long id, String name, String fullName, String type) {
+
+    /**
+     * The users of a company by name.
+     */
+    public static List<UserRow> listForCompany(Company company) {
+        return Panache.getEntityManager()
+                .createQuery("select new ai.mnemosyne_systems.model.UserRow(u.id, u.name, u.fullName, u.type)"
+                        + " from Company c join c.users u where c = :company order by u.name", UserRow.class)
+                .setParameter("company", company).getResultList();
+    }
+}
@@ -157,7 +157,7 @@ final class AttachmentHelper {
         }
     }
 
-    private static String extractFileName(MultivaluedMap<String, String> headers) {
+    static String extractFileName(MultivaluedMap<String, String> headers) {
         if (headers == null) {
             return null;
         }
@@ -201,7 +201,7 @@ final class AttachmentHelper {
         return null;
     }
 
-    private static String detectMimeType(String provided, String fileName, byte[] data) {
+    static String detectMimeType(String provided, String fileName, byte[] data) {
         if (provided != null && !provided.isBlank()) {
             String cleaned = provided.split(";", 2)[0].trim();
             if (!cleaned.isBlank() && !"application/octet-stream".equalsIgnoreCase(cleaned)) {
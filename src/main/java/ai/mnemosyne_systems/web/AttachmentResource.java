@@ -8,6 +8,7 @@
 
 package ai.mnemosyne_systems.web;
 
+import ai.mnemosyne_systems.model.ArchivedAttachment;
 import ai.mnemosyne_systems.model.Attachment;
 import ai.mnemosyne_systems.model.Ticket;
 import ai.mnemosyne_systems.model.User;
@@ -15,6 +16,7 @@ import io.quarkus.qute.Location;
 import io.quarkus.qute.Template;
 import io.quarkus.qute.TemplateInstance;
 import io.smallrye.common.annotation.Blocking;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.CookieParam;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.NotFoundException;
@@ -29,6 +31,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 
 @Path("/attachments")
 @Produces(MediaType.TEXT_HTML)
@@ -38,8 +41,12 @@ public class AttachmentResource {
     @Location("attachments/view.html")
     Template viewTemplate;
 
+    @Inject
+    TicketArchiveService ticketArchiveService;
+
     @GET
     @Path("/{id}")
+    @QueryBudget(60)
     public TemplateInstance view(@CookieParam(AuthHelper.AUTH_COOKIE) String auth, @PathParam("id") Long id) {
         User user = AuthHelper.findUser(auth);
         if (user == null) {
@@ -47,16 +54,23 @@ public class AttachmentResource {
         }
         Attachment attachment = Attachment.findById(id);
         if (attachment == null) {
-            throw new NotFoundException();
+            ArchivedAttachment archived = ticketArchiveService.findAttachment(id);
+            if (archived == null) {
+                throw new NotFoundException();
+            }
+            return render(user, archived, archived.mimeType, archived.data);
         }
-        boolean isImage = attachment.isImage();
+        return render(user, attachment, attachment.mimeType, attachment.data);
+    }
+
+    private TemplateInstance render(User user, Object attachment, String mimeType, byte[] data) {
+        boolean isImage = mimeType != null && mimeType.toLowerCase().startsWith("image/");
         String imageData = null;
         List<AttachmentLine> lines = List.of();
         if (isImage) {
-            imageData = "data:" + attachment.mimeType + ";base64,"
-                    + Base64.getEncoder().encodeToString(attachment.data);
+            imageData = "data:" + mimeType + ";base64," + Base64.getEncoder().encodeToString(data);
         } else {
-            String text = attachment.data == null ? "" : new String(attachment.data, StandardCharsets.UTF_8);
+            String text = data == null ? "" : new String(data, StandardCharsets.UTF_8);
             String[] split = text.split("\\R", -1);
             List<AttachmentLine> entries = new ArrayList<>();
             for (int i = 0; i < split.length; i++) {
@@ -106,12 +120,12 @@ public class AttachmentResource {
         int assigned = 0;
         int open = 0;
         List<Ticket> scopedTickets = tickets == null ? List.of() : tickets;
+        Map<Long, User> supportUsers = TicketQueries.latestSupportUsers(scopedTickets);
         for (Ticket ticket : scopedTickets) {
-            if ("Closed".equalsIgnoreCase(ticket.status)) {
+            if (ticket.isClosed()) {
                 continue;
             }
-            Long hasSupport = Ticket.count("select count(u) from Ticket t join t.supportUsers u where t = ?1", ticket);
-            if (hasSupport != null && hasSupport > 0) {
+            if (supportUsers.containsKey(ticket.id)) {
                 assigned++;
             } else {
                 open++;
@@ -20,6 +20,11 @@ public final class AuthHelper {
     }
 
     public static User findUser(String cookieValue) {
+        Long id = userId(cookieValue);
+        return id == null ? null : User.findById(id);
+    }
+
+    public static Long userId(String cookieValue) {
         if (cookieValue == null || cookieValue.isBlank()) {
             return null;
         }
@@ -28,8 +33,7 @@ public final class AuthHelper {
             if (parts.length != 2 || !SESSION_NONCE.equals(parts[0])) {
                 return null;
             }
-            long id = Long.parseLong(parts[1]);
-            return User.findById(id);
+            return Long.parseLong(parts[1]);
         } catch (NumberFormatException ex) {
             return null;
         }
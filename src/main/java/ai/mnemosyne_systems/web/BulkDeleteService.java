@@ -0,0 +1,261 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.ArchivedTicket;
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.virtual.threads.VirtualThreads;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Deletes companies, users and tickets with set-based statements, children first, instead of through the JPA cascades
+ * that load every message and attachment before removing them one by one. Tickets are deleted in batches of
+ * {@code ticket.delete.batch-size}, each in its own transaction, so a large company neither holds one long transaction
+ * nor reads any attachment data.
+ * <p>
+ * With {@code ticket.delete.background} the deletion runs after the request has been answered, and its progress is
+ * reported by {@link #jobs()}.
+ */
+@ApplicationScoped
+public class BulkDeleteService {
+
+    private static final Logger LOGGER = Logger.getLogger(BulkDeleteService.class);
+    private static final int KEPT_JOBS = 50;
+
+    private static final List<String> DELETE_TICKETS = TicketArchiveService.DELETE_HOT_ROWS;
+    private static final List<String> DELETE_ARCHIVED_TICKETS = List.of(
+            "DELETE FROM archived_attachments WHERE message_id IN (SELECT m.id FROM archived_messages m WHERE m.ticket_id IN (:ids))",
+            "DELETE FROM archived_messages WHERE ticket_id IN (:ids)",
+            "DELETE FROM archived_ticket_supports WHERE ticket_id IN (:ids)",
+            "DELETE FROM archived_ticket_tams WHERE ticket_id IN (:ids)",
+            "DELETE FROM archived_tickets WHERE id IN (:ids)");
+    private static final List<String> DELETE_COMPANY = List.of(
+            "DELETE FROM company_entitlements WHERE company_id = :id",
+            "DELETE FROM company_users WHERE company_id = :id", "DELETE FROM companies WHERE id = :id");
+    // Archived rows keep the copied name of the user
+    private static final List<String> DELETE_USER = List.of("DELETE FROM company_users WHERE user_id = :id",
+            "DELETE FROM ticket_supports WHERE user_id = :id", "DELETE FROM ticket_tams WHERE user_id = :id",
+            "UPDATE tickets SET requester_id = NULL WHERE requester_id = :id",
+            "UPDATE messages SET author_id = NULL WHERE author_id = :id",
+            "UPDATE companies SET primary_contact_id = NULL WHERE primary_contact_id = :id",
+            "DELETE FROM user_logos WHERE user_id = :id", "DELETE FROM users WHERE id = :id");
+    // The tickets whose pages show the user
+    private static final String USER_TICKETS = "select t.id from Ticket t where t.requester.id = :id"
+            + " or exists (select m from Message m where m.ticket = t and m.author.id = :id)"
+            + " or exists (select u from t.supportUsers u where u.id = :id)"
+            + " or exists (select u from t.tamUsers u where u.id = :id)";
+
+    @Inject
+    @VirtualThreads
+    ExecutorService executor;
+
+    @Inject
+    TicketVersions ticketVersions;
+
+    @ConfigProperty(name = "ticket.delete.background", defaultValue = "true")
+    boolean background;
+
+    @ConfigProperty(name = "ticket.delete.batch-size", defaultValue = "200")
+    int batchSize;
+
+    private final AtomicLong jobIds = new AtomicLong();
+    private final Map<Long, Job> jobs = new LinkedHashMap<>();
+
+    public enum State {
+        RUNNING, DONE, FAILED
+    }
+
+    /**
+     * The progress of a deletion. {@code tickets} counts the hot and archived tickets found when it started, of which
+     * {@code ticketsDeleted} are gone.
+     */
+    public record Progress(long id, String kind, Long targetId, String name, State state, String step, long tickets,
+            long ticketsDeleted, LocalDateTime started, LocalDateTime finished, String error) {
+    }
+
+    public Progress deleteCompany(Company company) {
+        return start("company", company.id, company.name, job -> {
+            job.tickets = QuarkusTransaction.requiringNew()
+                    .call(() -> Ticket.count("company.id", company.id) + ArchivedTicket.count("companyId", company.id));
+            job.step = "tickets";
+            deleteInBatches(job, "select t.id from Ticket t where t.company.id = ?1 order by t.id", company.id,
+                    DELETE_TICKETS);
+            job.step = "archived tickets";
+            deleteInBatches(job, "select t.id from ArchivedTicket t where t.companyId = ?1 order by t.id", company.id,
+                    DELETE_ARCHIVED_TICKETS);
+            job.step = "company";
+            List<Long> ticketIds = QuarkusTransaction.requiringNew().call(() -> {
+                // Tickets opened while the batches ran
+                List<Long> ids = new ArrayList<>();
+                List<Long> deleted;
+                do {
+                    deleted = deleteBatch(job, "select t.id from Ticket t where t.company.id = ?1 order by t.id",
+                            company.id, DELETE_TICKETS);
+                    ids.addAll(deleted);
+                } while (!deleted.isEmpty());
+                execute(DELETE_COMPANY, "id", company.id);
+                return ids;
+            });
+            ticketVersions.changed(ticketIds);
+        });
+    }
+
+    public Progress deleteUser(User user) {
+        return start("user", user.id, user.name, job -> {
+            job.step = "user";
+            List<Long> ticketIds = QuarkusTransaction.requiringNew().call(() -> {
+                List<Long> ids = Ticket.getEntityManager().createQuery(USER_TICKETS, Long.class)
+                        .setParameter("id", user.id).getResultList();
+                execute(DELETE_USER, "id", user.id);
+                return ids;
+            });
+            ticketVersions.changed(ticketIds);
+        });
+    }
+
+    public Progress deleteTicket(Ticket ticket) {
+        return start("ticket", ticket.id, ticket.name, job -> {
+            job.tickets = 1;
+            job.step = "tickets";
+            QuarkusTransaction.requiringNew().run(() -> execute(DELETE_TICKETS, "ids", List.of(ticket.id)));
+            ticketVersions.changed(List.of(ticket.id));
+            job.ticketsDeleted.incrementAndGet();
+        });
+    }
+
+    public List<Progress> jobs() {
+        synchronized (jobs) {
+            List<Progress> progress = new ArrayList<>(jobs.size());
+            for (Job job : jobs.values()) {
+                progress.add(0, job.progress());
+            }
+            return progress;
+        }
+    }
+
+    public Progress job(long id) {
+        synchronized (jobs) {
+            Job job = jobs.get(id);
+            return job == null ? null : job.progress();
+        }
+    }
+
+    private Progress start(String kind, Long targetId, String name, Work work) {
+        Job job;
+        synchronized (jobs) {
+            for (Job running : jobs.values()) {
+                if (running.state == State.RUNNING && running.kind.equals(kind) && running.targetId.equals(targetId)) {
+                    return running.progress();
+                }
+            }
+            job = new Job(jobIds.incrementAndGet(), kind, targetId, name);
+            jobs.put(job.id, job);
+            if (jobs.size() > KEPT_JOBS) {
+                jobs.values().stream().filter(kept -> kept.state != State.RUNNING).findFirst()
+                        .ifPresent(finished -> jobs.remove(finished.id));
+            }
+        }
+        if (background) {
+            executor.execute(() -> run(job, work));
+        } else {
+            run(job, work);
+        }
+        return job.progress();
+    }
+
+    private void run(Job job, Work work) {
+        long started = System.nanoTime();
+        try {
+            work.run(job);
+            job.state = State.DONE;
+            LOGGER.infof("Deleted %s %d (%s) with %d tickets in %d ms", job.kind, job.targetId, job.name,
+                    job.ticketsDeleted.get(), (System.nanoTime() - started) / 1_000_000L);
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.state = State.FAILED;
+            LOGGER.errorf(e, "Deleting %s %d (%s) failed at %s", job.kind, job.targetId, job.name, job.step);
+            if (!background) {
+                throw e;
+            }
+        } finally {
+            job.finished = LocalDateTime.now();
+        }
+    }
+
+    private void deleteInBatches(Job job, String idQuery, Long ownerId, List<String> statements) {
+        List<Long> deleted;
+        do {
+            deleted = QuarkusTransaction.requiringNew().call(() -> deleteBatch(job, idQuery, ownerId, statements));
+            ticketVersions.changed(deleted);
+        } while (deleted.size() >= batchSize);
+    }
+
+    private List<Long> deleteBatch(Job job, String idQuery, Long ownerId, List<String> statements) {
+        List<Long> ids = Ticket.getEntityManager().createQuery(idQuery, Long.class).setParameter(1, ownerId)
+                .setMaxResults(batchSize).getResultList();
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        execute(statements, "ids", ids);
+        job.ticketsDeleted.addAndGet(ids.size());
+        return ids;
+    }
+
+    private static void execute(List<String> statements, String parameter, Object value) {
+        EntityManager entityManager = Ticket.getEntityManager();
+        for (String statement : statements) {
+            entityManager.createNativeQuery(statement).setParameter(parameter, value).executeUpdate();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Work {
+        void run(Job job);
+    }
+
+    private static final class Job {
+        final long id;
+        final String kind;
+        final Long targetId;
+        final String name;
+        final LocalDateTime started = LocalDateTime.now();
+        final AtomicLong ticketsDeleted = new AtomicLong();
+        volatile State state = State.RUNNING;
+        volatile String step = "pending";
+        volatile long tickets;
+        volatile LocalDateTime finished;
+        volatile String error;
+
+        Job(long id, String kind, Long targetId, String name) {
+            this.id = id;
+            this.kind = kind;
+            this.targetId = targetId;
+            this.name = name;
+        }
+
+        Progress progress() {
+            return new Progress(id, kind, targetId, name, state, step, tickets, ticketsDeleted.get(), started, finished,
+                    error);
+        }
+    }
+}
@@ -0,0 +1,769 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import ai.mnemosyne_systems.web.SyntheticDataSeeder.Batch;
+import ai.mnemosyne_systems.web.SyntheticDataSeeder.IdBlock;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.elytron.security.common.BcryptUtil;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Imports companies, users and tickets with their messages and attachments from another system. The records are written
+ * through batched JDBC statements in chunks of {@code ticket.import.chunk-size}, each chunk in its own transaction,
+ * with the ids reserved from the sequences a block at a time. Companies and users are resolved in memory once they have
+ * been seen, and the ticket names of a chunk are taken from the company sequence with one update per company, so
+ * neither {@link Ticket#nextName} nor the notifications are involved.
+ * <p>
+ * Companies and users that already exist, by name and by email, are reused, so an interrupted import is resumed by
+ * passing the {@code records} of its result as {@code skip}.
+ */
+@ApplicationScoped
+public class BulkImportService {
+
+    private static final Logger LOGGER = Logger.getLogger(BulkImportService.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long MAX_BATCH_BYTES = 16L * 1024 * 1024;
+    private static final long MAX_CHUNK_BYTES = 64L * 1024 * 1024;
+    private static final int MAX_IN_LIST = 500;
+    private static final Set<String> USER_TYPES = Set.of(User.TYPE_USER, User.TYPE_TAM, User.TYPE_SUPPORT);
+    private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    TicketVersions ticketVersions;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "ticket.import.chunk-size", defaultValue = "1000")
+    int chunkSize;
+
+    /**
+     * The outcome of an import. {@code records} counts the records committed, skipped ones included, and {@code error}
+     * is set when the import stopped at the chunk holding record {@code records + 1} or later.
+     */
+    public record Result(long records, long companies, long users, long tickets, long messages, long attachments,
+            long millis, long messagesPerHour, String error) {
+    }
+
+    record CompanyRecord(String key, String name) {
+    }
+
+    record UserRecord(String email, String name, String fullName, String type, String company, String passwordHash) {
+    }
+
+    record AttachmentRecord(String name, String mimeType, byte[] data) {
+    }
+
+    record MessageRecord(LocalDateTime date, String author, String body, List<AttachmentRecord> attachments) {
+    }
+
+    record TicketRecord(long record, String name, String status, String company, String requester, String category,
+            String externalIssueLink, LocalDateTime closedAt, List<MessageRecord> messages) {
+    }
+
+    record CompanyRef(long id, String name) {
+    }
+
+    public Result importNdjson(Reader input, long skip) {
+        BufferedReader reader = new BufferedReader(input);
+        return run(skip, number -> {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            return line == null ? null : parseJson(number, line);
+        });
+    }
+
+    public Result importCsv(Reader input, long skip) {
+        CsvRecords csv = new CsvRecords(new BufferedReader(input));
+        return run(skip, csv::next);
+    }
+
+    private Result run(long skip, Source source) {
+        long started = System.nanoTime();
+        Run run = new Run();
+        run.passwordHash = BcryptUtil.bcryptHash(UUID.randomUUID().toString());
+        run.categories = QuarkusTransaction.requiringNew().call(() -> jdbc(this::loadCategories));
+        String error = null;
+        try {
+            long number = 0;
+            while (number < skip && source.next(number + 1) != null) {
+                number++;
+            }
+            run.records = number;
+            Chunk chunk = new Chunk();
+            boolean more = true;
+            while (more) {
+                Object record = source.next(number + 1);
+                more = record != null;
+                if (more) {
+                    number++;
+                    chunk.add(record);
+                }
+                if (!chunk.isEmpty() && (!more || chunk.size() >= chunkSize || chunk.bytes >= MAX_CHUNK_BYTES)) {
+                    Chunk written = chunk;
+                    QuarkusTransaction.requiringNew().run(() -> jdbc(connection -> {
+                        write(connection, run, written);
+                        return null;
+                    }));
+                    run.commit(written);
+                    run.records = number;
+                    ticketVersions.changed();
+                    chunk = new Chunk();
+                }
+            }
+        } catch (ImportException e) {
+            error = e.getMessage();
+            LOGGER.warnf("Import stopped after %d records: %s", run.records, error);
+        } catch (IllegalStateException | IOException e) {
+            error = e.getMessage();
+            LOGGER.errorf(e, "Import failed after %d records", run.records);
+        }
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000L);
+        Result result = new Result(run.records, run.companies, run.users, run.tickets, run.messages, run.attachments,
+                millis, run.messages * 3_600_000L / millis, error);
+        LOGGER.infof(
+                "Imported %d companies, %d users, %d tickets, %d messages and %d attachments in %d ms (%d messages/hour)",
+                result.companies(), result.users(), result.tickets(), result.messages(), result.attachments(), millis,
+                result.messagesPerHour());
+        return result;
+    }
+
+    private void write(Connection connection, Run run, Chunk chunk) throws SQLException {
+        run.rollback();
+        writeCompanies(connection, run, chunk);
+        writeUsers(connection, run, chunk);
+        writeTickets(connection, run, chunk);
+    }
+
+    private void writeCompanies(Connection connection, Run run, Chunk chunk) throws SQLException {
+        if (chunk.companyRecords.isEmpty()) {
+            return;
+        }
+        IdBlock ids = new IdBlock(connection, "company_seq", chunk.companyRecords.size());
+        try (Batch rows = new Batch(connection, "INSERT INTO companies (id, name, ticket_sequence) VALUES (?, ?, ?)")) {
+            for (CompanyRecord record : chunk.companyRecords) {
+                CompanyRef ref = findCompany(connection, record.name(), run.companiesByName);
+                if (ref == null) {
+                    ref = new CompanyRef(ids.next(), record.name());
+                    rows.add(ref.id(), ref.name(), 0L);
+                    run.companiesByName.put(lower(ref.name()), ref);
+                    chunk.companies++;
+                }
+                run.companiesByKey.put(record.key(), ref);
+            }
+        }
+    }
+
+    private void writeUsers(Connection connection, Run run, Chunk chunk) throws SQLException {
+        if (chunk.userRecords.isEmpty()) {
+            return;
+        }
+        Set<String> emails = new LinkedHashSet<>();
+        for (UserRecord record : chunk.userRecords) {
+            emails.add(lower(record.email()));
+        }
+        resolveUsers(connection, emails, run.userIds);
+        IdBlock ids = new IdBlock(connection, "user_seq", chunk.userRecords.size());
+        try (Batch rows = new Batch(connection,
+                "INSERT INTO users (id, name, full_name, email, user_type, password_hash) VALUES (?, ?, ?, ?, ?, ?)");
+                Batch members = new Batch(connection,
+                        "INSERT INTO company_users (company_id, user_id) VALUES (?, ?)")) {
+            for (UserRecord record : chunk.userRecords) {
+                String email = lower(record.email());
+                if (run.userIds.get(email) != null) {
+                    continue;
+                }
+                CompanyRef company = record.company() == null ? null
+                        : resolveCompany(connection, record.company(), run);
+                long id = ids.next();
+                rows.add(id, record.name(), record.fullName(), record.email(), record.type(),
+                        record.passwordHash() == null ? run.passwordHash : record.passwordHash());
+                if (company != null) {
+                    members.add(company.id(), id);
+                }
+                run.userIds.put(email, id);
+                chunk.users++;
+                if (rows.pending >= BATCH_SIZE) {
+                    rows.flush();
+                    members.flush();
+                }
+            }
+            rows.flush();
+            members.flush();
+        }
+    }
+
+    private void writeTickets(Connection connection, Run run, Chunk chunk) throws SQLException {
+        if (chunk.ticketRecords.isEmpty()) {
+            return;
+        }
+        Set<String> emails = new LinkedHashSet<>();
+        Map<Long, Integer> unnamed = new LinkedHashMap<>();
+        Map<Long, Long> highestNamed = new HashMap<>();
+        List<CompanyRef> ticketCompanies = new ArrayList<>(chunk.ticketRecords.size());
+        int messageCount = 0;
+        int attachmentCount = 0;
+        for (TicketRecord record : chunk.ticketRecords) {
+            CompanyRef company = resolveCompany(connection, record.company(), run);
+            if (company == null) {
+                throw new ImportException(record.record(), "unknown company " + record.company());
+            }
+            if (record.status() != null && Ticket.Status.fromLabel(record.status()) == null) {
+                throw new ImportException(record.record(), "unknown status " + record.status());
+            }
+            ticketCompanies.add(company);
+            if (record.name() == null) {
+                unnamed.merge(company.id(), 1, Integer::sum);
+            } else {
+                long number = nameNumber(company.name(), record.name());
+                if (number > 0) {
+                    highestNamed.merge(company.id(), number, Math::max);
+                }
+            }
+            addEmail(emails, record.requester());
+            for (MessageRecord message : record.messages()) {
+                addEmail(emails, message.author());
+                messageCount++;
+                attachmentCount += message.attachments().size();
+            }
+        }
+        resolveUsers(connection, emails, run.userIds);
+        Map<Long, long[]> sequences = reserveTicketNames(connection, unnamed, highestNamed);
+        IdBlock ticketIds = new IdBlock(connection, "ticket_seq", chunk.ticketRecords.size());
+        IdBlock messageIds = new IdBlock(connection, "message_seq", Math.max(1, messageCount));
+        IdBlock attachmentIds = new IdBlock(connection, "attachment_seq", Math.max(1, attachmentCount));
+        LocalDateTime now = LocalDateTime.now();
+        // Flushed together in this order so that every row is written after the rows it references
+        try (Batch ticketRows = new Batch(connection,
+                "INSERT INTO tickets (id, name, status, effective_status, category_id, external_issue_link, company_id, requester_id, closed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                Batch messages = new Batch(connection,
+                        "INSERT INTO messages (id, body, date, ticket_id, author_id, version) VALUES (?, ?, ?, ?, ?, 0)");
+                Batch attachments = new Batch(connection,
+                        "INSERT INTO attachments (id, name, mimetype, data, message_id) VALUES (?, ?, ?, ?, ?)")) {
+            List<Batch> ordered = List.of(ticketRows, messages, attachments);
+            long attachmentBytes = 0;
+            for (int t = 0; t < chunk.ticketRecords.size(); t++) {
+                TicketRecord record = chunk.ticketRecords.get(t);
+                CompanyRef company = ticketCompanies.get(t);
+                String name = record.name();
+                if (name == null) {
+                    name = Ticket.formatName(company.name(), sequences.get(company.id())[0]++);
+                }
+                String status = Ticket.Status.normalize(record.status());
+                LocalDateTime closedAt = null;
+                if (Ticket.Status.CLOSED.getLabel().equals(status)) {
+                    closedAt = record.closedAt() != null ? record.closedAt() : record.messages().isEmpty() ? now
+                            : record.messages().get(record.messages().size() - 1).date();
+                }
+                Long categoryId = record.category() == null ? run.categories.get("")
+                        : run.categories.getOrDefault(lower(record.category()), run.categories.get(""));
+                long ticketId = ticketIds.next();
+                ticketRows.add(ticketId, name, status, Ticket.Status.effective(status, false), categoryId,
+                        record.externalIssueLink(), company.id(), userId(run.userIds, record.requester()), closedAt);
+                for (MessageRecord message : record.messages()) {
+                    long messageId = messageIds.next();
+                    messages.add(messageId, message.body() == null ? "" : message.body(),
+                            message.date() == null ? now : message.date(), ticketId,
+                            userId(run.userIds, message.author()));
+                    for (AttachmentRecord attachment : message.attachments()) {
+                        attachments.add(attachmentIds.next(), attachment.name(), attachment.mimeType(),
+                                attachment.data(), messageId);
+                        attachmentBytes += attachment.data().length;
+                    }
+                }
+                if (messages.pending >= BATCH_SIZE || attachmentBytes >= MAX_BATCH_BYTES) {
+                    for (Batch batch : ordered) {
+                        batch.flush();
+                    }
+                    attachmentBytes = 0;
+                }
+            }
+            for (Batch batch : ordered) {
+                batch.flush();
+            }
+        }
+        chunk.tickets = chunk.ticketRecords.size();
+        chunk.messages = messageCount;
+        chunk.attachments = attachmentCount;
+    }
+
+    /**
+     * Advances the ticket sequence of each company past the highest number among the named tickets it gets in this
+     * chunk, and then by its unnamed tickets, returning the first number for those. The company row stays locked until
+     * the chunk commits.
+     */
+    private static Map<Long, long[]> reserveTicketNames(Connection connection, Map<Long, Integer> unnamed,
+            Map<Long, Long> highestNamed) throws SQLException {
+        Map<Long, long[]> first = new HashMap<>();
+        Set<Long> companyIds = new LinkedHashSet<>(unnamed.keySet());
+        companyIds.addAll(highestNamed.keySet());
+        if (companyIds.isEmpty()) {
+            return first;
+        }
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT COALESCE(c.ticket_sequence, (SELECT COUNT(*) FROM tickets t WHERE t.company_id = c.id)) FROM companies c WHERE c.id = ? FOR UPDATE");
+                PreparedStatement update = connection
+                        .prepareStatement("UPDATE companies SET ticket_sequence = ? WHERE id = ?")) {
+            for (Long companyId : companyIds) {
+                select.setLong(1, companyId);
+                long current;
+                try (ResultSet rs = select.executeQuery()) {
+                    rs.next();
+                    current = Math.max(rs.getLong(1), highestNamed.getOrDefault(companyId, 0L));
+                }
+                first.put(companyId, new long[] { current + 1 });
+                update.setLong(1, current + unnamed.getOrDefault(companyId, 0));
+                update.setLong(2, companyId);
+                update.executeUpdate();
+            }
+        }
+        return first;
+    }
+
+    /**
+     * The number of a ticket name in the format of {@link Ticket#formatName} for the company, or 0 for another name.
+     */
+    private static long nameNumber(String companyName, String name) {
+        int dash = name.lastIndexOf('-');
+        try {
+            long number = Long.parseLong(name.substring(dash + 1));
+            return number > 0 && Ticket.formatName(companyName, number).equals(name) ? number : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static CompanyRef resolveCompany(Connection connection, String reference, Run run) throws SQLException {
+        CompanyRef company = run.companiesByKey.get(reference);
+        return company != null ? company : findCompany(connection, reference, run.companiesByName);
+    }
+
+    private static CompanyRef findCompany(Connection connection, String name, Lookup<CompanyRef> companiesByName)
+            throws SQLException {
+        String key = lower(name);
+        if (companiesByName.containsKey(key)) {
+            return companiesByName.get(key);
+        }
+        CompanyRef company = null;
+        try (PreparedStatement statement = connection
+                .prepareStatement("SELECT id, name FROM companies WHERE LOWER(name) = ? ORDER BY id LIMIT 1")) {
+            statement.setString(1, key);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    company = new CompanyRef(rs.getLong(1), rs.getString(2));
+                }
+            }
+        }
+        companiesByName.put(key, company);
+        return company;
+    }
+
+    /**
+     * Looks up the emails not yet resolved, recording the unknown ones as {@code null} so that they are asked once.
+     */
+    private static void resolveUsers(Connection connection, Set<String> emails, Lookup<Long> users)
+            throws SQLException {
+        List<String> missing = new ArrayList<>();
+        for (String email : emails) {
+            if (!users.containsKey(email)) {
+                missing.add(email);
+                users.put(email, null);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += MAX_IN_LIST) {
+            List<String> part = missing.subList(from, Math.min(missing.size(), from + MAX_IN_LIST));
+            String placeholders = String.join(", ", Collections.nCopies(part.size(), "?"));
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id, LOWER(email) FROM users WHERE LOWER(email) IN (" + placeholders + ")")) {
+                for (int i = 0; i < part.size(); i++) {
+                    statement.setString(i + 1, part.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        users.put(rs.getString(2), rs.getLong(1));
+                    }
+                }
+            }
+        }
+    }
+
+    private Map<String, Long> loadCategories(Connection connection) throws SQLException {
+        Map<String, Long> categories = new HashMap<>();
+        try (PreparedStatement statement = connection
+                .prepareStatement("SELECT id, name, is_default FROM categories ORDER BY id");
+                ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                categories.putIfAbsent(lower(rs.getString(2)), rs.getLong(1));
+                if (rs.getBoolean(3)) {
+                    categories.putIfAbsent("", rs.getLong(1));
+                }
+            }
+        }
+        return categories;
+    }
+
+    private static Long userId(Lookup<Long> users, String email) {
+        return email == null ? null : users.get(lower(email));
+    }
+
+    private static void addEmail(Set<String> emails, String email) {
+        if (email != null) {
+            emails.add(lower(email));
+        }
+    }
+
+    private Object parseJson(long number, String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new ImportException(number, "invalid JSON");
+        }
+        String type = text(node, "type");
+        if ("company".equals(type)) {
+            String name = required(number, node, "name");
+            String key = text(node, "key");
+            return new CompanyRecord(key == null ? name : key, name);
+        }
+        if ("user".equals(type)) {
+            String email = required(number, node, "email");
+            String name = text(node, "name");
+            String userType = text(node, "userType");
+            userType = userType == null ? User.TYPE_USER : userType.toLowerCase(Locale.ENGLISH);
+            if (!USER_TYPES.contains(userType)) {
+                throw new ImportException(number, "unknown user type " + userType);
+            }
+            int at = email.indexOf('@');
+            return new UserRecord(email, name != null ? name : at > 0 ? email.substring(0, at) : email,
+                    text(node, "fullName"), userType, text(node, "company"), text(node, "passwordHash"));
+        }
+        if (type != null && !"ticket".equals(type)) {
+            throw new ImportException(number, "unknown type " + type);
+        }
+        // Also reads the lines of the ticket export, whose attachments have no data and are left out
+        String company = text(node, "company");
+        if (company == null) {
+            company = required(number, node, "companyName");
+        }
+        List<MessageRecord> messages = new ArrayList<>();
+        for (JsonNode message : node.path("messages")) {
+            List<AttachmentRecord> attachments = new ArrayList<>();
+            for (JsonNode attachment : message.path("attachments")) {
+                String data = text(attachment, "data");
+                if (data != null) {
+                    try {
+                        String mimeType = text(attachment, "mimeType");
+                        attachments.add(new AttachmentRecord(required(number, attachment, "name"),
+                                mimeType == null ? DEFAULT_MIME_TYPE : mimeType, Base64.getDecoder().decode(data)));
+                    } catch (IllegalArgumentException e) {
+                        throw new ImportException(number, "invalid attachment data");
+                    }
+                }
+            }
+            messages.add(new MessageRecord(date(number, text(message, "date")), text(message, "author"),
+                    text(message, "body"), attachments));
+        }
+        return new TicketRecord(number, text(node, "name"), text(node, "status"), company, text(node, "requester"),
+                text(node, "category"), text(node, "externalIssueLink"), date(number, text(node, "closedAt")),
+                messages);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static String required(long number, JsonNode node, String field) {
+        String value = text(node, field);
+        if (value == null) {
+            throw new ImportException(number, "missing " + field);
+        }
+        return value;
+    }
+
+    private static LocalDateTime date(long number, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new ImportException(number, "invalid date " + value);
+        }
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    private <T> T jdbc(SyntheticDataSeeder.JdbcWork<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            return work.run(connection);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Import failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Source {
+        Object next(long number) throws IOException;
+    }
+
+    static final class ImportException extends RuntimeException {
+        ImportException(long number, String message) {
+            super("Record " + number + ": " + message);
+        }
+    }
+
+    /**
+     * Reads the CSV layout of the ticket export, a row per message, into a ticket per run of rows with the same
+     * {@code ticket_id}. The attachment columns only describe the attachments and are not imported, and the apostrophe
+     * the export puts before formulas is taken off.
+     */
+    private static final class CsvRecords {
+        private final BufferedReader reader;
+        private Map<String, Integer> columns;
+        private List<String> pending;
+
+        CsvRecords(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        TicketRecord next(long number) throws IOException {
+            if (columns == null) {
+                List<String> header = row();
+                if (header == null) {
+                    return null;
+                }
+                columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim().toLowerCase(Locale.ENGLISH), i);
+                }
+                if (!columns.containsKey("company_name")) {
+                    throw new ImportException(number, "missing company_name column");
+                }
+                pending = row();
+            }
+            List<String> first = pending;
+            if (first == null) {
+                return null;
+            }
+            String ticketId = get(first, "ticket_id");
+            List<MessageRecord> messages = new ArrayList<>();
+            List<String> row = first;
+            while (row != null && (ticketId == null || ticketId.equals(get(row, "ticket_id")))) {
+                if (get(row, "message_date") != null || get(row, "body") != null) {
+                    messages.add(new MessageRecord(date(number, get(row, "message_date")), get(row, "author"),
+                            get(row, "body"), List.of()));
+                }
+                row = row();
+                if (ticketId == null) {
+                    break;
+                }
+            }
+            pending = row;
+            String company = get(first, "company_name");
+            if (company == null) {
+                throw new ImportException(number, "missing company_name");
+            }
+            return new TicketRecord(number, get(first, "ticket_name"), get(first, "status"), company,
+                    get(first, "requester"), get(first, "category"), get(first, "external_issue_link"),
+                    date(number, get(first, "closed_at")), messages);
+        }
+
+        private String get(List<String> row, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= row.size()) {
+                return null;
+            }
+            String value = row.get(index).trim();
+            if (value.startsWith("'") && ExportResource.formulaLike(value)) {
+                value = value.substring(1);
+            }
+            return value.isEmpty() ? null : value;
+        }
+
+        private List<String> row() throws IOException {
+            int c = reader.read();
+            while (c == '\r' || c == '\n') {
+                c = reader.read();
+            }
+            if (c < 0) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (c >= 0) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n') {
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private static final class Chunk {
+        private final List<CompanyRecord> companyRecords = new ArrayList<>();
+        private final List<UserRecord> userRecords = new ArrayList<>();
+        private final List<TicketRecord> ticketRecords = new ArrayList<>();
+        private long bytes;
+        private long companies;
+        private long users;
+        private long tickets;
+        private long messages;
+        private long attachments;
+
+        void add(Object record) {
+            if (record instanceof CompanyRecord company) {
+                companyRecords.add(company);
+            } else if (record instanceof UserRecord user) {
+                userRecords.add(user);
+            } else {
+                TicketRecord ticket = (TicketRecord) record;
+                ticketRecords.add(ticket);
+                for (MessageRecord message : ticket.messages()) {
+                    bytes += message.body() == null ? 0 : message.body().length();
+                    for (AttachmentRecord attachment : message.attachments()) {
+                        bytes += attachment.data().length;
+                    }
+                }
+            }
+        }
+
+        int size() {
+            return companyRecords.size() + userRecords.size() + ticketRecords.size();
+        }
+
+        boolean isEmpty() {
+            return size() == 0;
+        }
+    }
+
+    /**
+     * Map whose entries added by the chunk being written are dropped unless the chunk commits.
+     */
+    private static final class Lookup<V> {
+        private final Map<String, V> committed = new HashMap<>();
+        private Map<String, V> pending = new HashMap<>();
+
+        boolean containsKey(String key) {
+            return pending.containsKey(key) || committed.containsKey(key);
+        }
+
+        V get(String key) {
+            return pending.containsKey(key) ? pending.get(key) : committed.get(key);
+        }
+
+        void put(String key, V value) {
+            pending.put(key, value);
+        }
+
+        void commit() {
+            committed.putAll(pending);
+            pending = new HashMap<>();
+        }
+
+        void rollback() {
+            pending = new HashMap<>();
+        }
+    }
+
+    private static final class Run {
+        private final Lookup<CompanyRef> companiesByKey = new Lookup<>();
+        private final Lookup<CompanyRef> companiesByName = new Lookup<>();
+        private final Lookup<Long> userIds = new Lookup<>();
+        private Map<String, Long> categories;
+        private String passwordHash;
+        private long records;
+        private long companies;
+        private long users;
+        private long tickets;
+        private long messages;
+        private long attachments;
+
+        void commit(Chunk chunk) {
+            companiesByKey.commit();
+            companiesByName.commit();
+            userIds.commit();
+            companies += chunk.companies;
+            users += chunk.users;
+            tickets += chunk.tickets;
+            messages += chunk.messages;
+            attachments += chunk.attachments;
+        }
+
+        void rollback() {
+            companiesByKey.rollback();
+            companiesByName.rollback();
+            userIds.rollback();
+        }
+    }
+}
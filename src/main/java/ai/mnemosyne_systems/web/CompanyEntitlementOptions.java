@@ -0,0 +1,129 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.Ticket;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.hibernate.orm.panache.Panache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The entitlements a new ticket of a company can be filed under, as offered by the ticket forms once a company is
+ * chosen. They are kept in the <code>company-entitlements</code> cache by company, and dropped from it once a write to
+ * the entitlements of the company, or to any entitlement or level, has completed. The previewed ticket name is read
+ * with every answer.
+ */
+@ApplicationScoped
+public class CompanyEntitlementOptions {
+
+    static final String CACHE = "company-entitlements";
+
+    public record Option(Long id, String name, String level, boolean expired) {
+    }
+
+    public record Options(String ticketName, List<Option> entitlements) {
+    }
+
+    @Inject
+    @CacheName(CACHE)
+    Cache cache;
+
+    private final ThreadLocal<Set<Long>> pending = new ThreadLocal<>();
+    // Moves before every invalidation, see entitlements(Long)
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * The next ticket name and the entitlements of the company, or null without such a company.
+     */
+    public Options load(Long companyId) {
+        Company company = Company.findById(companyId);
+        if (company == null) {
+            return null;
+        }
+        return new Options(Ticket.previewNextName(company), entitlements(companyId));
+    }
+
+    /**
+     * The entitlements of the company, from the cache. A load that overlapped an invalidation may have read the rows
+     * before the write was committed, so its entry is dropped again instead of being served until it expires.
+     */
+    List<Option> entitlements(Long companyId) {
+        long loadedAt = generation.get();
+        List<Option> options = cache.<Long, List<Option>> get(companyId, this::query).await().indefinitely();
+        if (generation.get() != loadedAt) {
+            cache.invalidate(companyId).await().indefinitely();
+        }
+        return options;
+    }
+
+    /**
+     * The entitlements of the company, each once with its lowest support level, preferring an entry that has not
+     * expired.
+     */
+    private List<Option> query(Long companyId) {
+        List<Object[]> rows = Panache.getEntityManager()
+                .createQuery("select ce.id, e.id, e.name, l.name, ce.expired from CompanyEntitlement ce"
+                        + " join ce.entitlement e join ce.supportLevel l where ce.company.id = :company"
+                        + " order by e.name, ce.expired, l.level, l.id", Object[].class)
+                .setParameter("company", companyId).getResultList();
+        List<Option> options = new ArrayList<>(rows.size());
+        Set<Long> seenEntitlementIds = new HashSet<>();
+        for (Object[] row : rows) {
+            if (seenEntitlementIds.add((Long) row[1])) {
+                options.add(new Option((Long) row[0], (String) row[2], (String) row[3], (Boolean) row[4]));
+            }
+        }
+        return List.copyOf(options);
+    }
+
+    /**
+     * Notes a write to the entitlements of the company in the transaction of the current thread, or to those of every
+     * company when the id is null.
+     */
+    void written(Long companyId) {
+        Set<Long> companyIds = pending.get();
+        if (companyIds == null) {
+            companyIds = new HashSet<>();
+            pending.set(companyIds);
+        }
+        companyIds.add(companyId);
+    }
+
+    /**
+     * Drops the entitlements of every company, after a committed write that Hibernate did not report.
+     */
+    void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll().await().indefinitely();
+    }
+
+    void transactionCompleted() {
+        Set<Long> companyIds = pending.get();
+        if (companyIds == null) {
+            return;
+        }
+        pending.remove();
+        generation.incrementAndGet();
+        if (companyIds.contains(null)) {
+            invalidateAll();
+            return;
+        }
+        for (Long companyId : companyIds) {
+            cache.invalidate(companyId).await().indefinitely();
+        }
+    }
+}
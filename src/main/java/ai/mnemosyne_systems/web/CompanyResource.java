@@ -10,6 +10,7 @@ package ai.mnemosyne_systems.web;
 
 import ai.mnemosyne_systems.model.Company;
 import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.CompanyRow;
 import ai.mnemosyne_systems.model.Country;
 import ai.mnemosyne_systems.model.Entitlement;
 import ai.mnemosyne_systems.model.Level;
@@ -22,6 +23,7 @@ import io.quarkus.qute.Location;
 import io.quarkus.qute.Template;
 import io.quarkus.qute.TemplateInstance;
 import io.smallrye.common.annotation.Blocking;
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.Consumes;
@@ -33,6 +35,7 @@ import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -47,6 +50,8 @@ import java.util.List;
 @Blocking
 public class CompanyResource {
 
+    static final int PAGE_SIZE = 50;
+
     @Location("company/companies.html")
     Template companiesTemplate;
 
@@ -56,10 +61,20 @@ public class CompanyResource {
     @Location("company/company-view.html")
     Template companyViewTemplate;
 
+    @Inject
+    BulkDeleteService bulkDelete;
+
     @GET
-    public TemplateInstance listCompanies(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
+    @QueryBudget(10)
+    public TemplateInstance listCompanies(@CookieParam(AuthHelper.AUTH_COOKIE) String auth,
+            @QueryParam("page") Integer page) {
         User user = requireAdmin(auth);
-        return companiesTemplate.data("companies", Company.listAll()).data("currentUser", user);
+        int pages = (int) Math.max(1, (CompanyRow.count() + PAGE_SIZE - 1) / PAGE_SIZE);
+        // Pages are numbered from 1, as they are shown
+        int current = page == null ? 1 : Math.min(Math.max(page, 1), pages);
+        return companiesTemplate.data("companies", CompanyRow.page(current - 1, PAGE_SIZE)).data("pageNumber", current)
+                .data("pages", pages).data("previousPage", current > 1 ? current - 1 : null)
+                .data("nextPage", current < pages ? current + 1 : null).data("currentUser", user);
     }
 
     @GET
@@ -76,8 +91,8 @@ public class CompanyResource {
         List<Country> countries = Country.list("order by name");
         List<Timezone> timezones = defaultCountry != null ? Timezone.list("country = ?1 order by name", defaultCountry)
                 : java.util.List.of();
-        return companyFormTemplate.data("company", company).data("users", User.list("type", User.TYPE_USER))
-                .data("tams", User.list("type", User.TYPE_TAM)).data("entitlements", Entitlement.listAll())
+        return companyFormTemplate.data("company", company).data("users", java.util.List.of())
+                .data("tams", java.util.List.of()).data("entitlements", Entitlement.listAll())
                 .data("supportLevels", Level.listAll()).data("companyEntitlements", java.util.List.of())
                 .data("selectedEntitlementLevels", java.util.Map.of()).data("selectedUserIds", java.util.List.of())
                 .data("selectedTamIds", java.util.List.of()).data("countries", countries).data("timezones", timezones)
@@ -118,9 +133,14 @@ public class CompanyResource {
         Country timezoneCountry = company.country != null ? company.country : Country.find("code", "US").firstResult();
         java.util.List<Timezone> timezones = timezoneCountry != null
                 ? Timezone.list("country = ?1 order by name", timezoneCountry) : java.util.List.of();
-        return companyFormTemplate.data("company", company).data("users", User.list("type", User.TYPE_USER))
-                .data("tams", User.list("type", User.TYPE_TAM)).data("entitlements", Entitlement.listAll())
-                .data("supportLevels", Level.listAll()).data("companyEntitlements", companyEntitlements)
+        // Only the users of the company are listed, others are found through /search/users
+        java.util.List<User> users = companyUsers.stream()
+                .filter(selected -> User.TYPE_USER.equalsIgnoreCase(selected.type)).toList();
+        java.util.List<User> tams = companyUsers.stream()
+                .filter(selected -> User.TYPE_TAM.equalsIgnoreCase(selected.type)).toList();
+        return companyFormTemplate.data("company", company).data("users", users).data("tams", tams)
+                .data("entitlements", Entitlement.listAll()).data("supportLevels", Level.listAll())
+                .data("companyEntitlements", companyEntitlements)
                 .data("selectedEntitlementLevels", selectedEntitlementLevels).data("selectedUserIds", selectedUserIds)
                 .data("selectedTamIds", selectedTamIds).data("countries", countries).data("timezones", timezones)
                 .data("action", "/companies/" + id).data("title", "Edit Company").data("currentUser", user)
@@ -149,7 +169,7 @@ public class CompanyResource {
                 company).list();
         java.util.Set<Long> expiredEntitlementIds = new java.util.LinkedHashSet<>();
         for (CompanyEntitlement entry : companyEntitlements) {
-            if (entry != null && entry.id != null && isEntitlementExpired(entry)) {
+            if (entry != null && entry.id != null && entry.expired) {
                 expiredEntitlementIds.add(entry.id);
             }
         }
@@ -302,7 +322,7 @@ public class CompanyResource {
                 company).list();
         java.util.Set<Long> expiredEntitlementIds = new java.util.LinkedHashSet<>();
         for (CompanyEntitlement entry : companyEntitlements) {
-            if (entry != null && entry.id != null && isEntitlementExpired(entry)) {
+            if (entry != null && entry.id != null && entry.expired) {
                 expiredEntitlementIds.add(entry.id);
             }
         }
@@ -313,14 +333,13 @@ public class CompanyResource {
 
     @POST
     @Path("{id}/delete")
-    @Transactional
     public Response deleteCompany(@CookieParam(AuthHelper.AUTH_COOKIE) String auth, @PathParam("id") Long id) {
         requireAdmin(auth);
         Company company = Company.findById(id);
         if (company == null) {
             throw new NotFoundException();
         }
-        company.delete();
+        bulkDelete.deleteCompany(company);
         return Response.seeOther(URI.create("/companies")).build();
     }
 
@@ -434,21 +453,6 @@ public class CompanyResource {
         return value;
     }
 
-    private boolean isEntitlementExpired(CompanyEntitlement entitlement) {
-        if (entitlement == null || entitlement.date == null || entitlement.duration == null) {
-            return false;
-        }
-        LocalDate endDate = entitlement.date;
-        if (entitlement.duration == CompanyEntitlement.DURATION_MONTHLY) {
-            endDate = endDate.plusMonths(1);
-        } else if (entitlement.duration == CompanyEntitlement.DURATION_YEARLY) {
-            endDate = endDate.plusYears(1);
-        } else {
-            return false;
-        }
-        return LocalDate.now().isAfter(endDate);
-    }
-
     private void validatePrimaryContactUser(String username, String email, String password) {
         if (username == null || username.isEmpty()) {
             throw new BadRequestException("Primary Contact username is required");
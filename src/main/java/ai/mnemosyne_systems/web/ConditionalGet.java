@@ -0,0 +1,30 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a page that is answered with 304 Not Modified while the tickets it shows have not changed since the user last
+ * loaded it. A ticket page names the path parameter holding its ticket id as {@link #ticket()} and follows the version
+ * of that ticket, and the other pages follow {@link TicketVersions#current()}. The value is the number of seconds after
+ * which the page is rendered again anyway, since SLA colours, entitlement expiry and the ticket counts in the header of
+ * a ticket page also change without a write to the ticket. Handled by {@link ConditionalGetFilter}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    int value() default 60;
+
+    String ticket() default "";
+}
@@ -0,0 +1,122 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.User;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+/**
+ * Gives the {@link ConditionalGet} pages an ETag made of the {@link TicketVersions} they follow, the names shown next
+ * to the tickets, the user and their own profile and logo, and the refresh period, and answers a matching If-None-Match
+ * with 304 before the resource method loads anything but the user.
+ */
+@Provider
+public class ConditionalGetFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String ETAG_PROPERTY = ConditionalGetFilter.class.getName() + ".etag";
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Inject
+    TicketVersions ticketVersions;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        ConditionalGet conditional = conditional();
+        if (conditional == null || !HttpMethod.GET.equals(requestContext.getMethod())) {
+            return;
+        }
+        Cookie cookie = requestContext.getCookies().get(AuthHelper.AUTH_COOKIE);
+        User user = cookie == null ? null : AuthHelper.findUser(cookie.getValue());
+        if (user == null) {
+            return;
+        }
+        String version;
+        if (conditional.ticket().isEmpty()) {
+            version = "l" + ticketVersions.current();
+        } else {
+            Long ticketId = ticketId(requestContext.getUriInfo().getPathParameters().getFirst(conditional.ticket()));
+            if (ticketId == null) {
+                return;
+            }
+            version = "t" + ticketId + "." + ticketVersions.of(ticketId);
+        }
+        long period = Math.max(1, conditional.value()) * 1000L;
+        EntityTag etag = new EntityTag(ticketVersions.instance() + "-" + version + "." + ticketVersions.labels() + "-"
+                + user.id + "." + user.type + "." + profile(user) + "-" + System.currentTimeMillis() / period, true);
+        requestContext.setProperty(ETAG_PROPERTY, etag);
+        if (matches(requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH), etag)) {
+            requestContext.abortWith(Response.notModified(etag).header(HttpHeaders.CACHE_CONTROL, "private, no-cache")
+                    .header(HttpHeaders.VARY, HttpHeaders.COOKIE).build());
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object etag = requestContext.getProperty(ETAG_PROPERTY);
+        if (etag == null || responseContext.getStatus() != Response.Status.OK.getStatusCode()) {
+            return;
+        }
+        MultivaluedMap<String, Object> headers = responseContext.getHeaders();
+        headers.putSingle(HttpHeaders.ETAG, etag);
+        headers.putSingle(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        headers.putSingle(HttpHeaders.VARY, HttpHeaders.COOKIE);
+    }
+
+    private boolean matches(String ifNoneMatch, EntityTag etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("\"" + etag.getValue() + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The own name, timezone and logo of the user, which every page shows or uses for its dates
+    private static String profile(User user) {
+        return Integer.toHexString(Objects.hash(user.name, user.fullName, user.email, user.logoFingerprint,
+                user.timezone == null ? null : user.timezone.id, user.country == null ? null : user.country.id));
+    }
+
+    private static Long ticketId(String value) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private ConditionalGet conditional() {
+        Method method = resourceInfo == null ? null : resourceInfo.getResourceMethod();
+        return method == null ? null : method.getAnnotation(ConditionalGet.class);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.User;
+import io.smallrye.common.annotation.Blocking;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.CookieParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Progress of the deletions started on this instance, most recent first.
+ */
+@Path("/deletions")
+@Produces(MediaType.APPLICATION_JSON)
+@Blocking
+public class DeletionResource {
+
+    @Inject
+    BulkDeleteService bulkDelete;
+
+    @GET
+    @QueryBudget(5)
+    public List<BulkDeleteService.Progress> list(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
+        requireStaff(auth);
+        return bulkDelete.jobs();
+    }
+
+    @GET
+    @Path("/{id}")
+    @QueryBudget(5)
+    public BulkDeleteService.Progress get(@CookieParam(AuthHelper.AUTH_COOKIE) String auth, @PathParam("id") long id) {
+        requireStaff(auth);
+        BulkDeleteService.Progress progress = bulkDelete.job(id);
+        if (progress == null) {
+            throw new NotFoundException();
+        }
+        return progress;
+    }
+
+    private void requireStaff(String auth) {
+        User user = AuthHelper.findUser(auth);
+        if (!AuthHelper.isSupport(user) && !AuthHelper.isAdmin(user)) {
+            throw new WebApplicationException(Response.seeOther(URI.create("/")).build());
+        }
+    }
+}
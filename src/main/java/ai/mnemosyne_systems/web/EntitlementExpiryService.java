@@ -0,0 +1,55 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.CompanyEntitlement;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.time.LocalDate;
+import org.jboss.logging.Logger;
+
+/**
+ * Marks company entitlements as expired once their end date has passed. Writes to an entitlement keep the flag in step
+ * themselves, so this only has to follow the calendar, daily and once the seed data is in place on start.
+ */
+@ApplicationScoped
+public class EntitlementExpiryService {
+
+    private static final Logger LOGGER = Logger.getLogger(EntitlementExpiryService.class);
+
+    @Inject
+    CompanyEntitlementOptions entitlementOptions;
+
+    @Inject
+    TicketVersions ticketVersions;
+
+    void onSeeded(@Observes UserSeeder.Seeded event) {
+        expire(LocalDate.now());
+    }
+
+    @Scheduled(cron = "${ticket.entitlement.expiry-cron:5 0 0 * * ?}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledExpiry() {
+        expire(LocalDate.now());
+    }
+
+    public int expire(LocalDate today) {
+        int expired = QuarkusTransaction.requiringNew()
+                .call(() -> CompanyEntitlement.update("expired = true where expired = false and endDate < ?1", today));
+        if (expired > 0) {
+            // A bulk update is not seen by the entity interceptor
+            entitlementOptions.invalidateAll();
+            ticketVersions.changed();
+            LOGGER.infof("Marked %d entitlements as expired on %s", expired, today);
+        }
+        return expired;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Attachment;
+import ai.mnemosyne_systems.model.Category;
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.Entitlement;
+import ai.mnemosyne_systems.model.Level;
+import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Objects;
+import org.hibernate.Interceptor;
+import org.hibernate.Transaction;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.type.Type;
+
+@PersistenceUnitExtension
+@ApplicationScoped
+public class EntityLoadInterceptor implements Interceptor {
+
+    @Inject
+    RequestStatistics requestStatistics;
+
+    @Inject
+    TicketVersions ticketVersions;
+
+    @Inject
+    CompanyEntitlementOptions entitlementOptions;
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        if (Arc.container().requestContext().isActive()) {
+            requestStatistics.entityLoaded();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean onPersist(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        ticketWritten(entity, id);
+        entitlementsWritten(entity);
+        return false;
+    }
+
+    @Override
+    public boolean onFlushDirty(Object entity, Object id, Object[] currentState, Object[] previousState,
+            String[] propertyNames, Type[] types) {
+        ticketWritten(entity, id);
+        if (shownChanged(entity, currentState, previousState, propertyNames)) {
+            ticketVersions.labelWritten();
+        }
+        entitlementsWritten(entity);
+        return false;
+    }
+
+    @Override
+    public void onRemove(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        ticketWritten(entity, id);
+        if (shownNextToTickets(entity)) {
+            ticketVersions.labelWritten();
+        }
+        entitlementsWritten(entity);
+    }
+
+    @Override
+    public void onCollectionRecreate(Object collection, Object key) {
+        ticketCollectionWritten(collection, key);
+    }
+
+    @Override
+    public void onCollectionRemove(Object collection, Object key) {
+        ticketCollectionWritten(collection, key);
+    }
+
+    @Override
+    public void onCollectionUpdate(Object collection, Object key) {
+        ticketCollectionWritten(collection, key);
+    }
+
+    @Override
+    public void afterTransactionCompletion(Transaction tx) {
+        ticketVersions.transactionCompleted();
+        entitlementOptions.transactionCompleted();
+    }
+
+    private void ticketWritten(Object entity, Object id) {
+        if (entity instanceof Ticket) {
+            ticketVersions.written((Long) id);
+        } else if (entity instanceof Message message) {
+            ticketVersions.written(ticketId(message));
+        } else if (entity instanceof Attachment attachment) {
+            ticketVersions.written(ticketId(attachment.message));
+        }
+    }
+
+    // New rows are not shown next to any ticket yet, and of the others only their names are
+    private static boolean shownNextToTickets(Object entity) {
+        return entity instanceof Company || entity instanceof Category || entity instanceof CompanyEntitlement
+                || entity instanceof Entitlement || entity instanceof Level || entity instanceof User;
+    }
+
+    private static boolean shownChanged(Object entity, Object[] currentState, Object[] previousState,
+            String[] propertyNames) {
+        if (!shownNextToTickets(entity)) {
+            return false;
+        }
+        if (previousState == null) {
+            return true;
+        }
+        for (int i = 0; i < propertyNames.length; i++) {
+            String property = propertyNames[i];
+            boolean shown = entity instanceof CompanyEntitlement
+                    ? "entitlement".equals(property) || "supportLevel".equals(property) : "name".equals(property);
+            if (shown && !Objects.equals(currentState[i], previousState[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Any write to an entitlement or level may change what every company is offered
+    private void entitlementsWritten(Object entity) {
+        if (entity instanceof CompanyEntitlement entry) {
+            entitlementOptions.written(entry.company.id);
+        } else if (entity instanceof Entitlement || entity instanceof Level) {
+            entitlementOptions.written(null);
+        }
+    }
+
+    // The support users and TAMs of a ticket
+    private void ticketCollectionWritten(Object collection, Object key) {
+        if (collection instanceof PersistentCollection<?> persistent && persistent.getOwner() instanceof Ticket) {
+            ticketVersions.written((Long) key);
+        }
+    }
+
+    private static Long ticketId(Message message) {
+        return message == null || message.ticket == null ? null : message.ticket.id;
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.hibernate.orm.panache.Panache;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.common.annotation.Blocking;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.CookieParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
+/**
+ * Exports the tickets with their messages and the metadata of their attachments, for reporting outside the application.
+ * The rows are read through a forward-only cursor in ticket id order and written as they arrive, so the memory used
+ * does not grow with the export. An interrupted export is resumed by passing the id of the last ticket received as
+ * {@code after}.
+ * <p>
+ * NDJSON has a line per ticket with its messages nested. CSV has a row per message, and a row without message columns
+ * for a ticket without messages. The {@code from} and {@code to} dates select the messages written in that range, and
+ * only the tickets that have one. CSV text that a spreadsheet would read as a formula is prefixed with {@code '}.
+ */
+@Path("/export")
+@Blocking
+public class ExportResource {
+
+    static final String NDJSON = "application/x-ndjson";
+    static final String CSV = "text/csv";
+    /** The first characters of a cell that a spreadsheet reads as a formula. */
+    static final String FORMULA_START = "=+-@\t\r";
+
+    private static final String ROWS = "select t.id, t.name, t.status, c.id, c.name, r.email, cat.name, e.name, l.name,"
+            + " t.externalIssueLink, t.closedAt, m.id, m.date, a.email, m.body, at.id, at.name, at.mimeType,"
+            + " octet_length(at.data) from Ticket t join t.company c left join t.requester r left join t.category cat"
+            + " left join t.companyEntitlement ce left join ce.entitlement e left join ce.supportLevel l"
+            + " left join t.messages m left join m.author a left join m.attachments at where t.id > :after";
+    private static final String CSV_HEADER = "ticket_id,ticket_name,status,company_id,company_name,requester,category,"
+            + "entitlement,support_level,external_issue_link,closed_at,message_id,message_date,author,body,"
+            + "attachment_count,attachment_bytes,attachments";
+
+    public record ExportAttachment(Long id, String name, String mimeType, Long size) {
+    }
+
+    public record ExportMessage(Long id, LocalDateTime date, String author, String body,
+            List<ExportAttachment> attachments) {
+    }
+
+    public record ExportTicket(Long id, String name, String status, Long companyId, String companyName,
+            String requester, String category, String entitlement, String supportLevel, String externalIssueLink,
+            LocalDateTime closedAt, List<ExportMessage> messages) {
+    }
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "ticket.export.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    @ConfigProperty(name = "ticket.export.transaction-timeout", defaultValue = "3600")
+    int transactionTimeout;
+
+    @GET
+    @Path("/tickets")
+    public Response tickets(@CookieParam(AuthHelper.AUTH_COOKIE) String auth, @QueryParam("format") String format,
+            @QueryParam("company") Long companyId, @QueryParam("from") String from, @QueryParam("to") String to,
+            @QueryParam("after") Long after) {
+        User user = AuthHelper.findUser(auth);
+        if (!AuthHelper.isAdmin(user)) {
+            throw new WebApplicationException(Response.seeOther(URI.create("/")).build());
+        }
+        boolean csv = "csv".equals(format == null ? "" : format.trim().toLowerCase(Locale.ENGLISH));
+        if (!csv && format != null && !format.isBlank() && !"ndjson".equalsIgnoreCase(format.trim())) {
+            throw new BadRequestException("Format must be ndjson or csv");
+        }
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = parseDate(to);
+        StreamingOutput body = output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            QuarkusTransaction.requiringNew().timeout(transactionTimeout).run(() -> {
+                try {
+                    TicketSink sink = csv ? new CsvSink(writer) : new JsonSink(writer);
+                    scroll(companyId, fromDate, toDate, after == null ? 0L : after, sink);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return Response.ok(body, csv ? CSV + "; charset=UTF-8" : NDJSON).header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"tickets." + (csv ? "csv" : "ndjson") + "\"").build();
+    }
+
+    private void scroll(Long companyId, LocalDate from, LocalDate to, long after, TicketSink sink) throws IOException {
+        StringBuilder hql = new StringBuilder(ROWS);
+        if (companyId != null) {
+            hql.append(" and c.id = :company");
+        }
+        if (from != null) {
+            hql.append(" and m.date >= :from");
+        }
+        if (to != null) {
+            hql.append(" and m.date < :to");
+        }
+        hql.append(" order by t.id, m.date, m.id, at.id");
+        Query<Object[]> query = Panache.getEntityManager().unwrap(Session.class)
+                .createQuery(hql.toString(), Object[].class).setParameter("after", after).setFetchSize(fetchSize)
+                .setReadOnly(true);
+        if (companyId != null) {
+            query.setParameter("company", companyId);
+        }
+        if (from != null) {
+            query.setParameter("from", from.atStartOfDay());
+        }
+        if (to != null) {
+            query.setParameter("to", to.plusDays(1).atStartOfDay());
+        }
+        ExportTicket ticket = null;
+        ExportMessage message = null;
+        try (ScrollableResults<Object[]> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] row = rows.get();
+                Long ticketId = (Long) row[0];
+                if (ticket == null || !ticket.id().equals(ticketId)) {
+                    if (ticket != null) {
+                        sink.ticket(ticket);
+                    }
+                    ticket = new ExportTicket(ticketId, (String) row[1], (String) row[2], (Long) row[3],
+                            (String) row[4], (String) row[5], (String) row[6], (String) row[7], (String) row[8],
+                            (String) row[9], (LocalDateTime) row[10], new ArrayList<>());
+                    message = null;
+                }
+                Long messageId = (Long) row[11];
+                if (messageId != null && (message == null || !message.id().equals(messageId))) {
+                    message = new ExportMessage(messageId, (LocalDateTime) row[12], (String) row[13], (String) row[14],
+                            new ArrayList<>());
+                    ticket.messages().add(message);
+                }
+                if (row[15] != null) {
+                    message.attachments().add(new ExportAttachment((Long) row[15], (String) row[16], (String) row[17],
+                            row[18] == null ? null : ((Number) row[18]).longValue()));
+                }
+            }
+        }
+        if (ticket != null) {
+            sink.ticket(ticket);
+        }
+    }
+
+    /**
+     * Whether the text starts with a formula character after any apostrophes, which is when the CSV export prefixes it
+     * with another apostrophe, so that the import can take it off again.
+     */
+    static boolean formulaLike(String text) {
+        int start = 0;
+        while (start < text.length() && text.charAt(start) == '\'') {
+            start++;
+        }
+        return start < text.length() && FORMULA_START.indexOf(text.charAt(start)) >= 0;
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid date " + value);
+        }
+    }
+
+    private interface TicketSink {
+        void ticket(ExportTicket ticket) throws IOException;
+    }
+
+    private final class JsonSink implements TicketSink {
+        private final Writer writer;
+
+        JsonSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void ticket(ExportTicket ticket) throws IOException {
+            writer.write(objectMapper.writeValueAsString(ticket));
+            writer.write('\n');
+        }
+    }
+
+    private static final class CsvSink implements TicketSink {
+        private final Writer writer;
+
+        CsvSink(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void ticket(ExportTicket ticket) throws IOException {
+            if (ticket.messages().isEmpty()) {
+                row(ticket, null);
+            }
+            for (ExportMessage message : ticket.messages()) {
+                row(ticket, message);
+            }
+        }
+
+        private void row(ExportTicket ticket, ExportMessage message) throws IOException {
+            List<Object> values = new ArrayList<>(Arrays.asList(ticket.id(), ticket.name(), ticket.status(),
+                    ticket.companyId(), ticket.companyName(), ticket.requester(), ticket.category(),
+                    ticket.entitlement(), ticket.supportLevel(), ticket.externalIssueLink(), ticket.closedAt()));
+            if (message == null) {
+                values.addAll(Collections.nCopies(7, null));
+            } else {
+                long bytes = 0;
+                StringJoiner names = new StringJoiner("; ");
+                for (ExportAttachment attachment : message.attachments()) {
+                    bytes += attachment.size() == null ? 0 : attachment.size();
+                    names.add(attachment.name());
+                }
+                values.addAll(Arrays.asList(message.id(), message.date(), message.author(), message.body(),
+                        message.attachments().size(), bytes, names.toString()));
+            }
+            StringJoiner line = new StringJoiner(",", "", "\r\n");
+            for (Object value : values) {
+                line.add(field(value));
+            }
+            writer.write(line.toString());
+        }
+
+        static String field(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (value instanceof String && formulaLike(text)) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+}
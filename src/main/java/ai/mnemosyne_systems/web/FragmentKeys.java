@@ -0,0 +1,61 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.MessageRow;
+import ai.mnemosyne_systems.model.Ticket;
+import io.quarkus.qute.TemplateExtension;
+
+/**
+ * Keys of the <code>{#cached}</code> fragments. A fragment is shared by every viewer with the same key, so a key covers
+ * all that the fragment shows.
+ */
+@TemplateExtension
+public class FragmentKeys {
+
+    /**
+     * A ticket table row, keyed by everything the row shows as it was read from the database for this page: the ticket,
+     * its latest activity and support user, and the company, category, entitlement and level names. The key is the same
+     * on every instance and moves with the data, however and wherever it was written. The SLA colour is part of the key
+     * because the lists adjust it with time. The values are joined with NUL, which PostgreSQL does not store in text,
+     * so different rows never share a key.
+     */
+    public static String rowKey(Ticket ticket, Object activity, Object supportId, Object supportName, Object slaColor,
+            Object variant) {
+        CompanyEntitlement entitlement = ticket.companyEntitlement;
+        return key(ticket.id, ticket.name, ticket.status, activity, supportId, supportName,
+                ticket.company == null ? null : ticket.company.name,
+                ticket.category == null ? null : ticket.category.name,
+                entitlement == null || entitlement.entitlement == null ? null : entitlement.entitlement.name,
+                entitlement == null || entitlement.supportLevel == null ? null : entitlement.supportLevel.name,
+                slaColor, variant);
+    }
+
+    /**
+     * A rendered message body, which only changes with the message itself. Messages that are not saved yet are not
+     * cached, see the <code>messageBody</code> tag.
+     */
+    public static String fragmentKey(Message message) {
+        return message.id + ":" + message.version;
+    }
+
+    public static String fragmentKey(MessageRow message) {
+        return message.id() + ":" + message.version();
+    }
+
+    private static String key(Object... values) {
+        StringBuilder key = new StringBuilder();
+        for (Object value : values) {
+            key.append(value).append('\0');
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.User;
+import io.smallrye.common.annotation.Blocking;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.CookieParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Imports tickets and users from another system, as NDJSON records or in the CSV layout of the ticket export.
+ */
+@Path("/import")
+@Produces(MediaType.APPLICATION_JSON)
+@Blocking
+public class ImportResource {
+
+    @Inject
+    BulkImportService bulkImport;
+
+    @POST
+    @Consumes(ExportResource.NDJSON)
+    public BulkImportService.Result ndjson(@CookieParam(AuthHelper.AUTH_COOKIE) String auth,
+            @QueryParam("skip") long skip, InputStream body) {
+        requireAdmin(auth);
+        return bulkImport.importNdjson(new InputStreamReader(body, StandardCharsets.UTF_8), skip);
+    }
+
+    @POST
+    @Consumes(ExportResource.CSV)
+    public BulkImportService.Result csv(@CookieParam(AuthHelper.AUTH_COOKIE) String auth, @QueryParam("skip") long skip,
+            InputStream body) {
+        requireAdmin(auth);
+        return bulkImport.importCsv(new InputStreamReader(body, StandardCharsets.UTF_8), skip);
+    }
+
+    private void requireAdmin(String auth) {
+        User user = AuthHelper.findUser(auth);
+        if (!AuthHelper.isAdmin(user)) {
+            throw new WebApplicationException(Response.seeOther(URI.create("/")).build());
+        }
+    }
+}
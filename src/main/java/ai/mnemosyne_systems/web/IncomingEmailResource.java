@@ -11,6 +11,7 @@ package ai.mnemosyne_systems.web;
 import ai.mnemosyne_systems.model.Category;
 import ai.mnemosyne_systems.model.Company;
 import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.FetchGraphs;
 import ai.mnemosyne_systems.model.Message;
 import ai.mnemosyne_systems.model.Ticket;
 import ai.mnemosyne_systems.model.User;
@@ -27,9 +28,7 @@ import jakarta.ws.rs.core.Response;
 import org.jboss.logging.Logger;
 import org.jboss.resteasy.plugins.providers.multipart.MultipartFormDataInput;
 import java.time.LocalDateTime;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -47,6 +46,7 @@ public class IncomingEmailResource {
 
     @POST
     @Transactional
+    @QueryBudget(50)
     public Response receive(MultipartFormDataInput input) {
         String from = AttachmentHelper.readFormValue(input, "from");
         String subject = AttachmentHelper.readFormValue(input, "subject");
@@ -98,7 +98,9 @@ public class IncomingEmailResource {
         if (ticketName == null) {
             return null;
         }
-        return Ticket.find("name = ?1 order by id desc", ticketName).firstResult();
+        List<Ticket> tickets = FetchGraphs
+                .apply(Ticket.find("name = ?1 order by id desc", ticketName), Ticket.GRAPH_NOTIFICATION).list();
+        return tickets.isEmpty() ? null : tickets.get(0);
     }
 
     private String extractTicketName(String subject) {
@@ -128,7 +130,7 @@ public class IncomingEmailResource {
         }
         Ticket ticket = new Ticket();
         ticket.name = Ticket.nextName(company);
-        ticket.status = "Open";
+        ticket.status = Ticket.Status.OPEN.getLabel();
         ticket.company = company;
         ticket.requester = sender;
         ticket.companyEntitlement = entitlement;
@@ -152,36 +154,15 @@ public class IncomingEmailResource {
         if (ticket.requester != null && sender.id.equals(ticket.requester.id)) {
             return true;
         }
-        if (ticket.company != null && ticket.company.users != null) {
-            for (User user : ticket.company.users) {
-                if (user != null && user.id != null && sender.id.equals(user.id)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return ticket.company != null
+                && Company.count("select count(c) from Company c join c.users u where c = ?1 and u = ?2",
+                        ticket.company, sender) > 0;
     }
 
     private void assignCompanyTams(Ticket ticket) {
-        if (ticket == null || ticket.company == null) {
-            return;
-        }
-        List<User> tams = User.find("select u from Company c join c.users u where c = ?1 and lower(u.type) = ?2",
-                ticket.company, User.TYPE_TAM).list();
-        if (tams.isEmpty()) {
-            return;
-        }
-        ticket.tamUsers.size();
-        Set<Long> existingIds = new HashSet<>();
-        for (User existing : ticket.tamUsers) {
-            if (existing.id != null) {
-                existingIds.add(existing.id);
-            }
-        }
-        for (User tam : tams) {
-            if (tam.id != null && !existingIds.contains(tam.id)) {
-                ticket.tamUsers.add(tam);
-            }
+        List<User> tams = SupportResource.missingCompanyTams(ticket);
+        if (!tams.isEmpty()) {
+            ticket.tamUsers.addAll(tams);
         }
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.User;
+import ai.mnemosyne_systems.model.UserLogo;
+import jakarta.ws.rs.BadRequestException;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.jboss.logging.Logger;
+
+final class LogoHelper {
+
+    private static final Logger LOGGER = Logger.getLogger(LogoHelper.class);
+
+    // The logo is shown at 28px in the header and 64px on profiles, twice that covers high density screens
+    static final int THUMBNAIL_SIZE = 128;
+
+    private LogoHelper() {
+    }
+
+    /**
+     * Stores the logo sent by the profile form as a data URL, and points the user at it. Logos of more than
+     * {@code maxBytes} bytes or, for the formats ImageIO reads, more than {@code maxPixels} pixels are refused.
+     */
+    static void store(User user, String dataUrl, long maxBytes, long maxPixels) {
+        String value = dataUrl.trim();
+        int comma = value.indexOf(',');
+        if (!value.startsWith("data:") || comma < 0 || !value.substring(0, comma).endsWith(";base64")) {
+            throw new BadRequestException("Invalid logo");
+        }
+        String mimeType = value.substring("data:".length(), comma - ";base64".length()).toLowerCase(Locale.ROOT);
+        if (!mimeType.startsWith("image/")) {
+            throw new BadRequestException("Invalid logo");
+        }
+        // Three bytes for every four characters, checked before anything is decoded
+        if ((value.length() - comma - 1) / 4 * 3 > maxBytes + 2) {
+            throw new BadRequestException("Logo is too large");
+        }
+        byte[] data;
+        try {
+            data = Base64.getMimeDecoder().decode(value.substring(comma + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid logo");
+        }
+        if (data.length > maxBytes || pixels(data) > maxPixels) {
+            throw new BadRequestException("Logo is too large");
+        }
+        UserLogo logo = UserLogo.findForUser(user.id);
+        if (logo == null) {
+            logo = new UserLogo();
+            logo.user = user;
+        }
+        logo.mimeType = mimeType;
+        logo.data = data;
+        logo.thumbnail = thumbnail(data);
+        logo.fingerprint = fingerprint(data);
+        logo.persist();
+        user.logoFingerprint = logo.fingerprint;
+    }
+
+    static String fingerprint(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the number of pixels of the image as stated in its header, without decoding it, or 0 when no reader knows
+     * the format.
+     */
+    static long pixels(byte[] data) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return 0;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return (long) reader.getWidth(0) * reader.getHeight(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new BadRequestException("Invalid logo");
+        }
+    }
+
+    /**
+     * Returns a square PNG of the centre of the image, or null when the image cannot be read, as for SVG.
+     */
+    static byte[] thumbnail(byte[] data) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+            if (image == null) {
+                return null;
+            }
+            int side = Math.min(image.getWidth(), image.getHeight());
+            int size = Math.min(side, THUMBNAIL_SIZE);
+            BufferedImage thumbnail = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = thumbnail.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            int x = (image.getWidth() - side) / 2;
+            int y = (image.getHeight() - side) / 2;
+            graphics.drawImage(image, 0, 0, size, size, x, y, x + side, y + side, null);
+            graphics.dispose();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(thumbnail, "png", out);
+            return out.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debugf(e, "No thumbnail for a logo of %d bytes", data.length);
+            return null;
+        }
+    }
+}
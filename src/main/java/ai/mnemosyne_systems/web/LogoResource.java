@@ -0,0 +1,54 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.User;
+import ai.mnemosyne_systems.model.UserLogo;
+import io.smallrye.common.annotation.Blocking;
+import jakarta.ws.rs.CookieParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import java.net.URI;
+
+/**
+ * Serves the user logos. The URL carries the fingerprint of the logo, so it is cached for good and a new logo gets a
+ * new URL.
+ */
+@Path("/logos")
+@Blocking
+public class LogoResource {
+
+    static final String CACHE_CONTROL = "private, max-age=31536000, immutable";
+
+    @GET
+    @Path("/{userId}/{fingerprint}")
+    @QueryBudget(5)
+    public Response logo(@CookieParam(AuthHelper.AUTH_COOKIE) String auth, @PathParam("userId") Long userId,
+            @PathParam("fingerprint") String fingerprint) {
+        if (AuthHelper.findUser(auth) == null) {
+            throw new WebApplicationException(Response.seeOther(URI.create("/")).build());
+        }
+        UserLogo logo = UserLogo.findForUser(userId);
+        if (logo == null) {
+            throw new NotFoundException();
+        }
+        if (!logo.fingerprint.equals(fingerprint)) {
+            // A page rendered before the logo changed
+            return Response.seeOther(URI.create(logo.user.getLogoUrl())).header("Cache-Control", "no-cache").build();
+        }
+        boolean thumbnail = logo.thumbnail != null;
+        return Response.ok(thumbnail ? logo.thumbnail : logo.data, thumbnail ? "image/png" : logo.mimeType)
+                .header("Cache-Control", CACHE_CONTROL).header("X-Content-Type-Options", "nosniff")
+                .header("Content-Security-Policy", "default-src 'none'; style-src 'unsafe-inline'; sandbox").build();
+    }
+}
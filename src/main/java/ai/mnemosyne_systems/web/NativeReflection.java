@@ -0,0 +1,43 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.ArchivedAttachment;
+import ai.mnemosyne_systems.model.ArchivedMessage;
+import ai.mnemosyne_systems.model.ArchivedTicket;
+import ai.mnemosyne_systems.model.Attachment;
+import ai.mnemosyne_systems.model.Category;
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.CompanyRow;
+import ai.mnemosyne_systems.model.Country;
+import ai.mnemosyne_systems.model.Entitlement;
+import ai.mnemosyne_systems.model.Level;
+import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.MessageRow;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.TicketRow;
+import ai.mnemosyne_systems.model.Timezone;
+import ai.mnemosyne_systems.model.User;
+import ai.mnemosyne_systems.model.UserRow;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Classes the templates read through reflection, which a native image has to keep.
+ */
+@RegisterForReflection(targets = { ArchivedAttachment.class, ArchivedMessage.class, ArchivedTicket.class,
+        Attachment.class, Category.class, Company.class, CompanyEntitlement.class, Country.class, Entitlement.class,
+        Level.class, Message.class, Ticket.class, Ticket.Status.class, Timezone.class, User.class, CompanyRow.class,
+        MessageRow.class, TicketRow.class, UserRow.class, AttachmentResource.AttachmentLine.class,
+        LevelResource.ColorOption.class })
+final class NativeReflection {
+
+    private NativeReflection() {
+    }
+}
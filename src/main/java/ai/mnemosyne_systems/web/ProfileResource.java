@@ -16,6 +16,7 @@ import io.quarkus.elytron.security.common.BcryptUtil;
 import io.quarkus.qute.Location;
 import io.quarkus.qute.Template;
 import io.quarkus.qute.TemplateInstance;
+import io.quarkus.runtime.configuration.MemorySize;
 import io.smallrye.common.annotation.Blocking;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -30,6 +31,7 @@ import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import java.net.URI;
@@ -54,6 +56,12 @@ public class ProfileResource {
     @Inject
     Logger logger;
 
+    @ConfigProperty(name = "ticket.logo.max-size", defaultValue = "2M")
+    MemorySize logoMaxSize;
+
+    @ConfigProperty(name = "ticket.logo.max-pixels", defaultValue = "25000000")
+    long logoMaxPixels;
+
     @GET
     public TemplateInstance edit(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
         User user = requireUser(auth);
@@ -136,7 +144,7 @@ public class ProfileResource {
 
         String logoData = value(form, "logoData");
         if (logoData != null && !logoData.isBlank()) {
-            user.logoBase64 = logoData.trim();
+            LogoHelper.store(user, logoData, logoMaxSize.asLongValue(), logoMaxPixels);
         }
         return Response.seeOther(URI.create("/profile")).build();
     }
@@ -228,11 +236,4 @@ public class ProfileResource {
         }
         return form.getFirst(key);
     }
-
-    public static String encodeLogo(String dataUrl) {
-        if (dataUrl == null || dataUrl.isBlank()) {
-            return null;
-        }
-        return dataUrl.trim();
-    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+
+/**
+ * Compares the number of SQL statements run by a request with the {@link QueryBudget} of its resource method. When
+ * enforcing (test mode) the rendered body is buffered so that statements issued by the template count too, and a
+ * request over budget fails instead of only being logged.
+ */
+@Provider
+public class QueryBudgetFilter implements ContainerResponseFilter, WriterInterceptor {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private static final Logger LOGGER = Logger.getLogger(QueryBudgetFilter.class);
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Inject
+    RequestStatistics requestStatistics;
+
+    @ConfigProperty(name = "ticket.query-budget.enforce", defaultValue = "false")
+    boolean enforce;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (budget() != null && !responseContext.hasEntity()) {
+            responseContext.getHeaders().putSingle(QUERY_COUNT_HEADER, requestStatistics.getCount());
+            check();
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if (budget() == null) {
+            context.proceed();
+            return;
+        }
+        if (!enforce) {
+            context.proceed();
+            check();
+            return;
+        }
+        OutputStream original = context.getOutputStream();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        context.setOutputStream(buffer);
+        context.proceed();
+        context.getHeaders().putSingle(QUERY_COUNT_HEADER, requestStatistics.getCount());
+        check();
+        buffer.writeTo(original);
+        context.setOutputStream(original);
+    }
+
+    private void check() {
+        QueryBudget budget = budget();
+        int count = requestStatistics.getCount();
+        if (budget == null || count <= budget.value()) {
+            return;
+        }
+        Method method = resourceInfo.getResourceMethod();
+        String message = String.format("%s.%s ran %d SQL statements, budget is %d",
+                method.getDeclaringClass().getSimpleName(), method.getName(), count, budget.value());
+        if (enforce) {
+            throw new IllegalStateException(message);
+        }
+        LOGGER.warn(message);
+    }
+
+    private QueryBudget budget() {
+        Method method = resourceInfo == null ? null : resourceInfo.getResourceMethod();
+        return method == null ? null : method.getAnnotation(QueryBudget.class);
+    }
+}
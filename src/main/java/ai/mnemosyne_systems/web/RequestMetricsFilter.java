@@ -0,0 +1,110 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency, SQL statements and entity loads per resource method, tagged as {@code endpoint}, e.g.
+ * {@code SupportResource.listTickets}. Requests that are slow or run many statements are logged together with the
+ * statements they repeated most.
+ */
+@Provider
+@Priority(Priorities.USER - 100)
+public class RequestMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final Logger LOGGER = Logger.getLogger(RequestMetricsFilter.class);
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Inject
+    RequestStatistics requestStatistics;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "ticket.metrics.slow-request.duration", defaultValue = "1s")
+    Duration slowDuration;
+
+    @ConfigProperty(name = "ticket.metrics.slow-request.statements", defaultValue = "200")
+    int slowStatements;
+
+    @ConfigProperty(name = "ticket.metrics.slow-request.offenders", defaultValue = "5")
+    int offenders;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        requestStatistics.start();
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (!responseContext.hasEntity()) {
+            record();
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        try {
+            context.proceed();
+        } finally {
+            record();
+        }
+    }
+
+    private void record() {
+        Method method = resourceInfo == null ? null : resourceInfo.getResourceMethod();
+        if (method == null) {
+            return;
+        }
+        String endpoint = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        long elapsed = requestStatistics.elapsedNanos();
+        int statements = requestStatistics.getCount();
+        int entities = requestStatistics.getEntityLoads();
+        Timer.builder("ticket.request").description("Request latency per resource method").tag("endpoint", endpoint)
+                .publishPercentileHistogram().register(registry).record(elapsed, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("ticket.request.statements").description("JDBC statements per request")
+                .tag("endpoint", endpoint).publishPercentileHistogram().register(registry).record(statements);
+        DistributionSummary.builder("ticket.request.entities").description("Entities loaded per request")
+                .tag("endpoint", endpoint).publishPercentileHistogram().register(registry).record(entities);
+        if (elapsed >= slowDuration.toNanos() || statements >= slowStatements) {
+            StringBuilder log = new StringBuilder();
+            log.append(String.format("Slow request %s: %d ms, %d statements, %d entities", endpoint,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), statements, entities));
+            for (Map.Entry<String, Integer> entry : requestStatistics.worstStatements(offenders)) {
+                log.append(System.lineSeparator()).append("  ").append(entry.getValue()).append(" x ")
+                        .append(entry.getKey());
+            }
+            LOGGER.warn(log.toString());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import jakarta.enterprise.context.RequestScoped;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL statements and entity loads of the current request, filled in by {@link QueryCountingInspector} and
+ * {@link EntityLoadInterceptor}.
+ */
+@RequestScoped
+public class RequestStatistics {
+
+    private static final int MAX_DISTINCT_STATEMENTS = 200;
+
+    private long startNanos = System.nanoTime();
+    private final Map<String, Integer> statements = new HashMap<>();
+    private int count;
+    private int entityLoads;
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void statement(String sql) {
+        count++;
+        if (statements.size() < MAX_DISTINCT_STATEMENTS || statements.containsKey(sql)) {
+            statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public List<Map.Entry<String, Integer>> worstStatements(int limit) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(statements.entrySet());
+        entries.sort(Map.Entry.<String, Integer> comparingByValue().reversed());
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+}
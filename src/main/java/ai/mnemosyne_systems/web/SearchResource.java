@@ -0,0 +1,125 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.hibernate.orm.panache.Panache;
+import io.smallrye.common.annotation.Blocking;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.CookieParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Prefix searches behind the typeahead fields of the forms, so that a form does not list every company or user. The
+ * names are matched on <code>lower(name)</code>, which V8 indexes.
+ */
+@Path("/search")
+@Produces(MediaType.APPLICATION_JSON)
+@Blocking
+public class SearchResource {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 50;
+
+    @Inject
+    CompanyEntitlementOptions entitlementOptions;
+
+    public record Candidate(Long id, String name) {
+    }
+
+    @GET
+    @Path("/companies")
+    @QueryBudget(5)
+    public List<Candidate> companies(@CookieParam(AuthHelper.AUTH_COOKIE) String auth, @QueryParam("q") String query,
+            @QueryParam("limit") Integer limit) {
+        User user = AuthHelper.findUser(auth);
+        if (!AuthHelper.isSupport(user) && !AuthHelper.isAdmin(user)) {
+            throw new WebApplicationException(Response.seeOther(URI.create("/")).build());
+        }
+        return candidates(Panache.getEntityManager()
+                .createQuery("select c.id, c.name from Company c where lower(c.name) like :prefix escape '\\'"
+                        + " order by c.name, c.id", Object[].class)
+                .setParameter("prefix", prefix(query)).setMaxResults(limit(limit)).getResultList());
+    }
+
+    /**
+     * The entitlements and next ticket name the ticket forms show for a chosen company, without rendering the form
+     * again.
+     */
+    @GET
+    @Path("/companies/{id}/entitlements")
+    @QueryBudget(5)
+    public CompanyEntitlementOptions.Options companyEntitlements(@CookieParam(AuthHelper.AUTH_COOKIE) String auth,
+            @PathParam("id") Long id) {
+        User user = AuthHelper.findUser(auth);
+        if (!AuthHelper.isSupport(user)) {
+            throw new WebApplicationException(Response.seeOther(URI.create("/")).build());
+        }
+        CompanyEntitlementOptions.Options options = entitlementOptions.load(id);
+        if (options == null) {
+            throw new NotFoundException();
+        }
+        return options;
+    }
+
+    @GET
+    @Path("/users")
+    @QueryBudget(5)
+    public List<Candidate> users(@CookieParam(AuthHelper.AUTH_COOKIE) String auth, @QueryParam("q") String query,
+            @QueryParam("type") String type, @QueryParam("limit") Integer limit) {
+        User user = AuthHelper.findUser(auth);
+        if (!AuthHelper.isAdmin(user)) {
+            throw new WebApplicationException(Response.seeOther(URI.create("/")).build());
+        }
+        String normalizedType = type == null ? "" : type.trim().toLowerCase(Locale.ENGLISH);
+        if (!Set.of(User.TYPE_USER, User.TYPE_TAM).contains(normalizedType)) {
+            throw new BadRequestException("Type must be user or tam");
+        }
+        return candidates(Panache.getEntityManager()
+                .createQuery("select u.id, u.name from User u where u.type = :type"
+                        + " and (lower(u.name) like :prefix escape '\\' or lower(u.email) like :prefix escape '\\')"
+                        + " order by u.name, u.id", Object[].class)
+                .setParameter("type", normalizedType).setParameter("prefix", prefix(query)).setMaxResults(limit(limit))
+                .getResultList());
+    }
+
+    private static List<Candidate> candidates(List<Object[]> rows) {
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            candidates.add(new Candidate((Long) row[0], (String) row[1]));
+        }
+        return candidates;
+    }
+
+    static String prefix(String query) {
+        String value = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    static int limit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
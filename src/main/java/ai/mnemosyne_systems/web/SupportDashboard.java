@@ -0,0 +1,171 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.FetchGraphs;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.hibernate.orm.panache.Panache;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.virtual.threads.VirtualThreads;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * The ticket lists of the support dashboard, built once for all support users. A snapshot is reused until a ticket is
+ * written or it is older than {@code ticket.dashboard.max-age}, which keeps the SLA colours moving with time. The
+ * tickets are held in a {@link TicketIndex}, and which of them are assigned to whom as their places in its SLA order,
+ * the overlay each page applies for its viewer.
+ * <p>
+ * One build runs at a time, on a virtual thread. A snapshot that has only aged is served while the next one is built,
+ * while requests after a ticket write wait for the build, so a page never leaves out a write it follows. The tickets of
+ * a snapshot are detached and shared between requests, so they are only read.
+ */
+@ApplicationScoped
+public class SupportDashboard {
+
+    @Inject
+    TicketVersions ticketVersions;
+
+    @Inject
+    @VirtualThreads
+    ExecutorService virtualThreads;
+
+    @ConfigProperty(name = "ticket.dashboard.max-age", defaultValue = "5s")
+    Duration maxAge;
+
+    private volatile Snapshot snapshot;
+    private final AtomicReference<CompletableFuture<Snapshot>> building = new AtomicReference<>();
+
+    Snapshot snapshot() {
+        Snapshot current = snapshot;
+        long version = ticketVersions.current();
+        if (current != null && current.version >= version && System.nanoTime() - current.builtAt < maxAge.toNanos()) {
+            return current;
+        }
+        CompletableFuture<Snapshot> build = build();
+        if (current != null && current.version >= version) {
+            return current;
+        }
+        Snapshot built = build.join();
+        // A build that started before the write is followed by one that sees it
+        return built.version >= version ? built : build().join();
+    }
+
+    private CompletableFuture<Snapshot> build() {
+        while (true) {
+            CompletableFuture<Snapshot> running = building.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<Snapshot> next = new CompletableFuture<>();
+            if (building.compareAndSet(null, next)) {
+                virtualThreads.execute(() -> {
+                    try {
+                        long version = ticketVersions.current();
+                        Snapshot built = QuarkusTransaction.requiringNew().call(() -> build(version));
+                        snapshot = built;
+                        building.set(null);
+                        next.complete(built);
+                    } catch (RuntimeException e) {
+                        building.set(null);
+                        next.completeExceptionally(e);
+                    }
+                });
+                return next;
+            }
+        }
+    }
+
+    private Snapshot build(long version) {
+        List<Ticket> tickets = FetchGraphs.apply(
+                Ticket.find("status <> ?1 or supportUsers is empty order by id", Ticket.Status.CLOSED.getLabel()),
+                Ticket.GRAPH_ROW).list();
+        Map<Long, LocalDateTime> messageDates = TicketQueries.latestMessageDates(tickets);
+        Map<Long, User> assignees = TicketQueries.latestSupportUsers(tickets);
+        Map<Long, String> slaColors = new HashMap<>();
+        List<Ticket> displayed = new ArrayList<>(tickets.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Ticket ticket : tickets) {
+            String color = SupportResource.slaColor(ticket, messageDates.get(ticket.id), now);
+            if (color != null) {
+                slaColors.put(ticket.id, color);
+            }
+            // Only tickets with support are listed as assigned, so they are shown that way from the start
+            displayed.add(assignees.containsKey(ticket.id) ? SupportResource.normalizeOpenAssigned(ticket) : ticket);
+        }
+        TicketIndex index = new TicketIndex(displayed, slaColors, messageDates, assignees);
+        Map<Long, List<Long>> assignedTicketIds = new HashMap<>();
+        List<Object[]> rows = Panache.getEntityManager()
+                .createQuery("select u.id, t.id from Ticket t join t.supportUsers u where t.status <> :closed",
+                        Object[].class)
+                .setParameter("closed", Ticket.Status.CLOSED.getLabel()).getResultList();
+        for (Object[] row : rows) {
+            assignedTicketIds.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+        }
+        Map<Long, int[]> assignedPlaces = new HashMap<>();
+        for (Map.Entry<Long, List<Long>> entry : assignedTicketIds.entrySet()) {
+            assignedPlaces.put(entry.getKey(), index.places(entry.getValue()));
+        }
+        return new Snapshot(version, index, assignedPlaces);
+    }
+
+    static final class Snapshot {
+        private final long version;
+        private final long builtAt = System.nanoTime();
+        private final TicketIndex index;
+        /** The tickets without support, in SLA order. */
+        final List<Ticket> openTickets;
+        final Map<Long, LocalDateTime> messageDates;
+        final Map<Long, String> messageDateLabels;
+        final Map<Long, String> slaColors;
+        final Map<Long, String> supportAssignments;
+        final Map<Long, String> supportAssignmentNames;
+        final Map<Long, Long> supportAssignmentIds;
+        /** The places in the SLA order of the tickets assigned to each support user. */
+        private final Map<Long, int[]> assignedPlaces;
+
+        private Snapshot(long version, TicketIndex index, Map<Long, int[]> assignedPlaces) {
+            this.version = version;
+            this.index = index;
+            this.openTickets = Collections.unmodifiableList(index.unassigned());
+            this.messageDates = index.lastActivity();
+            this.messageDateLabels = index.activityLabels();
+            this.slaColors = index.slaColors();
+            this.supportAssignments = index.assigneeEmails();
+            this.supportAssignmentNames = index.assigneeNames();
+            this.supportAssignmentIds = index.assigneeIds();
+            this.assignedPlaces = assignedPlaces;
+        }
+
+        /**
+         * The tickets that are not closed and assigned to the user, in SLA order.
+         */
+        List<Ticket> assignedTo(User user) {
+            int[] places = user == null ? null : assignedPlaces.get(user.id);
+            return places == null ? List.of() : index.tickets(places);
+        }
+
+        int assignedCount(User user) {
+            int[] places = user == null ? null : assignedPlaces.get(user.id);
+            return places == null ? 0 : places.length;
+        }
+    }
+}
@@ -8,14 +8,19 @@
 
 package ai.mnemosyne_systems.web;
 
+import ai.mnemosyne_systems.model.ArchivedMessage;
+import ai.mnemosyne_systems.model.ArchivedTicket;
 import ai.mnemosyne_systems.model.Category;
 import ai.mnemosyne_systems.model.Company;
 import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.FetchGraphs;
 import ai.mnemosyne_systems.model.Message;
 import ai.mnemosyne_systems.model.Ticket;
 import ai.mnemosyne_systems.model.User;
+import ai.mnemosyne_systems.model.UserRow;
 import ai.mnemosyne_systems.model.Country;
 import ai.mnemosyne_systems.model.Timezone;
+import io.quarkus.arc.Arc;
 import io.quarkus.elytron.security.common.BcryptUtil;
 import io.quarkus.qute.Location;
 import io.quarkus.qute.Template;
@@ -86,10 +91,24 @@ public class SupportResource {
     @Location("support/user-form.html")
     Template supportUserFormTemplate;
 
+    @Location("tickets/archive.html")
+    Template archiveTemplate;
+
+    @Location("tickets/archived-detail.html")
+    Template archivedDetailTemplate;
+
     @Inject
     TicketEmailService ticketEmailService;
 
+    @Inject
+    TicketArchiveService ticketArchiveService;
+
+    @Inject
+    SupportDashboard supportDashboard;
+
     @GET
+    @QueryBudget(150)
+    @ConditionalGet
     public TemplateInstance listTickets(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
         User user = requireSupport(auth);
         SupportTicketData data = buildTicketData(user);
@@ -106,6 +125,7 @@ public class SupportResource {
 
     @GET
     @Path("/open")
+    @ConditionalGet
     public TemplateInstance listOpenTickets(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
         User user = requireSupport(auth);
         SupportTicketData data = buildTicketData(user);
@@ -122,9 +142,10 @@ public class SupportResource {
 
     @GET
     @Path("/closed")
+    @ConditionalGet
     public TemplateInstance listClosedTickets(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
         User user = requireSupport(auth);
-        SupportTicketData data = buildTicketData(user);
+        SupportTicketData data = buildClosedTicketData(user);
         return ticketsTemplate.data("tickets", data.closedTickets).data("pageTitle", "Closed tickets")
                 .data("assignedCount", data.assignedTickets.size()).data("openCount", data.openTickets.size())
                 .data("messageDates", data.messageDates).data("messageDateLabels", data.messageDateLabels)
@@ -136,6 +157,45 @@ public class SupportResource {
                 .data("currentUser", user);
     }
 
+    @GET
+    @Path("/archive")
+    public TemplateInstance listArchivedTickets(@CookieParam(AuthHelper.AUTH_COOKIE) String auth,
+            @QueryParam("q") String query) {
+        User user = requireSupport(auth);
+        SupportTicketCounts counts = loadTicketCounts(user);
+        List<ArchivedTicket> tickets = ticketArchiveService.search(user, query);
+        Map<Long, String> closedLabels = new LinkedHashMap<>();
+        for (ArchivedTicket ticket : tickets) {
+            closedLabels.put(ticket.id, ticket.closedAt == null ? "-" : formatDate(ticket.closedAt));
+        }
+        return archiveTemplate.data("tickets", tickets).data("closedLabels", closedLabels)
+                .data("query", query == null ? "" : query).data("assignedCount", counts.assignedCount)
+                .data("openCount", counts.openCount).data("ticketsBase", "/support").data("showSupportUsers", true)
+                .data("currentUser", user);
+    }
+
+    @GET
+    @Path("/archive/{id}")
+    public TemplateInstance viewArchivedTicket(@CookieParam(AuthHelper.AUTH_COOKIE) String auth,
+            @PathParam("id") Long id) {
+        User user = requireSupport(auth);
+        ArchivedTicket ticket = ticketArchiveService.findForUser(user, id);
+        if (ticket == null) {
+            throw new NotFoundException();
+        }
+        SupportTicketCounts counts = loadTicketCounts(user);
+        List<ArchivedMessage> messages = ticketArchiveService.messages(ticket);
+        Map<Long, String> messageLabels = new LinkedHashMap<>();
+        for (ArchivedMessage message : messages) {
+            messageLabels.put(message.id, formatDate(message.date));
+        }
+        return archivedDetailTemplate.data("ticket", ticket).data("messages", messages)
+                .data("messageLabels", messageLabels)
+                .data("closedLabel", ticket.closedAt == null ? "-" : formatDate(ticket.closedAt))
+                .data("assignedCount", counts.assignedCount).data("openCount", counts.openCount)
+                .data("ticketsBase", "/support").data("showSupportUsers", true).data("currentUser", user);
+    }
+
     @GET
     @Path("/support-users/{id}")
     public TemplateInstance viewSupportUser(@CookieParam(AuthHelper.AUTH_COOKIE) String auth,
@@ -184,11 +244,7 @@ public class SupportResource {
     @Path("/users")
     public Response supportUsersRoot(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
         requireSupport(auth);
-        List<Company> companies = Company.list("order by name");
-        if (companies.isEmpty()) {
-            throw new NotFoundException();
-        }
-        Company company = companies.get(0);
+        Company company = Company.find("order by name").firstResult();
         if (company == null || company.id == null) {
             throw new NotFoundException();
         }
@@ -201,7 +257,6 @@ public class SupportResource {
             @PathParam("companyId") Long companyId) {
         User currentUser = requireSupport(auth);
         SupportTicketCounts counts = loadTicketCounts(currentUser);
-        List<Company> companies = Company.list("order by name");
         Company selectedCompany = null;
         if (companyId != null) {
             selectedCompany = Company.findById(companyId);
@@ -209,29 +264,19 @@ public class SupportResource {
                 throw new NotFoundException();
             }
         }
-        if (selectedCompany == null && !companies.isEmpty()) {
-            selectedCompany = companies.get(0);
-        }
-        Map<Long, String> companyOptionLabels = new LinkedHashMap<>();
-        for (Company company : companies) {
-            if (company == null || company.id == null) {
-                continue;
-            }
-            String name = company.name == null ? "" : company.name.trim();
-            companyOptionLabels.put(company.id, name.toLowerCase(Locale.ENGLISH).startsWith("company ")
-                    ? name.substring("company ".length()).trim() : name);
+        if (selectedCompany == null) {
+            selectedCompany = Company.find("order by name").firstResult();
         }
-        List<User> users = selectedCompany == null ? List.of() : Company
-                .find("select u from Company c join c.users u where c = ?1 order by u.name", selectedCompany).list();
+        List<UserRow> users = selectedCompany == null ? List.of() : UserRow.listForCompany(selectedCompany);
         String createUserUrl = selectedCompany == null ? "/support/users"
                 : "/support/users/" + selectedCompany.id + "/create";
-        return Response.ok(supportUsersTemplate.data("users", users).data("companies", companies)
+        return Response.ok(supportUsersTemplate.data("users", users)
                 .data("selectedCompanyId", selectedCompany == null ? null : selectedCompany.id)
                 .data("selectedCompany", selectedCompany).data("showCompanySelector", true)
-                .data("companyOptionLabels", companyOptionLabels).data("createUserUrl", createUserUrl)
-                .data("usersBase", "/support/users").data("assignedCount", counts.assignedCount)
-                .data("openCount", counts.openCount).data("ticketsBase", "/support").data("showSupportUsers", true)
-                .data("currentUser", currentUser)).build();
+                .data("createUserUrl", createUserUrl).data("usersBase", "/support/users")
+                .data("assignedCount", counts.assignedCount).data("openCount", counts.openCount)
+                .data("ticketsBase", "/support").data("showSupportUsers", true).data("currentUser", currentUser))
+                .build();
     }
 
     @GET
@@ -240,7 +285,6 @@ public class SupportResource {
             @PathParam("companyId") Long companyId) {
         User currentUser = requireSupport(auth);
         SupportTicketCounts counts = loadTicketCounts(currentUser);
-        List<Company> companies = Company.list("order by name");
         Company selectedCompany = null;
         selectedCompany = Company.findById(companyId);
         if (selectedCompany == null) {
@@ -255,7 +299,7 @@ public class SupportResource {
         List<Country> countries = Country.list("order by name");
         List<Timezone> timezones = defaultCountry != null ? Timezone.list("country = ?1 order by name", defaultCountry)
                 : List.of();
-        return supportUserFormTemplate.data("user", newUser).data("companies", companies)
+        return supportUserFormTemplate.data("user", newUser).data("selectedCompany", selectedCompany)
                 .data("selectedCompanyId", selectedCompany == null ? null : selectedCompany.id)
                 .data("types", List.of(User.TYPE_USER, User.TYPE_TAM)).data("action", "/support/users")
                 .data("title", "New user").data("countries", countries).data("timezones", timezones)
@@ -324,10 +368,7 @@ public class SupportResource {
         User user = requireSupport(auth);
         SupportTicketCounts counts = loadTicketCounts(user);
         Ticket ticket = new Ticket();
-        List<Company> companies = Company.listAll();
-        if (!companies.isEmpty()) {
-            ticket.company = companies.get(0);
-        }
+        ticket.company = Company.find("order by id").firstResult();
         List<CompanyEntitlement> entitlements = ticket.company == null ? java.util.List.of()
                 : uniqueEntitlements(CompanyEntitlement.find(
                         "select distinct ce from CompanyEntitlement ce join fetch ce.entitlement join fetch ce.supportLevel where ce.company = ?1 order by ce.entitlement.name, ce.supportLevel.level, ce.supportLevel.id",
@@ -336,8 +377,7 @@ public class SupportResource {
         String ticketName = ticket.company == null ? "" : Ticket.previewNextName(ticket.company);
         List<Category> categories = Category.listAll();
         Category defaultCategory = Category.findDefault();
-        return ticketFormTemplate.data("ticket", ticket).data("companies", companies)
-                .data("companyEntitlements", entitlements)
+        return ticketFormTemplate.data("ticket", ticket).data("companyEntitlements", entitlements)
                 .data("selectedCompanyEntitlementId", selectedCompanyEntitlementId).data("categories", categories)
                 .data("defaultCategoryId", defaultCategory == null ? null : defaultCategory.id)
                 .data("action", "/support/tickets").data("ticketName", ticketName)
@@ -348,24 +388,18 @@ public class SupportResource {
 
     @GET
     @Path("/tickets/{id}")
+    @QueryBudget(100)
+    @ConditionalGet(ticket = "id")
     public TemplateInstance ticketDetail(@CookieParam(AuthHelper.AUTH_COOKIE) String auth,
             @jakarta.ws.rs.PathParam("id") Long id) {
         User user = requireSupport(auth);
         SupportTicketCounts counts = loadTicketCounts(user);
-        Ticket ticket = Ticket.findById(id);
+        Ticket ticket = FetchGraphs.findById(Ticket.class, id, Ticket.GRAPH_DETAIL);
         if (ticket == null) {
-            throw new NotFoundException();
+            throw ticketArchiveService.notFound(id, "/support");
         }
         assignCompanyTams(ticket);
-        String displayStatus = ticket.status;
-        if (displayStatus == null || displayStatus.isBlank()) {
-            displayStatus = "Open";
-        }
-        boolean assignedToCurrent = Ticket
-                .count("select count(t) from Ticket t join t.supportUsers u where t = ?1 and u = ?2", ticket, user) > 0;
-        if (assignedToCurrent && "Open".equalsIgnoreCase(displayStatus)) {
-            displayStatus = "Assigned";
-        }
+        String displayStatus = ticket.effectiveStatus;
         java.util.List<User> supportUsers = User
                 .find("select u from Ticket t join t.supportUsers u where t = ?1 order by u.email", ticket).list();
         java.util.List<User> tamUsers = User.find(
@@ -412,12 +446,11 @@ public class SupportResource {
         return ticketDetailTemplate.data("ticket", ticket).data("displayStatus", displayStatus)
                 .data("supportUsers", supportUsers).data("tamUsers", tamUsers).data("messages", messages)
                 .data("messageLabels", messageLabels).data("messageAuthorNames", messageAuthorNames)
-                .data("messageAuthorLinks", messageAuthorLinks).data("companies", Company.listAll())
-                .data("companyEntitlements", entitlements)
+                .data("messageAuthorLinks", messageAuthorLinks).data("companyEntitlements", entitlements)
                 .data("selectedCompanyEntitlementId",
                         ticket.companyEntitlement == null ? null : ticket.companyEntitlement.id)
                 .data("action", "/support/tickets/" + id).data("title", "Update").data("editableStatus", true)
-                .data("showLevel", true).data("ticketEntitlementExpired", isEntitlementExpired(ticket))
+                .data("showLevel", true).data("ticketEntitlementExpired", ticket.isEntitlementExpired())
                 .data("supportUserBase", "/support/support-users").data("tamUserBase", "/support/tam-users")
                 .data("messageAction", "/support/tickets/" + id + "/messages")
                 .data("assignedCount", counts.assignedCount).data("openCount", counts.openCount)
@@ -446,11 +479,11 @@ public class SupportResource {
         if (body == null || body.isBlank()) {
             throw new BadRequestException("Message is required");
         }
-        Ticket ticket = Ticket.findById(id);
+        Ticket ticket = FetchGraphs.findById(Ticket.class, id, Ticket.GRAPH_DETAIL);
         if (ticket == null) {
             throw new NotFoundException();
         }
-        String previousStatus = ticketEmailService.computeEffectiveStatus(ticket, ticket.status);
+        String previousStatus = ticket.effectiveStatus;
         Message message = new Message();
         message.body = body;
         message.date = LocalDateTime.now();
@@ -461,10 +494,11 @@ public class SupportResource {
         if (ticket.supportUsers.stream().noneMatch(existing -> existing.id != null && existing.id.equals(user.id))) {
             ticket.supportUsers.add(user);
         }
-        if (ticket.status == null || ticket.status.isBlank() || "Open".equalsIgnoreCase(ticket.status)) {
-            ticket.status = "Assigned";
+        if (ticket.hasStatus(Ticket.Status.OPEN)) {
+            ticket.status = Ticket.Status.ASSIGNED.getLabel();
         }
-        if (!sameStatus(previousStatus, ticket.status)) {
+        ticket.refreshEffectiveStatus();
+        if (!sameStatus(previousStatus, ticket.effectiveStatus)) {
             ticketEmailService.notifyStatusChange(ticket, previousStatus, user);
         }
         ticketEmailService.notifyMessageChange(ticket, message, user);
@@ -485,7 +519,7 @@ public class SupportResource {
         if (status == null || status.isBlank()) {
             throw new BadRequestException("Status is required");
         }
-        if (!"Open".equalsIgnoreCase(status)) {
+        if (Ticket.Status.fromLabel(status) != Ticket.Status.OPEN) {
             throw new BadRequestException("Status must be Open");
         }
         if (messageBody == null || messageBody.isBlank()) {
@@ -508,7 +542,7 @@ public class SupportResource {
         }
         Ticket ticket = new Ticket();
         ticket.name = Ticket.nextName(company);
-        ticket.status = "Open";
+        ticket.status = Ticket.Status.OPEN.getLabel();
         ticket.company = company;
         ticket.requester = user;
         ticket.companyEntitlement = entitlement;
@@ -534,13 +568,17 @@ public class SupportResource {
             @FormParam("companyId") Long companyId, @FormParam("companyEntitlementId") Long companyEntitlementId,
             @FormParam("categoryId") Long categoryId, @FormParam("externalIssueLink") String externalIssueLink) {
         User user = requireSupport(auth);
-        Ticket ticket = Ticket.findById(id);
+        Ticket ticket = FetchGraphs.findById(Ticket.class, id, Ticket.GRAPH_DETAIL);
         if (ticket == null) {
             throw new NotFoundException();
         }
         if (status == null || status.isBlank()) {
             throw new BadRequestException("Status is required");
         }
+        Ticket.Status requestedStatus = Ticket.Status.fromLabel(status);
+        if (requestedStatus == null) {
+            throw new BadRequestException("Status is invalid");
+        }
         if (companyId == null) {
             throw new BadRequestException("Company is required");
         }
@@ -556,22 +594,23 @@ public class SupportResource {
         if (entitlement == null) {
             throw new BadRequestException("Entitlement is required");
         }
-        String previousStatus = ticketEmailService.computeEffectiveStatus(ticket, ticket.status);
-        ticket.status = status;
+        String previousStatus = ticket.effectiveStatus;
+        ticket.status = requestedStatus.getLabel();
         ticket.company = company;
         ticket.companyEntitlement = entitlement;
         ticket.category = categoryId != null ? Category.findById(categoryId) : null;
         ticket.externalIssueLink = externalIssueLink != null && !externalIssueLink.isBlank() ? externalIssueLink.trim()
                 : null;
-        if ("Assigned".equalsIgnoreCase(status)) {
+        if (requestedStatus == Ticket.Status.ASSIGNED) {
             boolean assigned = ticket.supportUsers.stream()
                     .anyMatch(existing -> existing.id != null && existing.id.equals(user.id));
             if (!assigned) {
                 ticket.supportUsers.add(user);
             }
         }
+        ticket.refreshEffectiveStatus();
         assignCompanyTams(ticket);
-        if (!sameStatus(previousStatus, ticket.status)) {
+        if (!sameStatus(previousStatus, ticket.effectiveStatus)) {
             ticketEmailService.notifyStatusChange(ticket, previousStatus, user);
         }
         return Response.seeOther(URI.create("/tickets/" + id)).build();
@@ -583,19 +622,20 @@ public class SupportResource {
     public Response assignTicket(@CookieParam(AuthHelper.AUTH_COOKIE) String auth,
             @jakarta.ws.rs.PathParam("id") Long id) {
         User user = requireSupport(auth);
-        Ticket ticket = Ticket.findById(id);
+        Ticket ticket = FetchGraphs.findById(Ticket.class, id, Ticket.GRAPH_DETAIL);
         if (ticket == null) {
             throw new NotFoundException();
         }
-        String previousStatus = ticketEmailService.computeEffectiveStatus(ticket, ticket.status);
+        String previousStatus = ticket.effectiveStatus;
         if (ticket.supportUsers.stream().noneMatch(existing -> existing.id != null && existing.id.equals(user.id))) {
             ticket.supportUsers.add(user);
         }
-        if (ticket.status == null || ticket.status.isBlank() || "Open".equalsIgnoreCase(ticket.status)) {
-            ticket.status = "Assigned";
+        if (ticket.hasStatus(Ticket.Status.OPEN)) {
+            ticket.status = Ticket.Status.ASSIGNED.getLabel();
         }
+        ticket.refreshEffectiveStatus();
         assignCompanyTams(ticket);
-        if (!sameStatus(previousStatus, ticket.status)) {
+        if (!sameStatus(previousStatus, ticket.effectiveStatus)) {
             ticketEmailService.notifyStatusChange(ticket, previousStatus, user);
         }
         return Response.seeOther(URI.create("/tickets/" + id)).build();
@@ -605,25 +645,19 @@ public class SupportResource {
         if (ticket == null || ticket.company == null) {
             return;
         }
-        java.util.List<User> tams = User
-                .find("select u from Company c join c.users u where c = ?1 and lower(u.type) = ?2", ticket.company,
-                        User.TYPE_TAM)
-                .list();
-        if (tams.isEmpty()) {
-            return;
-        }
-        ticket.tamUsers.size();
-        java.util.Set<Long> existingIds = new HashSet<>();
-        for (User existing : ticket.tamUsers) {
-            if (existing.id != null) {
-                existingIds.add(existing.id);
-            }
+        java.util.List<User> tams = missingCompanyTams(ticket);
+        if (!tams.isEmpty()) {
+            ticket.tamUsers.addAll(tams);
         }
-        for (User tam : tams) {
-            if (tam.id != null && !existingIds.contains(tam.id)) {
-                ticket.tamUsers.add(tam);
-            }
+    }
+
+    static List<User> missingCompanyTams(Ticket ticket) {
+        if (ticket == null || ticket.company == null || ticket.id == null) {
+            return List.of();
         }
+        return User.find(
+                "select u from Company c join c.users u where c = ?1 and lower(u.type) = ?2 and u not in (select tu from Ticket t join t.tamUsers tu where t = ?3)",
+                ticket.company, User.TYPE_TAM, ticket).list();
     }
 
     @GET
@@ -647,8 +681,7 @@ public class SupportResource {
         java.util.List<Category> categories = Category.listAll();
         Category defaultCategory = Category.findDefault();
         Long selectedCompanyEntitlementId = entitlements.isEmpty() ? null : entitlements.get(0).id;
-        return ticketFormTemplate.data("ticket", ticket).data("companies", Company.listAll())
-                .data("companyEntitlements", entitlements)
+        return ticketFormTemplate.data("ticket", ticket).data("companyEntitlements", entitlements)
                 .data("selectedCompanyEntitlementId", selectedCompanyEntitlementId).data("action", "/support/tickets")
                 .data("ticketName", ticketName).data("assignedCount", counts.assignedCount)
                 .data("openCount", counts.openCount).data("ticketsBase", "/support").data("showSupportUsers", true)
@@ -674,7 +707,7 @@ public class SupportResource {
         return unique;
     }
 
-    private String formatDate(LocalDateTime date) {
+    static String formatDate(LocalDateTime date) {
         String formatted = DATE_FORMATTER.format(date);
         return formatted.replace("AM", "am").replace("PM", "pm");
     }
@@ -685,33 +718,36 @@ public class SupportResource {
         return normalizedLeft.equalsIgnoreCase(normalizedRight);
     }
 
-    private String resolveSlaColor(ai.mnemosyne_systems.model.Level level, long minutes) {
-        if (level == null || level.level == null || level.color == null || level.color.isBlank()) {
+    /**
+     * The SLA colour of a ticket that is not closed, or null when its level has none.
+     */
+    static String slaColor(Ticket ticket, LocalDateTime messageDate, LocalDateTime now) {
+        if (ticket.isEntitlementExpired()) {
+            return "Black";
+        }
+        if (messageDate == null || ticket.companyEntitlement == null
+                || ticket.companyEntitlement.supportLevel == null) {
             return null;
         }
-        if (minutes >= level.level.longValue()) {
-            return level.color;
+        long minutes = Duration.between(messageDate, now).toMinutes();
+        if (minutes < 0) {
+            minutes = 0;
         }
-        return "White";
+        String color = resolveSlaColor(ticket.companyEntitlement.supportLevel, minutes);
+        return color == null || color.isBlank() ? null : color;
     }
 
-    private boolean isEntitlementExpired(Ticket ticket) {
-        if (ticket == null || ticket.companyEntitlement == null || ticket.companyEntitlement.date == null
-                || ticket.companyEntitlement.duration == null) {
-            return false;
+    private static String resolveSlaColor(ai.mnemosyne_systems.model.Level level, long minutes) {
+        if (level == null || level.level == null || level.color == null || level.color.isBlank()) {
+            return null;
         }
-        java.time.LocalDate endDate = ticket.companyEntitlement.date;
-        if (ticket.companyEntitlement.duration == CompanyEntitlement.DURATION_MONTHLY) {
-            endDate = endDate.plusMonths(1);
-        } else if (ticket.companyEntitlement.duration == CompanyEntitlement.DURATION_YEARLY) {
-            endDate = endDate.plusYears(1);
-        } else {
-            return false;
+        if (minutes >= level.level.longValue()) {
+            return level.color;
         }
-        return java.time.LocalDate.now().isAfter(endDate);
+        return "White";
     }
 
-    private void sortBySla(List<Ticket> tickets, Map<Long, String> slaColors, Map<Long, LocalDateTime> messageDates) {
+    static void sortBySla(List<Ticket> tickets, Map<Long, String> slaColors, Map<Long, LocalDateTime> messageDates) {
         tickets.sort((left, right) -> {
             int leftRank = slaColorRank(slaColors.get(left.id));
             int rightRank = slaColorRank(slaColors.get(right.id));
@@ -746,7 +782,7 @@ public class SupportResource {
         });
     }
 
-    private int slaColorRank(String color) {
+    static int slaColorRank(String color) {
         if (color == null) {
             return 3;
         }
@@ -764,95 +800,56 @@ public class SupportResource {
     }
 
     private SupportTicketData buildTicketData(User user) {
-        List<Ticket> tickets = Ticket.listAll();
-        Map<Long, LocalDateTime> messageDates = new LinkedHashMap<>();
-        Map<Long, String> messageDateLabels = new LinkedHashMap<>();
-        List<Message> messages = Message.find("order by date desc").list();
-        for (Message message : messages) {
-            if (message.ticket != null && !messageDates.containsKey(message.ticket.id)) {
-                messageDates.put(message.ticket.id, message.date);
-                if (message.date != null) {
-                    messageDateLabels.put(message.ticket.id, formatDate(message.date));
-                }
-            }
-        }
-        for (Ticket ticket : tickets) {
-            if (!messageDateLabels.containsKey(ticket.id)) {
-                messageDateLabels.put(ticket.id, "-");
-            }
+        SupportDashboard.Snapshot snapshot = supportDashboard.snapshot();
+        List<Ticket> assignedTickets = snapshot.assignedTo(user);
+        Set<Long> assignedTicketIds = new HashSet<>();
+        for (Ticket ticket : assignedTickets) {
+            assignedTicketIds.add(ticket.id);
         }
+        SupportTicketData data = new SupportTicketData();
+        data.assignedTickets = assignedTickets;
+        data.openTickets = snapshot.openTickets;
+        data.closedTickets = List.of();
+        data.messageDates = snapshot.messageDates;
+        data.messageDateLabels = snapshot.messageDateLabels;
+        data.slaColors = snapshot.slaColors;
+        data.supportAssignments = snapshot.supportAssignments;
+        data.supportAssignmentNames = snapshot.supportAssignmentNames;
+        data.supportAssignmentIds = snapshot.supportAssignmentIds;
+        data.assignedTicketIds = assignedTicketIds;
+        return data;
+    }
+
+    /**
+     * The closed tickets of the user, which the shared snapshot leaves out. The counts still come from the snapshot.
+     */
+    private SupportTicketData buildClosedTicketData(User user) {
+        SupportTicketData data = buildTicketData(user);
+        List<Ticket> tickets = FetchGraphs.apply(
+                Ticket.find("select distinct t from Ticket t join t.supportUsers u where t.status = ?1 and u = ?2",
+                        Ticket.Status.CLOSED.getLabel(), user),
+                Ticket.GRAPH_ROW).list();
+        Map<Long, LocalDateTime> messageDates = TicketQueries.latestMessageDates(tickets);
+        Map<Long, String> messageDateLabels = new LinkedHashMap<>();
         Map<Long, String> slaColors = new LinkedHashMap<>();
-        LocalDateTime now = LocalDateTime.now();
+        List<Ticket> closedTickets = new ArrayList<>();
         for (Ticket ticket : tickets) {
-            if (isEntitlementExpired(ticket)) {
-                slaColors.put(ticket.id, "Black");
-                continue;
-            }
             LocalDateTime messageDate = messageDates.get(ticket.id);
-            if (messageDate == null || ticket.companyEntitlement == null
-                    || ticket.companyEntitlement.supportLevel == null) {
-                continue;
-            }
-            long minutes = Duration.between(messageDate, now).toMinutes();
-            if (minutes < 0) {
-                minutes = 0;
-            }
-            String color = resolveSlaColor(ticket.companyEntitlement.supportLevel, minutes);
-            if (color != null && !color.isBlank()) {
-                slaColors.put(ticket.id, color);
-            }
+            messageDateLabels.put(ticket.id, messageDate == null ? "-" : formatDate(messageDate));
+            slaColors.put(ticket.id, ticket.isEntitlementExpired() ? "Black" : "White");
+            closedTickets.add(copyTicketDisplay(ticket));
         }
         Map<Long, String> supportAssignments = new LinkedHashMap<>();
         Map<Long, String> supportAssignmentNames = new LinkedHashMap<>();
         Map<Long, Long> supportAssignmentIds = new LinkedHashMap<>();
-        for (Ticket ticket : tickets) {
-            User assignedSupport = User
-                    .find("select u from Ticket t join t.supportUsers u where t = ?1 order by u.id desc", ticket)
-                    .firstResult();
-            if (assignedSupport != null) {
-                supportAssignments.put(ticket.id, assignedSupport.email);
-                supportAssignmentNames.put(ticket.id, assignedSupport.name);
-                supportAssignmentIds.put(ticket.id, assignedSupport.id);
-            }
+        for (Map.Entry<Long, User> entry : TicketQueries.latestSupportUsers(tickets).entrySet()) {
+            supportAssignments.put(entry.getKey(), entry.getValue().email);
+            supportAssignmentNames.put(entry.getKey(), entry.getValue().name);
+            supportAssignmentIds.put(entry.getKey(), entry.getValue().id);
         }
-        Set<Long> assignedTicketIds = new HashSet<>();
-        List<Ticket> assignedTickets = new java.util.ArrayList<>();
-        List<Ticket> openTickets = new java.util.ArrayList<>();
-        List<Ticket> closedTickets = new java.util.ArrayList<>();
-        List<Ticket> assignedToUser = Ticket
-                .find("select distinct t from Ticket t join t.supportUsers u where u = ?1", user).list();
-        for (Ticket ticket : assignedToUser) {
-            if (ticket.id != null) {
-                assignedTicketIds.add(ticket.id);
-            }
-        }
-        for (Ticket ticket : tickets) {
-            boolean assignedToCurrent = assignedTicketIds.contains(ticket.id);
-            boolean hasSupport = supportAssignments.containsKey(ticket.id);
-            boolean isClosed = "Closed".equalsIgnoreCase(ticket.status);
-            if (assignedToCurrent && !isClosed) {
-                assignedTickets.add(normalizeOpenAssigned(ticket));
-            }
-            if (!hasSupport) {
-                openTickets.add(ticket);
-            }
-            if (assignedToCurrent && isClosed) {
-                closedTickets.add(copyTicketDisplay(ticket));
-            }
-        }
-        for (Ticket ticket : closedTickets) {
-            if (ticket != null && ticket.id != null) {
-                if (!isEntitlementExpired(ticket)) {
-                    slaColors.put(ticket.id, "White");
-                }
-            }
-        }
-        sortBySla(assignedTickets, slaColors, messageDates);
-        sortBySla(openTickets, slaColors, messageDates);
         sortBySla(closedTickets, slaColors, messageDates);
-        SupportTicketData data = new SupportTicketData();
-        data.assignedTickets = assignedTickets;
-        data.openTickets = openTickets;
+        Set<Long> assignedTicketIds = new HashSet<>(data.assignedTicketIds);
+        assignedTicketIds.addAll(messageDateLabels.keySet());
         data.closedTickets = closedTickets;
         data.messageDates = messageDates;
         data.messageDateLabels = messageDateLabels;
@@ -868,21 +865,19 @@ public class SupportResource {
         if (user == null) {
             return new SupportTicketCounts(0, 0);
         }
-        Long assignedCount = Ticket.count(
-                "select distinct t from Ticket t join t.supportUsers u where u = ?1 and (t.status is null or lower(t.status) <> 'closed')",
-                user);
-        Long openCount = Ticket.count("select distinct t from Ticket t where t.supportUsers is empty");
-        return new SupportTicketCounts(assignedCount.intValue(), openCount.intValue());
+        SupportDashboard.Snapshot snapshot = Arc.container().instance(SupportDashboard.class).get().snapshot();
+        return new SupportTicketCounts(snapshot.assignedCount(user), snapshot.openTickets.size());
     }
 
-    private Ticket normalizeOpenAssigned(Ticket ticket) {
-        if (ticket == null || !"Open".equalsIgnoreCase(ticket.status)) {
+    static Ticket normalizeOpenAssigned(Ticket ticket) {
+        if (ticket == null || !ticket.hasStatus(Ticket.Status.OPEN)) {
             return ticket;
         }
         Ticket displayTicket = new Ticket();
         displayTicket.id = ticket.id;
         displayTicket.name = ticket.name;
-        displayTicket.status = "Assigned";
+        displayTicket.status = Ticket.Status.ASSIGNED.getLabel();
+        displayTicket.effectiveStatus = displayTicket.status;
         displayTicket.company = ticket.company;
         displayTicket.companyEntitlement = ticket.companyEntitlement;
         displayTicket.category = ticket.category;
@@ -898,6 +893,7 @@ public class SupportResource {
         displayTicket.id = ticket.id;
         displayTicket.name = ticket.name;
         displayTicket.status = ticket.status;
+        displayTicket.effectiveStatus = ticket.effectiveStatus;
         displayTicket.company = ticket.company;
         displayTicket.companyEntitlement = ticket.companyEntitlement;
         displayTicket.category = ticket.category;
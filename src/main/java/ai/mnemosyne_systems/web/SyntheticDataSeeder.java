@@ -0,0 +1,465 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.elytron.security.common.BcryptUtil;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a production sized dataset for load testing, enabled by the {@code synthetic} profile. It runs once
+ * {@link UserSeeder} has the support catalog in place. Rows are written with batched JDBC statements and ids taken in
+ * blocks from the entity sequences, one transaction per company. All synthetic users share the password
+ * {@code synthetic}.
+ */
+@ApplicationScoped
+public class SyntheticDataSeeder {
+
+    private static final Logger LOGGER = Logger.getLogger(SyntheticDataSeeder.class);
+
+    static final String COMPANY_SUFFIX = " Synthetic";
+    static final String PASSWORD = "synthetic";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long MAX_BATCH_BYTES = 16L * 1024 * 1024;
+    private static final double ATTACHMENT_SIGMA = 1.5;
+    private static final double MESSAGE_GAP_HOURS = 6.0;
+    private static final String[][] ATTACHMENT_TYPES = { { "server.log", "text/plain" },
+            { "screenshot.png", "image/png" }, { "export.csv", "text/csv" }, { "config.json", "application/json" } };
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    TicketVersions ticketVersions;
+
+    @ConfigProperty(name = "ticket.synthetic.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "ticket.synthetic.companies", defaultValue = "500")
+    int companies;
+
+    @ConfigProperty(name = "ticket.synthetic.users-per-company", defaultValue = "10")
+    int usersPerCompany;
+
+    @ConfigProperty(name = "ticket.synthetic.support-users", defaultValue = "20")
+    int supportUsers;
+
+    @ConfigProperty(name = "ticket.synthetic.tams", defaultValue = "25")
+    int tams;
+
+    @ConfigProperty(name = "ticket.synthetic.tickets", defaultValue = "100000")
+    int tickets;
+
+    @ConfigProperty(name = "ticket.synthetic.messages-per-ticket", defaultValue = "20")
+    double messagesPerTicket;
+
+    @ConfigProperty(name = "ticket.synthetic.attachment-ratio", defaultValue = "0.02")
+    double attachmentRatio;
+
+    @ConfigProperty(name = "ticket.synthetic.attachment-median-kb", defaultValue = "16")
+    int attachmentMedianKb;
+
+    @ConfigProperty(name = "ticket.synthetic.attachment-max-kb", defaultValue = "5120")
+    int attachmentMaxKb;
+
+    @ConfigProperty(name = "ticket.synthetic.days", defaultValue = "365")
+    int days;
+
+    @ConfigProperty(name = "ticket.synthetic.random-seed", defaultValue = "42")
+    long randomSeed;
+
+    void onSeeded(@Observes UserSeeder.Seeded event) {
+        if (!enabled) {
+            return;
+        }
+        long existing = QuarkusTransaction.requiringNew()
+                .call(() -> Company.count("name like ?1", "%" + COMPANY_SUFFIX));
+        if (existing > 0) {
+            LOGGER.infof("Synthetic dataset already present (%d companies)", existing);
+            return;
+        }
+        generate();
+    }
+
+    void generate() {
+        long started = System.nanoTime();
+        Random random = new Random(randomSeed);
+        String passwordHash = BcryptUtil.bcryptHash(PASSWORD);
+        Catalog catalog = QuarkusTransaction.requiringNew().call(() -> jdbc(this::loadCatalog));
+        long[] staff = QuarkusTransaction.requiringNew()
+                .call(() -> jdbc(connection -> insertStaff(connection, catalog, passwordHash)));
+        long[] supportIds = Arrays.copyOfRange(staff, 0, supportUsers);
+        long[] tamIds = Arrays.copyOfRange(staff, supportUsers, staff.length);
+        int[] ticketsPerCompany = distribute(tickets, companies);
+        byte[] noise = new byte[Math.max(1, attachmentMaxKb) * 1024];
+        random.nextBytes(noise);
+        Totals totals = new Totals();
+        for (int index = 0; index < companies; index++) {
+            int companyIndex = index;
+            QuarkusTransaction.requiringNew().run(() -> jdbc(connection -> {
+                insertCompany(connection, catalog, companyIndex, ticketsPerCompany[companyIndex], passwordHash,
+                        supportIds, tamIds.length == 0 ? null : tamIds[companyIndex % tamIds.length], random, noise,
+                        totals);
+                return null;
+            }));
+            // Written over plain JDBC, which Hibernate does not report
+            ticketVersions.changed();
+            if ((index + 1) % 50 == 0) {
+                LOGGER.infof("Synthetic dataset: %d/%d companies, %d tickets, %d messages", index + 1, companies,
+                        totals.tickets, totals.messages);
+            }
+        }
+        LOGGER.infof("Synthetic dataset: %d companies, %d tickets, %d messages, %d attachments in %d s", companies,
+                totals.tickets, totals.messages, totals.attachments, (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    private Catalog loadCatalog(Connection connection) throws SQLException {
+        Catalog catalog = new Catalog();
+        try (PreparedStatement statement = connection
+                .prepareStatement("SELECT entitlement_id, support_level_id FROM entitlement_support_levels");
+                ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                catalog.entitlements.add(new long[] { rs.getLong(1), rs.getLong(2) });
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM categories ORDER BY id");
+                ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                catalog.categories.add(rs.getLong(1));
+            }
+        }
+        try (PreparedStatement statement = connection
+                .prepareStatement("SELECT id, country_id FROM timezones ORDER BY id");
+                ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                catalog.timezones.add(new long[] { rs.getLong(1), rs.getLong(2) });
+            }
+        }
+        if (catalog.entitlements.isEmpty() || catalog.timezones.isEmpty()) {
+            throw new IllegalStateException("Synthetic dataset requires the seeded support catalog");
+        }
+        return catalog;
+    }
+
+    private long[] insertStaff(Connection connection, Catalog catalog, String passwordHash) throws SQLException {
+        int count = supportUsers + tams;
+        long[] ids = reserveIds(connection, "user_seq", count);
+        try (Batch users = new Batch(connection,
+                "INSERT INTO users (id, name, full_name, email, timezone_id, country_id, user_type, password_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            long[] timezone = catalog.timezones.get(0);
+            for (int i = 0; i < count; i++) {
+                boolean support = i < supportUsers;
+                String name = support ? String.format("ssupport%02d", i + 1)
+                        : String.format("stam%02d", i - supportUsers + 1);
+                users.add(ids[i], name, support ? "Synthetic Support " + (i + 1) : "Synthetic TAM " + (i + 1),
+                        name + "@synthetic.test", timezone[0], timezone[1], support ? User.TYPE_SUPPORT : User.TYPE_TAM,
+                        passwordHash);
+            }
+        }
+        return ids;
+    }
+
+    private void insertCompany(Connection connection, Catalog catalog, int index, int ticketCount, String passwordHash,
+            long[] supportIds, Long tamId, Random random, byte[] noise, Totals totals) throws SQLException {
+        String code = "S" + leftPad(Long.toString(index, 36).toUpperCase(), 5);
+        long[] timezone = catalog.timezones.get(random.nextInt(catalog.timezones.size()));
+        long companyId = reserveIds(connection, "company_seq", 1)[0];
+        long[] userIds = reserveIds(connection, "user_seq", usersPerCompany);
+        try (Batch users = new Batch(connection,
+                "INSERT INTO users (id, name, full_name, email, timezone_id, country_id, user_type, password_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < usersPerCompany; i++) {
+                String name = code.toLowerCase() + "u" + (i + 1);
+                users.add(userIds[i], name, "Synthetic User " + (i + 1) + " of " + code, name + "@synthetic.test",
+                        timezone[0], timezone[1], User.TYPE_USER, passwordHash);
+            }
+        }
+        try (Batch company = new Batch(connection,
+                "INSERT INTO companies (id, name, ticket_sequence, country_id, timezone_id, primary_contact_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+            company.add(companyId, code + COMPANY_SUFFIX, (long) ticketCount, timezone[1], timezone[0],
+                    usersPerCompany > 0 ? userIds[0] : null);
+        }
+        try (Batch members = new Batch(connection, "INSERT INTO company_users (company_id, user_id) VALUES (?, ?)")) {
+            for (int i = 0; i < usersPerCompany; i++) {
+                members.add(companyId, userIds[i]);
+            }
+            if (tamId != null) {
+                members.add(companyId, tamId);
+            }
+        }
+        long[] pair = catalog.entitlements.get(random.nextInt(catalog.entitlements.size()));
+        long entitlementId = reserveIds(connection, "company_entitlement_seq", 1)[0];
+        try (Batch entitlement = new Batch(connection,
+                "INSERT INTO company_entitlements (id, company_id, entitlement_id, support_level_id, date, duration, end_date, expired) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            LocalDate start = LocalDate.now().minusDays(random.nextInt(300));
+            LocalDate end = CompanyEntitlement.endDate(start, CompanyEntitlement.DURATION_YEARLY);
+            entitlement.add(entitlementId, companyId, pair[0], pair[1], start, CompanyEntitlement.DURATION_YEARLY, end,
+                    CompanyEntitlement.isExpiredOn(end, LocalDate.now()));
+        }
+        if (ticketCount == 0 || usersPerCompany == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        IdBlock ticketIds = new IdBlock(connection, "ticket_seq", ticketCount);
+        IdBlock messageIds = new IdBlock(connection, "message_seq", BATCH_SIZE);
+        IdBlock attachmentIds = new IdBlock(connection, "attachment_seq", 100);
+        // Flushed together in this order so that every row is written after the rows it references
+        try (Batch ticketRows = new Batch(connection,
+                "INSERT INTO tickets (id, name, status, effective_status, category_id, company_id, requester_id, company_entitlement_id, closed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                Batch supports = new Batch(connection,
+                        "INSERT INTO ticket_supports (ticket_id, user_id) VALUES (?, ?)");
+                Batch tamRows = new Batch(connection, "INSERT INTO ticket_tams (ticket_id, user_id) VALUES (?, ?)");
+                Batch messages = new Batch(connection,
+                        "INSERT INTO messages (id, body, date, ticket_id, author_id, version) VALUES (?, ?, ?, ?, ?, 0)");
+                Batch attachments = new Batch(connection,
+                        "INSERT INTO attachments (id, name, mimetype, data, message_id) VALUES (?, ?, ?, ?, ?)")) {
+            List<Batch> ordered = List.of(ticketRows, supports, tamRows, messages, attachments);
+            long attachmentBytes = 0;
+            for (int t = 0; t < ticketCount; t++) {
+                long ticketId = ticketIds.next();
+                Ticket.Status status = randomStatus(random);
+                Long supportId = status == Ticket.Status.OPEN || supportIds.length == 0 ? null
+                        : supportIds[random.nextInt(supportIds.length)];
+                long requesterId = userIds[random.nextInt(usersPerCompany)];
+                int messageCount = 1 + (int) exponential(random, Math.max(0, messagesPerTicket - 1));
+                LocalDateTime[] dates = new LocalDateTime[messageCount];
+                LocalDateTime date = now.minusMinutes(random.nextInt(Math.max(1, days) * 24 * 60));
+                for (int m = 0; m < messageCount; m++) {
+                    dates[m] = date;
+                    LocalDateTime next = date.plusMinutes((long) (exponential(random, MESSAGE_GAP_HOURS) * 60) + 1);
+                    date = next.isAfter(now) ? now : next;
+                }
+                String statusLabel = status.getLabel();
+                ticketRows.add(ticketId, Ticket.formatName(code + COMPANY_SUFFIX, t + 1L), statusLabel,
+                        Ticket.Status.effective(statusLabel, supportId != null),
+                        catalog.categories.isEmpty() ? null
+                                : catalog.categories.get(random.nextInt(catalog.categories.size())),
+                        companyId, requesterId, entitlementId,
+                        status == Ticket.Status.CLOSED ? dates[messageCount - 1] : null);
+                if (supportId != null) {
+                    supports.add(ticketId, supportId);
+                }
+                if (tamId != null) {
+                    tamRows.add(ticketId, tamId);
+                }
+                for (int m = 0; m < messageCount; m++) {
+                    long messageId = messageIds.next();
+                    Long authorId = supportId != null && m % 2 == 1 ? supportId : requesterId;
+                    messages.add(messageId, messageBody(ticketId, m), dates[m], ticketId, authorId);
+                    if (random.nextDouble() < attachmentRatio) {
+                        String[] type = ATTACHMENT_TYPES[random.nextInt(ATTACHMENT_TYPES.length)];
+                        byte[] data = attachmentData(random, noise);
+                        attachments.add(attachmentIds.next(), type[0], type[1], data, messageId);
+                        attachmentBytes += data.length;
+                        totals.attachments++;
+                    }
+                }
+                totals.tickets++;
+                totals.messages += messageCount;
+                if (messages.pending >= BATCH_SIZE || attachmentBytes >= MAX_BATCH_BYTES) {
+                    for (Batch batch : ordered) {
+                        batch.flush();
+                    }
+                    attachmentBytes = 0;
+                }
+            }
+            for (Batch batch : ordered) {
+                batch.flush();
+            }
+        }
+    }
+
+    private Ticket.Status randomStatus(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 55) {
+            return Ticket.Status.CLOSED;
+        }
+        if (roll < 65) {
+            return Ticket.Status.RESOLVED;
+        }
+        if (roll < 75) {
+            return Ticket.Status.IN_PROGRESS;
+        }
+        if (roll < 85) {
+            return Ticket.Status.ASSIGNED;
+        }
+        return Ticket.Status.OPEN;
+    }
+
+    private byte[] attachmentData(Random random, byte[] noise) {
+        double size = attachmentMedianKb * 1024.0 * Math.exp(ATTACHMENT_SIGMA * random.nextGaussian());
+        int length = (int) Math.max(64, Math.min(noise.length, size));
+        int offset = random.nextInt(noise.length - length + 1);
+        return Arrays.copyOfRange(noise, offset, offset + length);
+    }
+
+    private static String messageBody(long ticketId, int index) {
+        if (index == 0) {
+            return "Synthetic ticket " + ticketId + " created.\n\nSteps to reproduce:\n\n1. Start the service\n"
+                    + "2. Run the nightly job\n3. Check the log\n\n```\nERROR: connection refused\n```";
+        }
+        return "Follow-up " + index + " on synthetic ticket " + ticketId
+                + ". We applied the suggested **configuration** change and will report back.";
+    }
+
+    static int[] distribute(int total, int buckets) {
+        int[] counts = new int[Math.max(0, buckets)];
+        if (buckets <= 0 || total <= 0) {
+            return counts;
+        }
+        double[] weights = new double[buckets];
+        double sum = 0;
+        for (int i = 0; i < buckets; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, 0.8);
+            sum += weights[i];
+        }
+        int assigned = 0;
+        for (int i = 0; i < buckets; i++) {
+            counts[i] = (int) Math.floor(total * weights[i] / sum);
+            assigned += counts[i];
+        }
+        for (int i = 0; assigned < total; i = (i + 1) % buckets) {
+            counts[i]++;
+            assigned++;
+        }
+        return counts;
+    }
+
+    private static double exponential(Random random, double mean) {
+        return mean <= 0 ? 0 : -Math.log(1.0 - random.nextDouble()) * mean;
+    }
+
+    /**
+     * Takes {@code count} ids from a sequence in one statement. Each is a separate <code>nextval</code>, so the ids are
+     * not always consecutive when other sessions draw from the sequence at the same time, but none of them is handed
+     * out twice. H2, which the tests use, only has <code>nextval</code> in its PostgreSQL mode.
+     */
+    static long[] reserveIds(Connection connection, String sequence, int count) throws SQLException {
+        String sql = "H2".equals(connection.getMetaData().getDatabaseProductName())
+                ? "SELECT NEXT VALUE FOR " + sequence + " FROM SYSTEM_RANGE(1, ?)"
+                : "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)";
+        long[] ids = new long[count];
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, count);
+            try (ResultSet rs = statement.executeQuery()) {
+                for (int i = 0; i < count && rs.next(); i++) {
+                    ids[i] = rs.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static String leftPad(String value, int length) {
+        return value.length() >= length ? value : "0".repeat(length - value.length()) + value;
+    }
+
+    private <T> T jdbc(JdbcWork<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            return work.run(connection);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Synthetic dataset generation failed", ex);
+        }
+    }
+
+    @FunctionalInterface
+    interface JdbcWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Block of ids taken from a sequence, refilled when used up.
+     */
+    static final class IdBlock {
+        private final Connection connection;
+        private final String sequence;
+        private final int size;
+        private long[] ids = new long[0];
+        private int next;
+
+        IdBlock(Connection connection, String sequence, int size) {
+            this.connection = connection;
+            this.sequence = sequence;
+            this.size = Math.max(1, size);
+        }
+
+        long next() throws SQLException {
+            if (next == ids.length) {
+                ids = reserveIds(connection, sequence, size);
+                next = 0;
+            }
+            return ids[next++];
+        }
+    }
+
+    static final class Batch implements AutoCloseable {
+        private final PreparedStatement statement;
+        int pending;
+
+        Batch(Connection connection, String sql) throws SQLException {
+            statement = connection.prepareStatement(sql);
+        }
+
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            pending++;
+        }
+
+        void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+
+    private static final class Catalog {
+        private final List<long[]> entitlements = new ArrayList<>();
+        private final List<Long> categories = new ArrayList<>();
+        private final List<long[]> timezones = new ArrayList<>();
+    }
+
+    private static final class Totals {
+        private long tickets;
+        private long messages;
+        private long attachments;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.hibernate.orm.panache.Panache;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+
+/**
+ * The alarm polled by every open page, answered by a single query keyed by the user id of the login cookie.
+ */
+@ApplicationScoped
+public class TicketAlarm {
+
+    // The open tickets of the user whose latest message is older than the SLA of their support level
+    private static final String ALARM_SQL = """
+            SELECT EXISTS (
+                SELECT 1
+                FROM users u
+                JOIN tickets t ON t.status <> ?2 AND (
+                    (lower(u.user_type) = ?4 AND (
+                        EXISTS (SELECT 1 FROM ticket_supports ts WHERE ts.ticket_id = t.id AND ts.user_id = u.id)
+                        OR NOT EXISTS (SELECT 1 FROM ticket_supports ts WHERE ts.ticket_id = t.id)))
+                    OR (lower(u.user_type) = ?5 AND (
+                        EXISTS (SELECT 1 FROM ticket_tams tt WHERE tt.ticket_id = t.id AND tt.user_id = u.id)
+                        OR EXISTS (SELECT 1 FROM company_users cu WHERE cu.company_id = t.company_id AND cu.user_id = u.id)))
+                    OR (lower(u.user_type) = ?6 AND t.requester_id = u.id))
+                JOIN company_entitlements ce ON ce.id = t.company_entitlement_id
+                JOIN support_levels l ON l.id = ce.support_level_id
+                WHERE u.id = ?1
+                  AND l.level IS NOT NULL
+                  AND trim(l.color) <> ''
+                  AND lower(trim(l.color)) <> 'white'
+                  AND EXISTS (SELECT 1 FROM messages m WHERE m.ticket_id = t.id)
+                  AND (l.level <= 0
+                    OR (SELECT max(m.date) FROM messages m WHERE m.ticket_id = t.id) + INTERVAL '1' MINUTE * l.level <= ?3)
+            )""";
+
+    public boolean hasAlarm(Long userId, LocalDateTime now) {
+        Object alarm = Panache.getEntityManager().createNativeQuery(ALARM_SQL).setParameter(1, userId)
+                .setParameter(2, Ticket.Status.CLOSED.getLabel()).setParameter(3, now)
+                .setParameter(4, User.TYPE_SUPPORT).setParameter(5, User.TYPE_TAM).setParameter(6, User.TYPE_USER)
+                .getSingleResult();
+        return Boolean.TRUE.equals(alarm);
+    }
+}
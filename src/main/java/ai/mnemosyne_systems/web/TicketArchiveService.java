@@ -0,0 +1,173 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.ArchivedAttachment;
+import ai.mnemosyne_systems.model.ArchivedMessage;
+import ai.mnemosyne_systems.model.ArchivedTicket;
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Moves tickets that have been closed for longer than {@code ticket.archive.closed-days} into the archive tables,
+ * together with their messages, attachments and support and TAM assignments, and serves archived tickets back by id and
+ * search.
+ */
+@ApplicationScoped
+public class TicketArchiveService {
+
+    private static final Logger LOGGER = Logger.getLogger(TicketArchiveService.class);
+    private static final int SEARCH_LIMIT = 100;
+
+    private static final String ARCHIVE_TICKETS = "INSERT INTO archived_tickets (id, name, status, company_id, company_name, requester_id, requester_name, category_name, entitlement_name, level_name, external_issue_link, closed_at, archived_at) "
+            + "SELECT t.id, t.name, t.status, t.company_id, c.name, t.requester_id, r.name, cat.name, e.name, l.name, t.external_issue_link, t.closed_at, :archivedAt "
+            + "FROM tickets t JOIN companies c ON c.id = t.company_id LEFT JOIN users r ON r.id = t.requester_id "
+            + "LEFT JOIN categories cat ON cat.id = t.category_id LEFT JOIN company_entitlements ce ON ce.id = t.company_entitlement_id "
+            + "LEFT JOIN entitlements e ON e.id = ce.entitlement_id LEFT JOIN support_levels l ON l.id = ce.support_level_id "
+            + "WHERE t.id IN (:ids)";
+    private static final String ARCHIVE_SUPPORTS = "INSERT INTO archived_ticket_supports (ticket_id, user_name) "
+            + "SELECT ts.ticket_id, u.name FROM ticket_supports ts JOIN users u ON u.id = ts.user_id WHERE ts.ticket_id IN (:ids)";
+    private static final String ARCHIVE_TAMS = "INSERT INTO archived_ticket_tams (ticket_id, user_name) "
+            + "SELECT tt.ticket_id, u.name FROM ticket_tams tt JOIN users u ON u.id = tt.user_id WHERE tt.ticket_id IN (:ids)";
+    private static final String ARCHIVE_MESSAGES = "INSERT INTO archived_messages (id, body, date, ticket_id, author_id, author_name) "
+            + "SELECT m.id, m.body, m.date, m.ticket_id, m.author_id, u.name FROM messages m LEFT JOIN users u ON u.id = m.author_id "
+            + "WHERE m.ticket_id IN (:ids)";
+    private static final String ARCHIVE_ATTACHMENTS = "INSERT INTO archived_attachments (id, name, mimeType, size_bytes, data, message_id) "
+            + "SELECT a.id, a.name, a.mimeType, OCTET_LENGTH(a.data), a.data, a.message_id FROM attachments a "
+            + "JOIN messages m ON m.id = a.message_id WHERE m.ticket_id IN (:ids)";
+    static final List<String> DELETE_HOT_ROWS = List.of(
+            "DELETE FROM attachments WHERE message_id IN (SELECT m.id FROM messages m WHERE m.ticket_id IN (:ids))",
+            "DELETE FROM messages WHERE ticket_id IN (:ids)", "DELETE FROM ticket_supports WHERE ticket_id IN (:ids)",
+            "DELETE FROM ticket_tams WHERE ticket_id IN (:ids)", "DELETE FROM tickets WHERE id IN (:ids)");
+
+    @Inject
+    TicketVersions ticketVersions;
+
+    @ConfigProperty(name = "ticket.archive.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "ticket.archive.closed-days", defaultValue = "90")
+    int closedDays;
+
+    @ConfigProperty(name = "ticket.archive.batch-size", defaultValue = "200")
+    int batchSize;
+
+    @Scheduled(every = "${ticket.archive.every:1h}", delayed = "${ticket.archive.delay:5m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledArchive() {
+        if (enabled) {
+            archiveClosedTickets(LocalDateTime.now().minusDays(closedDays));
+        }
+    }
+
+    public int archiveClosedTickets(LocalDateTime closedBefore) {
+        int total = 0;
+        List<Long> archived;
+        do {
+            archived = QuarkusTransaction.requiringNew().call(() -> archiveBatch(closedBefore));
+            ticketVersions.changed(archived);
+            total += archived.size();
+        } while (archived.size() >= batchSize);
+        if (total > 0) {
+            LOGGER.infof("Archived %d tickets closed before %s", total, closedBefore);
+        }
+        return total;
+    }
+
+    private List<Long> archiveBatch(LocalDateTime closedBefore) {
+        EntityManager entityManager = Ticket.getEntityManager();
+        List<Long> ids = entityManager
+                .createQuery("select t.id from Ticket t where t.status = ?1 and t.closedAt < ?2 order by t.closedAt",
+                        Long.class)
+                .setParameter(1, Ticket.Status.CLOSED.getLabel()).setParameter(2, closedBefore).setMaxResults(batchSize)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        entityManager.createNativeQuery(ARCHIVE_TICKETS).setParameter("archivedAt", LocalDateTime.now())
+                .setParameter("ids", ids).executeUpdate();
+        for (String statement : List.of(ARCHIVE_SUPPORTS, ARCHIVE_TAMS, ARCHIVE_MESSAGES, ARCHIVE_ATTACHMENTS)) {
+            entityManager.createNativeQuery(statement).setParameter("ids", ids).executeUpdate();
+        }
+        for (String statement : DELETE_HOT_ROWS) {
+            entityManager.createNativeQuery(statement).setParameter("ids", ids).executeUpdate();
+        }
+        return ids;
+    }
+
+    public WebApplicationException notFound(Long id, String ticketsBase) {
+        if (id != null && ArchivedTicket.count("id", id) > 0) {
+            return new WebApplicationException(Response.seeOther(URI.create(ticketsBase + "/archive/" + id)).build());
+        }
+        return new NotFoundException();
+    }
+
+    public ArchivedTicket findForUser(User user, Long id) {
+        ArchivedTicket ticket = id == null ? null : ArchivedTicket.findById(id);
+        if (ticket == null || user == null) {
+            return null;
+        }
+        if (AuthHelper.isSupport(user)) {
+            return ticket;
+        }
+        if (user.id != null && user.id.equals(ticket.requesterId)) {
+            return ticket;
+        }
+        if (User.TYPE_TAM.equalsIgnoreCase(user.type)
+                && Company.count("select count(c) from Company c join c.users u where c.id = ?1 and u = ?2",
+                        ticket.companyId, user) > 0) {
+            return ticket;
+        }
+        return null;
+    }
+
+    public List<ArchivedTicket> search(User user, String query) {
+        String pattern = "%" + (query == null ? "" : query.trim().toLowerCase()) + "%";
+        String match = "(lower(t.name) like ?1 or lower(t.companyName) like ?1)";
+        if (AuthHelper.isSupport(user)) {
+            return ArchivedTicket.find("from ArchivedTicket t where " + match + " order by t.closedAt desc", pattern)
+                    .page(0, SEARCH_LIMIT).list();
+        }
+        if (User.TYPE_TAM.equalsIgnoreCase(user.type)) {
+            return ArchivedTicket.find("from ArchivedTicket t where " + match
+                    + " and (t.requesterId = ?2 or t.companyId in (select c.id from Company c join c.users u where u.id = ?2)) order by t.closedAt desc",
+                    pattern, user.id).page(0, SEARCH_LIMIT).list();
+        }
+        return ArchivedTicket
+                .find("from ArchivedTicket t where " + match + " and t.requesterId = ?2 order by t.closedAt desc",
+                        pattern, user.id)
+                .page(0, SEARCH_LIMIT).list();
+    }
+
+    public List<ArchivedMessage> messages(ArchivedTicket ticket) {
+        List<ArchivedMessage> messages = ArchivedMessage.find(
+                "select distinct m from ArchivedMessage m left join fetch m.attachments where m.ticket = ?1 order by m.date desc",
+                ticket).list();
+        return new ArrayList<>(new LinkedHashSet<>(messages));
+    }
+
+    public ArchivedAttachment findAttachment(Long id) {
+        return id == null ? null : ArchivedAttachment.findById(id);
+    }
+}
@@ -9,6 +9,7 @@
 package ai.mnemosyne_systems.web;
 
 import ai.mnemosyne_systems.model.Attachment;
+import ai.mnemosyne_systems.model.FetchGraphs;
 import ai.mnemosyne_systems.model.Message;
 import ai.mnemosyne_systems.model.Ticket;
 import ai.mnemosyne_systems.model.User;
@@ -16,20 +17,36 @@ import io.quarkus.mailer.Mail;
 import io.quarkus.mailer.Mailer;
 import io.quarkus.qute.Location;
 import io.quarkus.qute.Template;
+import io.quarkus.virtual.threads.VirtualThreads;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.hibernate.Hibernate;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 @ApplicationScoped
 public class TicketEmailService {
 
+    private static final Logger LOGGER = Logger.getLogger(TicketEmailService.class);
+
     @Inject
     Mailer mailer;
 
+    @Inject
+    @VirtualThreads
+    ExecutorService virtualThreads;
+
+    @Inject
+    TransactionSynchronizationRegistry transactions;
+
     @Location("mail/ticket-change-subject.txt")
     Template subjectTemplate;
 
@@ -42,6 +59,9 @@ public class TicketEmailService {
     @ConfigProperty(name = "ticket.mailer.from")
     String fromAddress;
 
+    @ConfigProperty(name = "ticket.mailer.virtual-threads", defaultValue = "false")
+    boolean sendOnVirtualThreads;
+
     public void notifyMessageChange(Ticket ticket, Message message, User actor) {
         send(ticket, message, actor, "Message", null);
     }
@@ -59,7 +79,7 @@ public class TicketEmailService {
             return;
         }
         String actorName = actor == null ? "System" : actor.name;
-        String currentStatus = computeEffectiveStatus(ticket, ticket.status);
+        String currentStatus = ticket.effectiveStatus;
         String subject = subjectTemplate.data("ticket", ticket).data("eventType", eventType).render();
         String text = bodyTextTemplate.data("ticket", ticket).data("message", message).data("eventType", eventType)
                 .data("previousStatus", previousStatus).data("currentStatus", currentStatus)
@@ -80,10 +100,48 @@ public class TicketEmailService {
                 }
             }
         }
-        mailer.send(mail);
+        dispatch(mail);
+    }
+
+    private void dispatch(Mail mail) {
+        if (!sendOnVirtualThreads) {
+            mailer.send(mail);
+            return;
+        }
+        if (transactions.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            submit(mail);
+            return;
+        }
+        // SMTP runs off the worker thread, and only once the change it reports is committed
+        transactions.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    submit(mail);
+                }
+            }
+        });
+    }
+
+    private void submit(Mail mail) {
+        virtualThreads.execute(() -> {
+            try {
+                mailer.send(mail);
+            } catch (RuntimeException e) {
+                LOGGER.warnf(e, "Unable to send ticket notification '%s'", mail.getSubject());
+            }
+        });
     }
 
     private List<String> recipients(Ticket ticket) {
+        if (!Hibernate.isInitialized(ticket.tamUsers) || !Hibernate.isInitialized(ticket.supportUsers)) {
+            // Loads both recipient collections with one query instead of one per collection
+            FetchGraphs.apply(Ticket.find("id", ticket.id), Ticket.GRAPH_NOTIFICATION).list();
+        }
         Set<String> emails = new LinkedHashSet<>();
         addEmail(emails, ticket.requester);
         if (ticket.tamUsers != null) {
@@ -112,13 +170,4 @@ public class TicketEmailService {
         }
         return value.trim();
     }
-
-    public String computeEffectiveStatus(Ticket ticket, String status) {
-        String normalized = status == null || status.isBlank() ? "Open" : status.trim();
-        if ("Open".equalsIgnoreCase(normalized) && ticket != null && ticket.supportUsers != null
-                && !ticket.supportUsers.isEmpty()) {
-            return "Assigned";
-        }
-        return normalized;
-    }
 }
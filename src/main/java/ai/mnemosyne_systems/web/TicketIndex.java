@@ -0,0 +1,310 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * The tickets of a dashboard as primitive columns, one row per ticket in ascending id order. The SLA order of the rows
+ * is computed once when the index is built, so a list is a pass over row numbers rather than a sort of tickets through
+ * boxed id lookups. The maps the templates read are views over the columns.
+ */
+final class TicketIndex {
+
+    private static final long NO_ACTIVITY = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long[] ids;
+    private final byte[] slaRanks;
+    /** The latest message date in nanoseconds of the epoch. */
+    private final long[] lastActivity;
+    private final long[] assignees;
+    private final Ticket[] tickets;
+    private final String[] slaColors;
+    private final String[] activityLabels;
+    private final String[] assigneeNames;
+    private final String[] assigneeEmails;
+    /** The rows in SLA order. */
+    private final int[] order;
+    /** The place of each row in {@link #order}. */
+    private final int[] places;
+
+    /**
+     * @param tickets
+     *            the tickets in ascending id order, as shown in the lists
+     * @param assignees
+     *            the latest support user of each ticket that has one
+     */
+    TicketIndex(List<Ticket> tickets, Map<Long, String> slaColors, Map<Long, LocalDateTime> messageDates,
+            Map<Long, User> assignees) {
+        int size = tickets.size();
+        this.ids = new long[size];
+        this.slaRanks = new byte[size];
+        this.lastActivity = new long[size];
+        this.assignees = new long[size];
+        this.tickets = tickets.toArray(new Ticket[size]);
+        this.slaColors = new String[size];
+        this.activityLabels = new String[size];
+        this.assigneeNames = new String[size];
+        this.assigneeEmails = new String[size];
+        for (int row = 0; row < size; row++) {
+            Long id = this.tickets[row].id;
+            ids[row] = id;
+            if (row > 0 && ids[row - 1] >= id) {
+                throw new IllegalArgumentException("Tickets are not in ascending id order");
+            }
+            this.slaColors[row] = slaColors.get(id);
+            slaRanks[row] = (byte) SupportResource.slaColorRank(this.slaColors[row]);
+            LocalDateTime date = messageDates.get(id);
+            lastActivity[row] = date == null ? NO_ACTIVITY
+                    : date.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + date.getNano();
+            activityLabels[row] = date == null ? "-" : SupportResource.formatDate(date);
+            User assignee = assignees.get(id);
+            if (assignee != null) {
+                this.assignees[row] = assignee.id;
+                assigneeNames[row] = assignee.name;
+                assigneeEmails[row] = assignee.email;
+            }
+        }
+        this.order = new int[size];
+        for (int row = 0; row < size; row++) {
+            order[row] = row;
+        }
+        sort(order, new int[size], 0, size);
+        this.places = new int[size];
+        for (int place = 0; place < size; place++) {
+            places[order[place]] = place;
+        }
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * The row of a ticket id, or -1 when the ticket is not in the index.
+     */
+    int row(long id) {
+        int row = Arrays.binarySearch(ids, id);
+        return row < 0 ? -1 : row;
+    }
+
+    /**
+     * The tickets without a support user, in SLA order.
+     */
+    List<Ticket> unassigned() {
+        List<Ticket> result = new ArrayList<>();
+        for (int place = 0; place < order.length; place++) {
+            int row = order[place];
+            if (assignees[row] == 0) {
+                result.add(tickets[row]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The places in SLA order of the given tickets, ascending, leaving out tickets that are not in the index.
+     */
+    int[] places(Collection<Long> ticketIds) {
+        int[] result = new int[ticketIds.size()];
+        int count = 0;
+        for (Long id : ticketIds) {
+            int row = row(id);
+            if (row >= 0) {
+                result[count++] = places[row];
+            }
+        }
+        result = count == result.length ? result : Arrays.copyOf(result, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * The tickets at the given places, which keeps the SLA order of ascending places.
+     */
+    List<Ticket> tickets(int[] places) {
+        List<Ticket> result = new ArrayList<>(places.length);
+        for (int place : places) {
+            result.add(tickets[order[place]]);
+        }
+        return result;
+    }
+
+    Map<Long, String> slaColors() {
+        return new Column<>(row -> slaColors[row]);
+    }
+
+    Map<Long, String> activityLabels() {
+        return new Column<>(row -> activityLabels[row]);
+    }
+
+    Map<Long, LocalDateTime> lastActivity() {
+        return new Column<>(row -> lastActivity[row] == NO_ACTIVITY ? null
+                : LocalDateTime.ofEpochSecond(Math.floorDiv(lastActivity[row], NANOS_PER_SECOND),
+                        (int) Math.floorMod(lastActivity[row], NANOS_PER_SECOND), ZoneOffset.UTC));
+    }
+
+    Map<Long, Long> assigneeIds() {
+        return new Column<>(row -> assignees[row] == 0 ? null : assignees[row]);
+    }
+
+    Map<Long, String> assigneeNames() {
+        return new Column<>(row -> assignees[row] == 0 ? null : assigneeNames[row]);
+    }
+
+    Map<Long, String> assigneeEmails() {
+        return new Column<>(row -> assignees[row] == 0 ? null : assigneeEmails[row]);
+    }
+
+    // The order of SupportResource.sortBySla: SLA colour, then latest activity first with tickets without activity
+    // last, then ticket id
+    private int compare(int left, int right) {
+        if (slaRanks[left] != slaRanks[right]) {
+            return Byte.compare(slaRanks[left], slaRanks[right]);
+        }
+        if (lastActivity[left] != lastActivity[right]) {
+            if (lastActivity[left] == NO_ACTIVITY) {
+                return 1;
+            }
+            if (lastActivity[right] == NO_ACTIVITY) {
+                return -1;
+            }
+            return Long.compare(lastActivity[right], lastActivity[left]);
+        }
+        return Long.compare(ids[left], ids[right]);
+    }
+
+    // A merge sort of row numbers, as Arrays.sort has no primitive comparator
+    private void sort(int[] rows, int[] buffer, int from, int to) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                int row = rows[i];
+                int j = i - 1;
+                while (j >= from && compare(rows[j], row) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = row;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        sort(rows, buffer, from, middle);
+        sort(rows, buffer, middle, to);
+        if (compare(rows[middle - 1], rows[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && compare(buffer[left], buffer[right]) <= 0)) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * A read-only map view of a column, keyed by ticket id. Rows without a value are absent. The entries are read from
+     * the column as they are iterated.
+     */
+    private final class Column<V> extends AbstractMap<Long, V> {
+
+        private final IntFunction<V> values;
+
+        private Column(IntFunction<V> values) {
+            this.values = values;
+        }
+
+        @Override
+        public V get(Object key) {
+            if (!(key instanceof Long)) {
+                return null;
+            }
+            int row = row((Long) key);
+            return row < 0 ? null : values.apply(row);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Map.Entry<Long, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<Long, V>> iterator() {
+                    return new Entries();
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (int row = 0; row < ids.length; row++) {
+                        if (values.apply(row) != null) {
+                            size++;
+                        }
+                    }
+                    return size;
+                }
+            };
+        }
+
+        private final class Entries implements Iterator<Map.Entry<Long, V>> {
+
+            private int row = -1;
+            private V value;
+
+            private Entries() {
+                advance();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return row < ids.length;
+            }
+
+            @Override
+            public Map.Entry<Long, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<Long, V> entry = new AbstractMap.SimpleImmutableEntry<>(ids[row], value);
+                advance();
+                return entry;
+            }
+
+            // Moves to the next row with a value
+            private void advance() {
+                do {
+                    row++;
+                    value = row < ids.length ? values.apply(row) : null;
+                } while (row < ids.length && value == null);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.hibernate.orm.panache.Panache;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-ticket lookups for the ticket lists, run as one query per chunk of tickets instead of one per ticket.
+ */
+final class TicketQueries {
+
+    private static final int IN_CHUNK = 1000;
+
+    private TicketQueries() {
+    }
+
+    static Map<Long, LocalDateTime> latestMessageDates(Collection<Ticket> tickets) {
+        Map<Long, LocalDateTime> result = new HashMap<>();
+        for (List<Long> ids : chunks(tickets)) {
+            List<Object[]> rows = Panache.getEntityManager()
+                    .createQuery("select m.ticket.id, max(m.date) from Message m where m.ticket.id in :ids"
+                            + " group by m.ticket.id", Object[].class)
+                    .setParameter("ids", ids).getResultList();
+            for (Object[] row : rows) {
+                result.put((Long) row[0], (LocalDateTime) row[1]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The support user with the highest id of each ticket, keyed by ticket id. The assignments are not ordered, so this
+     * is the newest user rather than the latest assignment. Tickets without support are absent.
+     */
+    static Map<Long, User> latestSupportUsers(Collection<Ticket> tickets) {
+        Map<Long, User> result = new HashMap<>();
+        for (List<Long> ids : chunks(tickets)) {
+            List<Object[]> rows = Panache.getEntityManager().createQuery(
+                    "select t.id, u from Ticket t join t.supportUsers u where t.id in :ids" + " order by u.id desc",
+                    Object[].class).setParameter("ids", ids).getResultList();
+            for (Object[] row : rows) {
+                result.putIfAbsent((Long) row[0], (User) row[1]);
+            }
+        }
+        return result;
+    }
+
+    private static List<List<Long>> chunks(Collection<Ticket> tickets) {
+        List<List<Long>> chunks = new ArrayList<>();
+        List<Long> current = new ArrayList<>();
+        if (tickets != null) {
+            for (Ticket ticket : tickets) {
+                if (ticket == null || ticket.id == null) {
+                    continue;
+                }
+                current.add(ticket.id);
+                if (current.size() == IN_CHUNK) {
+                    chunks.add(current);
+                    current = new ArrayList<>();
+                }
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+}
@@ -11,8 +11,11 @@ package ai.mnemosyne_systems.web;
 import ai.mnemosyne_systems.model.Category;
 import ai.mnemosyne_systems.model.Company;
 import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.FetchGraphs;
 import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.MessageRow;
 import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.TicketRow;
 import ai.mnemosyne_systems.model.User;
 import io.quarkus.qute.Location;
 import io.quarkus.qute.Template;
@@ -34,16 +37,12 @@ import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.net.URI;
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
 
 @Path("/tickets")
 @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
@@ -69,24 +68,26 @@ public class TicketResource {
     @Inject
     TicketEmailService ticketEmailService;
 
+    @Inject
+    TicketAlarm ticketAlarm;
+
+    @Inject
+    BulkDeleteService bulkDelete;
+
     @GET
     public TemplateInstance list(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
         User user = requireSupport(auth);
-        List<Ticket> tickets = Ticket.listAll();
-        List<Message> messages = Message.list("order by date desc");
-        Map<Long, List<Message>> ticketMessages = new LinkedHashMap<>();
+        List<TicketRow> tickets = TicketRow.listAll();
+        Map<Long, List<MessageRow>> ticketMessages = new LinkedHashMap<>();
         Map<Long, String> messageLabels = new LinkedHashMap<>();
-        for (Message message : messages) {
-            if (message.ticket == null) {
-                continue;
-            }
-            ticketMessages.computeIfAbsent(message.ticket.id, ignored -> new java.util.ArrayList<>()).add(message);
-            if (message.date != null) {
-                messageLabels.put(message.id, formatDate(message.date));
+        for (MessageRow message : MessageRow.listAll()) {
+            ticketMessages.computeIfAbsent(message.ticketId(), ignored -> new java.util.ArrayList<>()).add(message);
+            if (message.date() != null) {
+                messageLabels.put(message.id(), formatDate(message.date()));
             }
         }
-        for (Ticket ticket : tickets) {
-            ticketMessages.computeIfAbsent(ticket.id, ignored -> java.util.List.of());
+        for (TicketRow ticket : tickets) {
+            ticketMessages.computeIfAbsent(ticket.id(), ignored -> java.util.List.of());
         }
         return listTemplate.data("tickets", tickets).data("ticketMessages", ticketMessages)
                 .data("messageLabels", messageLabels).data("currentUser", user);
@@ -98,9 +99,8 @@ public class TicketResource {
         User user = requireSupport(auth);
         List<Category> categories = Category.listAll();
         Category defaultCategory = Category.findDefault();
-        return formTemplate.data("ticket", new Ticket()).data("companies", Company.listAll())
-                .data("companyEntitlements", java.util.List.of()).data("selectedCompanyEntitlementId", null)
-                .data("categories", categories)
+        return formTemplate.data("ticket", new Ticket()).data("companyEntitlements", java.util.List.of())
+                .data("selectedCompanyEntitlementId", null).data("categories", categories)
                 .data("defaultCategoryId", defaultCategory == null ? null : defaultCategory.id)
                 .data("action", "/tickets").data("title", "New Ticket").data("currentUser", user);
     }
@@ -123,7 +123,7 @@ public class TicketResource {
             }
         }
         List<Category> categories = Category.listAll();
-        return formTemplate.data("ticket", ticket).data("companies", Company.listAll())
+        return formTemplate.data("ticket", ticket)
                 .data("companyEntitlements", ticket.company == null ? java.util.List.of() : CompanyEntitlement.find(
                         "select distinct ce from CompanyEntitlement ce join fetch ce.entitlement join fetch ce.supportLevel where ce.company = ?1",
                         ticket.company).list())
@@ -137,6 +137,7 @@ public class TicketResource {
 
     @GET
     @Path("/{id}")
+    @ConditionalGet(ticket = "id")
     public Object viewTicket(@CookieParam(AuthHelper.AUTH_COOKIE) String auth, @PathParam("id") Long id) {
         User user = AuthHelper.findUser(auth);
         if (AuthHelper.isSupport(user)) {
@@ -151,9 +152,13 @@ public class TicketResource {
     @GET
     @Path("/alarm/status")
     @Produces(MediaType.TEXT_PLAIN)
+    @QueryBudget(1)
     public Response alarmStatus(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
-        User user = AuthHelper.findUser(auth);
-        boolean alarm = hasAlarm(user);
+        Long userId = AuthHelper.userId(auth);
+        return alarmResponse(userId != null && ticketAlarm.hasAlarm(userId, LocalDateTime.now()));
+    }
+
+    private Response alarmResponse(boolean alarm) {
         return Response.ok(Boolean.toString(alarm)).build();
     }
 
@@ -166,6 +171,10 @@ public class TicketResource {
         if (status == null || status.isBlank()) {
             throw new BadRequestException("Status is required");
         }
+        Ticket.Status requestedStatus = Ticket.Status.fromLabel(status);
+        if (requestedStatus == null) {
+            throw new BadRequestException("Status is invalid");
+        }
         if (companyId == null) {
             throw new BadRequestException("Company is required");
         }
@@ -184,7 +193,7 @@ public class TicketResource {
         Category category = categoryId != null ? Category.findById(categoryId) : Category.findDefault();
         Ticket ticket = new Ticket();
         ticket.name = Ticket.nextName(company);
-        ticket.status = status;
+        ticket.status = requestedStatus.getLabel();
         ticket.company = company;
         ticket.requester = user;
         ticket.companyEntitlement = entitlement;
@@ -201,13 +210,17 @@ public class TicketResource {
             @FormParam("companyEntitlementId") Long companyEntitlementId, @FormParam("categoryId") Long categoryId,
             @FormParam("externalIssueLink") String externalIssueLink) {
         User user = requireSupport(auth);
-        Ticket ticket = Ticket.findById(id);
+        Ticket ticket = FetchGraphs.findById(Ticket.class, id, Ticket.GRAPH_DETAIL);
         if (ticket == null) {
             throw new NotFoundException();
         }
         if (status == null || status.isBlank()) {
             throw new BadRequestException("Status is required");
         }
+        Ticket.Status requestedStatus = Ticket.Status.fromLabel(status);
+        if (requestedStatus == null) {
+            throw new BadRequestException("Status is invalid");
+        }
         if (companyId == null) {
             throw new BadRequestException("Company is required");
         }
@@ -223,15 +236,16 @@ public class TicketResource {
         if (entitlement == null) {
             throw new BadRequestException("Entitlement is required");
         }
-        String previousStatus = ticketEmailService.computeEffectiveStatus(ticket, ticket.status);
-        ticket.status = status;
+        String previousStatus = ticket.effectiveStatus;
+        ticket.status = requestedStatus.getLabel();
         ticket.company = company;
         ticket.requester = user;
         ticket.companyEntitlement = entitlement;
         ticket.category = categoryId != null ? Category.findById(categoryId) : null;
         ticket.externalIssueLink = externalIssueLink != null && !externalIssueLink.isBlank() ? externalIssueLink.trim()
                 : null;
-        if (!sameStatus(previousStatus, ticket.status)) {
+        ticket.refreshEffectiveStatus();
+        if (!sameStatus(previousStatus, ticket.effectiveStatus)) {
             ticketEmailService.notifyStatusChange(ticket, previousStatus, user);
         }
         return Response.seeOther(URI.create("/tickets")).build();
@@ -239,14 +253,14 @@ public class TicketResource {
 
     @POST
     @Path("/{id}/delete")
-    @Transactional
+    @QueryBudget(15)
     public Response delete(@CookieParam(AuthHelper.AUTH_COOKIE) String auth, @PathParam("id") Long id) {
         requireSupport(auth);
         Ticket ticket = Ticket.findById(id);
         if (ticket == null) {
             throw new NotFoundException();
         }
-        ticket.delete();
+        bulkDelete.deleteTicket(ticket);
         return Response.seeOther(URI.create("/tickets")).build();
     }
 
@@ -267,9 +281,8 @@ public class TicketResource {
         ticket.name = Ticket.previewNextName(company);
         java.util.List<Category> categories = Category.listAll();
         Category defaultCategory = Category.findDefault();
-        return formTemplate.data("ticket", ticket).data("companies", Company.listAll())
-                .data("companyEntitlements", entitlements).data("selectedCompanyEntitlementId", null)
-                .data("categories", categories)
+        return formTemplate.data("ticket", ticket).data("companyEntitlements", entitlements)
+                .data("selectedCompanyEntitlementId", null).data("categories", categories)
                 .data("defaultCategoryId", defaultCategory == null ? null : defaultCategory.id)
                 .data("action", "/tickets").data("title", "New Ticket").data("currentUser", user);
     }
@@ -282,102 +295,6 @@ public class TicketResource {
         return user;
     }
 
-    private boolean hasAlarm(User user) {
-        if (user == null) {
-            return false;
-        }
-        List<Ticket> tickets = ticketsForAlarm(user);
-        if (tickets.isEmpty()) {
-            return false;
-        }
-        Map<Long, LocalDateTime> latestMessageDates = latestMessageDates(tickets);
-        LocalDateTime now = LocalDateTime.now();
-        for (Ticket ticket : tickets) {
-            if (ticket == null || ticket.id == null || ticket.companyEntitlement == null
-                    || ticket.companyEntitlement.supportLevel == null) {
-                continue;
-            }
-            LocalDateTime created = latestMessageDates.get(ticket.id);
-            if (created == null) {
-                continue;
-            }
-            long minutes = Duration.between(created, now).toMinutes();
-            if (minutes < 0) {
-                minutes = 0;
-            }
-            Integer levelValue = ticket.companyEntitlement.supportLevel.level;
-            String color = ticket.companyEntitlement.supportLevel.color;
-            if (levelValue == null || color == null || color.isBlank()) {
-                continue;
-            }
-            if (minutes >= levelValue.longValue() && !"white".equalsIgnoreCase(color.trim())) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private List<Ticket> ticketsForAlarm(User user) {
-        if (AuthHelper.isSupport(user)) {
-            List<Ticket> assigned = Ticket.find(
-                    "select distinct t from Ticket t join t.supportUsers u where u = ?1 and (t.status is null or lower(t.status) <> 'closed')",
-                    user).list();
-            List<Ticket> open = Ticket.find(
-                    "select distinct t from Ticket t where t.supportUsers is empty and (t.status is null or lower(t.status) <> 'closed')")
-                    .list();
-            return combineTickets(assigned, open);
-        }
-        if (User.TYPE_TAM.equalsIgnoreCase(user.type)) {
-            return Ticket.find(
-                    "select distinct t from Ticket t left join t.tamUsers tu left join t.company c left join c.users cu where (tu = ?1 or cu = ?1) and (t.status is null or lower(t.status) <> 'closed')",
-                    user).list();
-        }
-        if (User.TYPE_USER.equalsIgnoreCase(user.type)) {
-            return Ticket.find("requester = ?1 and (status is null or lower(status) <> 'closed')", user).list();
-        }
-        return List.of();
-    }
-
-    private List<Ticket> combineTickets(List<Ticket> first, List<Ticket> second) {
-        List<Ticket> combined = new ArrayList<>();
-        Set<Long> seen = new HashSet<>();
-        for (Ticket ticket : first) {
-            if (ticket != null && ticket.id != null && seen.add(ticket.id)) {
-                combined.add(ticket);
-            }
-        }
-        for (Ticket ticket : second) {
-            if (ticket != null && ticket.id != null && seen.add(ticket.id)) {
-                combined.add(ticket);
-            }
-        }
-        return combined;
-    }
-
-    private Map<Long, LocalDateTime> latestMessageDates(List<Ticket> tickets) {
-        Set<Long> ticketIds = new HashSet<>();
-        for (Ticket ticket : tickets) {
-            if (ticket != null && ticket.id != null) {
-                ticketIds.add(ticket.id);
-            }
-        }
-        Map<Long, LocalDateTime> result = new LinkedHashMap<>();
-        if (ticketIds.isEmpty()) {
-            return result;
-        }
-        List<Message> messages = Message.find("order by date desc").list();
-        for (Message message : messages) {
-            if (message.ticket == null || message.ticket.id == null || !ticketIds.contains(message.ticket.id)) {
-                continue;
-            }
-            result.putIfAbsent(message.ticket.id, message.date);
-            if (result.size() == ticketIds.size()) {
-                break;
-            }
-        }
-        return result;
-    }
-
     private String formatDate(LocalDateTime date) {
         String formatted = DATE_FORMATTER.format(date);
         return formatted.replace("AM", "am").replace("PM", "pm");
@@ -0,0 +1,130 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versions of the tickets, used as the version stamps of the {@link ConditionalGet} pages. The version of a ticket
+ * moves when the ticket, its messages, their attachments or its support and TAM assignments are written, and
+ * {@link #current()} moves with the version of any ticket, for the pages that list tickets. Writes to other data leave
+ * them alone, except that changes to the companies, categories, entitlements, levels and users shown next to the
+ * tickets move {@link #labels()}.
+ * <p>
+ * The writes made through Hibernate are reported by {@link EntityLoadInterceptor} and counted once their transaction
+ * has completed, so a page rendered before the commit never carries a version that is still current afterwards. The
+ * versions are kept in memory, in line with the login cookies, which are only valid on the instance that issued them.
+ */
+@ApplicationScoped
+public class TicketVersions {
+
+    private final String instance = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong version = new AtomicLong();
+    private final Map<Long, Long> tickets = new ConcurrentHashMap<>();
+    private final AtomicLong labels = new AtomicLong();
+    private final ThreadLocal<Pending> pending = new ThreadLocal<>();
+
+    /**
+     * Moves whenever a ticket is created, changed or removed.
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * The version of one ticket, the value of {@link #current()} when it last changed on this instance.
+     */
+    public long of(Long ticketId) {
+        return ticketId == null ? 0 : tickets.getOrDefault(ticketId, 0L);
+    }
+
+    /**
+     * Moves whenever a company, category, entitlement, level or user is changed or removed.
+     */
+    public long labels() {
+        return labels.get();
+    }
+
+    /**
+     * Distinguishes the versions of this run from those handed out before a restart.
+     */
+    public String instance() {
+        return instance;
+    }
+
+    /**
+     * Counts a write to tickets made outside Hibernate, once it has been committed.
+     */
+    public void changed(Collection<Long> ticketIds) {
+        long next = version.incrementAndGet();
+        for (Long ticketId : ticketIds) {
+            tickets.put(ticketId, next);
+        }
+    }
+
+    /**
+     * Counts the creation of tickets made outside Hibernate, once it has been committed.
+     */
+    public void changed() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Notes a write to the ticket in the transaction of the current thread, or to an unknown ticket without an id.
+     */
+    void written(Long ticketId) {
+        Pending current = pending();
+        current.tickets = true;
+        if (ticketId != null) {
+            current.ticketIds.add(ticketId);
+        }
+    }
+
+    /**
+     * Notes a write to the data shown next to the tickets in the transaction of the current thread.
+     */
+    void labelWritten() {
+        pending().labels = true;
+    }
+
+    void transactionCompleted() {
+        Pending current = pending.get();
+        if (current != null) {
+            pending.remove();
+            if (current.labels) {
+                labels.incrementAndGet();
+            }
+            if (current.tickets) {
+                changed(current.ticketIds);
+            }
+        }
+    }
+
+    private Pending pending() {
+        Pending current = pending.get();
+        if (current == null) {
+            current = new Pending();
+            pending.set(current);
+        }
+        return current;
+    }
+
+    private static final class Pending {
+        private final Set<Long> ticketIds = new HashSet<>();
+        private boolean tickets;
+        private boolean labels;
+    }
+}
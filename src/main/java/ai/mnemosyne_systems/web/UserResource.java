@@ -8,12 +8,16 @@
 
 package ai.mnemosyne_systems.web;
 
+import ai.mnemosyne_systems.model.ArchivedMessage;
+import ai.mnemosyne_systems.model.ArchivedTicket;
 import ai.mnemosyne_systems.model.Category;
 import ai.mnemosyne_systems.model.Company;
 import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.FetchGraphs;
 import ai.mnemosyne_systems.model.Message;
 import ai.mnemosyne_systems.model.Ticket;
 import ai.mnemosyne_systems.model.User;
+import ai.mnemosyne_systems.model.UserRow;
 import ai.mnemosyne_systems.model.Country;
 import ai.mnemosyne_systems.model.Timezone;
 import io.quarkus.elytron.security.common.BcryptUtil;
@@ -94,11 +98,24 @@ public class UserResource {
     @Location("support/user-profile-view.html")
     Template userProfileViewTemplate;
 
+    @Location("tickets/archive.html")
+    Template archiveTemplate;
+
+    @Location("tickets/archived-detail.html")
+    Template archivedDetailTemplate;
+
     @Inject
     TicketEmailService ticketEmailService;
 
+    @Inject
+    TicketArchiveService ticketArchiveService;
+
+    @Inject
+    BulkDeleteService bulkDelete;
+
     @GET
     @Path("user")
+    @ConditionalGet
     public TemplateInstance home(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
         User user = requireUser(auth);
         return userTickets(user);
@@ -144,8 +161,8 @@ public class UserResource {
         if (!allowed) {
             throw new NotFoundException();
         }
-        java.util.List<User> users = selectedCompany == null ? java.util.List.of() : Company
-                .find("select u from Company c join c.users u where c = ?1 order by u.name", selectedCompany).list();
+        java.util.List<UserRow> users = selectedCompany == null ? java.util.List.of()
+                : UserRow.listForCompany(selectedCompany);
         String createUserUrl = selectedCompany == null ? "/tam/users" : "/tam/users/" + selectedCompany.id + "/create";
         return Response
                 .ok(supportUsersTemplate.data("users", users).data("companies", companies)
@@ -252,6 +269,7 @@ public class UserResource {
 
     @GET
     @Path("user/tickets")
+    @ConditionalGet
     public TemplateInstance tickets(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
         User user = requireUser(auth);
         return userTickets(user);
@@ -281,7 +299,7 @@ public class UserResource {
         }
         java.util.Set<Long> expiredEntitlementIds = new java.util.LinkedHashSet<>();
         for (CompanyEntitlement entitlement : uniqueEntitlements) {
-            if (isEntitlementExpired(entitlement) && entitlement.id != null) {
+            if (entitlement.expired && entitlement.id != null) {
                 expiredEntitlementIds.add(entitlement.id);
             }
         }
@@ -310,7 +328,7 @@ public class UserResource {
         if (status == null || status.isBlank()) {
             throw new BadRequestException("Status is required");
         }
-        if (!"Open".equalsIgnoreCase(status)) {
+        if (Ticket.Status.fromLabel(status) != Ticket.Status.OPEN) {
             throw new BadRequestException("Status must be Open");
         }
         if (messageBody == null || messageBody.isBlank()) {
@@ -328,12 +346,12 @@ public class UserResource {
         if (!allowed) {
             throw new BadRequestException("Entitlement is required");
         }
-        if (isEntitlementExpired(entitlement)) {
+        if (entitlement.expired) {
             throw new BadRequestException("Entitlement is expired");
         }
         Ticket ticket = new Ticket();
         ticket.name = Ticket.nextName(entitlement.company);
-        ticket.status = "Open";
+        ticket.status = Ticket.Status.OPEN.getLabel();
         ticket.company = entitlement.company;
         ticket.requester = user;
         ticket.companyEntitlement = entitlement;
@@ -403,6 +421,7 @@ public class UserResource {
 
     @GET
     @Path("user/tickets/open")
+    @ConditionalGet
     public Response tamOpenTickets(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
         User user = requireUser(auth);
         SupportTicketData data = buildTicketDataForUser(user);
@@ -420,6 +439,7 @@ public class UserResource {
 
     @GET
     @Path("user/tickets/closed")
+    @ConditionalGet
     public Response tamClosedTickets(@CookieParam(AuthHelper.AUTH_COOKIE) String auth) {
         User user = requireUser(auth);
         SupportTicketData data = buildTicketDataForUser(user);
@@ -435,8 +455,53 @@ public class UserResource {
                 .data("currentUser", user)).build();
     }
 
+    @GET
+    @Path("user/tickets/archive")
+    public TemplateInstance listArchivedTickets(@CookieParam(AuthHelper.AUTH_COOKIE) String auth,
+            @QueryParam("q") String query) {
+        User user = requireUser(auth);
+        SupportTicketData data = buildTicketDataForUser(user);
+        List<ArchivedTicket> tickets = ticketArchiveService.search(user, query);
+        Map<Long, String> closedLabels = new java.util.LinkedHashMap<>();
+        for (ArchivedTicket ticket : tickets) {
+            closedLabels.put(ticket.id, ticket.closedAt == null ? "-" : formatDate(ticket.closedAt));
+        }
+        return archiveTemplate.data("tickets", tickets).data("closedLabels", closedLabels)
+                .data("query", query == null ? "" : query).data("assignedCount", data.assignedTickets.size())
+                .data("openCount", data.openTickets.size()).data("ticketsBase", "/user/tickets")
+                .data("showSupportUsers", User.TYPE_TAM.equalsIgnoreCase(user.type))
+                .data("usersBase", User.TYPE_TAM.equalsIgnoreCase(user.type) ? "/tam/users" : "/user/users")
+                .data("currentUser", user);
+    }
+
+    @GET
+    @Path("user/tickets/archive/{id}")
+    public TemplateInstance viewArchivedTicket(@CookieParam(AuthHelper.AUTH_COOKIE) String auth,
+            @PathParam("id") Long id) {
+        User user = requireUser(auth);
+        ArchivedTicket ticket = ticketArchiveService.findForUser(user, id);
+        if (ticket == null) {
+            throw new NotFoundException();
+        }
+        SupportTicketData data = buildTicketDataForUser(user);
+        List<ArchivedMessage> messages = ticketArchiveService.messages(ticket);
+        Map<Long, String> messageLabels = new java.util.LinkedHashMap<>();
+        for (ArchivedMessage message : messages) {
+            messageLabels.put(message.id, formatDate(message.date));
+        }
+        return archivedDetailTemplate.data("ticket", ticket).data("messages", messages)
+                .data("messageLabels", messageLabels)
+                .data("closedLabel", ticket.closedAt == null ? "-" : formatDate(ticket.closedAt))
+                .data("assignedCount", data.assignedTickets.size()).data("openCount", data.openTickets.size())
+                .data("ticketsBase", "/user/tickets")
+                .data("showSupportUsers", User.TYPE_TAM.equalsIgnoreCase(user.type))
+                .data("usersBase", User.TYPE_TAM.equalsIgnoreCase(user.type) ? "/tam/users" : "/user/users")
+                .data("currentUser", user);
+    }
+
     @GET
     @Path("user/tickets/{id}")
+    @ConditionalGet(ticket = "id")
     public TemplateInstance ticketDetail(@CookieParam(AuthHelper.AUTH_COOKIE) String auth, @PathParam("id") Long id) {
         User user = requireUser(auth);
         return renderUserTicketDetail(user, id);
@@ -445,7 +510,7 @@ public class UserResource {
     private TemplateInstance renderUserTicketDetail(User user, Long id) {
         Ticket ticket = findTicketForUser(user, id);
         if (ticket == null) {
-            throw new NotFoundException();
+            throw ticketArchiveService.notFound(id, "/user/tickets");
         }
         java.util.List<ai.mnemosyne_systems.model.Message> messages = loadMessages(ticket);
         java.util.Map<Long, String> messageLabels = new java.util.LinkedHashMap<>();
@@ -469,13 +534,7 @@ public class UserResource {
         SupportTicketData data = buildTicketDataForUser(user);
         java.util.List<User> supportUsers = User
                 .find("select u from Ticket t join t.supportUsers u where t = ?1 order by u.email", ticket).list();
-        String displayStatus = ticket.status;
-        if (displayStatus == null || displayStatus.isBlank()) {
-            displayStatus = "Open";
-        }
-        if ("Open".equalsIgnoreCase(displayStatus) && !supportUsers.isEmpty()) {
-            displayStatus = "Assigned";
-        }
+        String displayStatus = ticket.effectiveStatus;
         java.util.List<User> tamUsers = ticket.company == null ? new java.util.ArrayList<>() : User.find(
                 "select distinct u from Company c join c.users u where c = ?1 and lower(u.type) = ?2 order by u.email",
                 ticket.company, User.TYPE_TAM).list();
@@ -502,7 +561,7 @@ public class UserResource {
                 .data("messageLabels", messageLabels).data("messageAuthorNames", messageAuthorNames)
                 .data("messageAuthorLinks", messageAuthorLinks).data("action", "/user/tickets/" + id)
                 .data("editableStatus", false).data("supportUserBase", "/user/support-users")
-                .data("ticketEntitlementExpired", isEntitlementExpired(ticket)).data("tamUserBase", "/user/tam-users")
+                .data("ticketEntitlementExpired", ticket.isEntitlementExpired()).data("tamUserBase", "/user/tam-users")
                 .data("showLevel", showLevel).data("levelName", levelName)
                 .data("messageAction", "/user/tickets/" + id + "/messages")
                 .data("assignedCount", data.assignedTickets.size()).data("openCount", data.openTickets.size())
@@ -569,14 +628,14 @@ public class UserResource {
         if (ticket == null) {
             throw new NotFoundException();
         }
-        String normalized = status == null ? "" : status.trim();
-        if (!(normalized.equals("Assigned") || normalized.equals("In Progress") || normalized.equals("Resolved")
-                || normalized.equals("Closed"))) {
+        Ticket.Status requestedStatus = Ticket.Status.fromLabel(status);
+        if (requestedStatus == null || requestedStatus == Ticket.Status.OPEN) {
             throw new BadRequestException("Status must be Assigned, In Progress, Resolved, or Closed");
         }
-        String previousStatus = ticketEmailService.computeEffectiveStatus(ticket, ticket.status);
-        ticket.status = normalized;
-        if (!sameStatus(previousStatus, ticket.status)) {
+        String previousStatus = ticket.effectiveStatus;
+        ticket.status = requestedStatus.getLabel();
+        ticket.refreshEffectiveStatus();
+        if (!sameStatus(previousStatus, ticket.effectiveStatus)) {
             ticketEmailService.notifyStatusChange(ticket, previousStatus, user);
         }
         return Response.seeOther(URI.create("/tickets/" + id)).build();
@@ -587,7 +646,6 @@ public class UserResource {
     public TemplateInstance listAdminUsers(@CookieParam(AuthHelper.AUTH_COOKIE) String auth,
             @QueryParam("companyId") Long companyId) {
         User user = requireAdmin(auth);
-        List<Company> companies = Company.list("order by name");
         Company selectedCompany = null;
         if (companyId != null) {
             selectedCompany = Company.findById(companyId);
@@ -595,12 +653,11 @@ public class UserResource {
                 throw new NotFoundException();
             }
         }
-        if (selectedCompany == null && !companies.isEmpty()) {
-            selectedCompany = companies.get(0);
+        if (selectedCompany == null) {
+            selectedCompany = Company.find("order by name").firstResult();
         }
-        List<User> users = selectedCompany == null ? List.of() : Company
-                .find("select u from Company c join c.users u where c = ?1 order by u.name", selectedCompany).list();
-        return adminUsersTemplate.data("users", users).data("companies", companies)
+        List<UserRow> users = selectedCompany == null ? List.of() : UserRow.listForCompany(selectedCompany);
+        return adminUsersTemplate.data("users", users).data("selectedCompany", selectedCompany)
                 .data("selectedCompanyId", selectedCompany == null ? null : selectedCompany.id)
                 .data("showCompanySelector", true).data("companyLocked", false).data("createUserUrl", "/users/create")
                 .data("currentUser", user);
@@ -621,10 +678,9 @@ public class UserResource {
         List<Country> countries = Country.list("order by name");
         List<Timezone> timezones = defaultCountry != null ? Timezone.list("country = ?1 order by name", defaultCountry)
                 : List.of();
-        List<Company> allCompanies = Company.list("order by name");
         return adminUserFormTemplate.data("user", newUser).data("action", "/users").data("title", "New user")
-                .data("countries", countries).data("timezones", timezones).data("allCompanies", allCompanies)
-                .data("userCompany", null).data("currentUser", user);
+                .data("countries", countries).data("timezones", timezones).data("userCompany", null)
+                .data("currentUser", user);
     }
 
     @GET
@@ -641,12 +697,11 @@ public class UserResource {
                 : Country.find("code", "US").firstResult();
         List<Timezone> timezones = timezoneCountry != null
                 ? Timezone.list("country = ?1 order by name", timezoneCountry) : List.of();
-        List<Company> allCompanies = Company.list("order by name");
         Company userCompany = Company.find("select c from Company c join c.users u where u = ?1", editUser)
                 .firstResult();
         return adminUserFormTemplate.data("user", editUser).data("action", "/users/" + id).data("title", "Edit User")
-                .data("countries", countries).data("timezones", timezones).data("allCompanies", allCompanies)
-                .data("userCompany", userCompany).data("currentUser", user);
+                .data("countries", countries).data("timezones", timezones).data("userCompany", userCompany)
+                .data("currentUser", user);
     }
 
     @GET
@@ -745,14 +800,13 @@ public class UserResource {
 
     @POST
     @Path("users/{id}/delete")
-    @Transactional
     public Response deleteAdminUser(@CookieParam(AuthHelper.AUTH_COOKIE) String auth, @PathParam("id") Long id) {
         requireAdmin(auth);
         User deleteUser = User.findById(id);
         if (deleteUser == null) {
             throw new NotFoundException();
         }
-        deleteUser.delete();
+        bulkDelete.deleteUser(deleteUser);
         return Response.seeOther(URI.create("/users")).build();
     }
 
@@ -786,14 +840,15 @@ public class UserResource {
     }
 
     private SupportTicketData buildTamTicketData(User user) {
-        java.util.List<Ticket> tickets = Ticket.list(
+        java.util.List<Ticket> tickets = FetchGraphs.apply(Ticket.find(
                 "select distinct t from Ticket t left join t.tamUsers tu left join t.company c left join c.users cu where tu = ?1 or cu = ?1",
-                user);
+                user), Ticket.GRAPH_ROW).list();
         return buildTicketDataFor(tickets);
     }
 
     private SupportTicketData buildUserTicketData(User user) {
-        java.util.List<Ticket> tickets = Ticket.list("requester = ?1", user);
+        java.util.List<Ticket> tickets = FetchGraphs.apply(Ticket.find("requester = ?1", user), Ticket.GRAPH_ROW)
+                .list();
         return buildTicketDataFor(tickets);
     }
 
@@ -806,17 +861,11 @@ public class UserResource {
 
     private SupportTicketData buildTicketDataFor(java.util.List<Ticket> tickets) {
         java.util.List<Ticket> scopedTickets = tickets == null ? java.util.List.of() : tickets;
-        java.util.Map<Long, java.time.LocalDateTime> messageDates = new java.util.LinkedHashMap<>();
+        java.util.Map<Long, java.time.LocalDateTime> messageDates = TicketQueries.latestMessageDates(scopedTickets);
         java.util.Map<Long, String> messageDateLabels = new java.util.LinkedHashMap<>();
-        java.util.List<ai.mnemosyne_systems.model.Message> messages = ai.mnemosyne_systems.model.Message
-                .find("order by date desc").list();
-        for (ai.mnemosyne_systems.model.Message message : messages) {
-            if (message.ticket != null && scopedTickets.contains(message.ticket)
-                    && !messageDates.containsKey(message.ticket.id)) {
-                messageDates.put(message.ticket.id, message.date);
-                if (message.date != null) {
-                    messageDateLabels.put(message.ticket.id, formatDate(message.date));
-                }
+        for (java.util.Map.Entry<Long, java.time.LocalDateTime> entry : messageDates.entrySet()) {
+            if (entry.getValue() != null) {
+                messageDateLabels.put(entry.getKey(), formatDate(entry.getValue()));
             }
         }
         for (Ticket ticket : scopedTickets) {
@@ -827,7 +876,7 @@ public class UserResource {
         java.util.Map<Long, String> slaColors = new java.util.LinkedHashMap<>();
         java.time.LocalDateTime now = java.time.LocalDateTime.now();
         for (Ticket ticket : scopedTickets) {
-            if (isEntitlementExpired(ticket)) {
+            if (ticket.isEntitlementExpired()) {
                 slaColors.put(ticket.id, "Black");
                 continue;
             }
@@ -848,10 +897,9 @@ public class UserResource {
         java.util.Map<Long, String> supportAssignments = new java.util.LinkedHashMap<>();
         java.util.Map<Long, String> supportAssignmentNames = new java.util.LinkedHashMap<>();
         java.util.Map<Long, Long> supportAssignmentIds = new java.util.LinkedHashMap<>();
+        java.util.Map<Long, User> latestSupportUsers = TicketQueries.latestSupportUsers(scopedTickets);
         for (Ticket ticket : scopedTickets) {
-            User assignedSupport = User
-                    .find("select u from Ticket t join t.supportUsers u where t = ?1 order by u.id desc", ticket)
-                    .firstResult();
+            User assignedSupport = latestSupportUsers.get(ticket.id);
             if (assignedSupport != null) {
                 supportAssignments.put(ticket.id, assignedSupport.email);
                 supportAssignmentNames.put(ticket.id, assignedSupport.name);
@@ -863,7 +911,7 @@ public class UserResource {
         java.util.List<Ticket> closedTickets = new java.util.ArrayList<>();
         for (Ticket ticket : scopedTickets) {
             boolean hasSupport = supportAssignments.containsKey(ticket.id);
-            boolean isClosed = "Closed".equalsIgnoreCase(ticket.status);
+            boolean isClosed = ticket.isClosed();
             if (isClosed) {
                 closedTickets.add(copyTicketDisplay(ticket));
             } else if (hasSupport) {
@@ -874,7 +922,7 @@ public class UserResource {
         }
         for (Ticket ticket : closedTickets) {
             if (ticket != null && ticket.id != null) {
-                if (!isEntitlementExpired(ticket)) {
+                if (!ticket.isEntitlementExpired()) {
                     slaColors.put(ticket.id, "White");
                 }
             }
@@ -905,37 +953,6 @@ public class UserResource {
         return "White";
     }
 
-    private boolean isEntitlementExpired(Ticket ticket) {
-        if (ticket == null || ticket.companyEntitlement == null || ticket.companyEntitlement.date == null
-                || ticket.companyEntitlement.duration == null) {
-            return false;
-        }
-        java.time.LocalDate endDate = ticket.companyEntitlement.date;
-        if (ticket.companyEntitlement.duration == CompanyEntitlement.DURATION_MONTHLY) {
-            endDate = endDate.plusMonths(1);
-        } else if (ticket.companyEntitlement.duration == CompanyEntitlement.DURATION_YEARLY) {
-            endDate = endDate.plusYears(1);
-        } else {
-            return false;
-        }
-        return java.time.LocalDate.now().isAfter(endDate);
-    }
-
-    private boolean isEntitlementExpired(CompanyEntitlement entitlement) {
-        if (entitlement == null || entitlement.date == null || entitlement.duration == null) {
-            return false;
-        }
-        java.time.LocalDate endDate = entitlement.date;
-        if (entitlement.duration == CompanyEntitlement.DURATION_MONTHLY) {
-            endDate = endDate.plusMonths(1);
-        } else if (entitlement.duration == CompanyEntitlement.DURATION_YEARLY) {
-            endDate = endDate.plusYears(1);
-        } else {
-            return false;
-        }
-        return java.time.LocalDate.now().isAfter(endDate);
-    }
-
     private String resolveLowestEntitlementLevelName(Ticket ticket) {
         if (ticket == null || ticket.companyEntitlement == null || ticket.companyEntitlement.entitlement == null) {
             return null;
@@ -1001,13 +1018,14 @@ public class UserResource {
     }
 
     private Ticket normalizeOpenAssigned(Ticket ticket) {
-        if (ticket == null || !"Open".equalsIgnoreCase(ticket.status)) {
+        if (ticket == null || !ticket.hasStatus(Ticket.Status.OPEN)) {
             return ticket;
         }
         Ticket displayTicket = new Ticket();
         displayTicket.id = ticket.id;
         displayTicket.name = ticket.name;
-        displayTicket.status = "Assigned";
+        displayTicket.status = Ticket.Status.ASSIGNED.getLabel();
+        displayTicket.effectiveStatus = displayTicket.status;
         displayTicket.company = ticket.company;
         displayTicket.companyEntitlement = ticket.companyEntitlement;
         displayTicket.category = ticket.category;
@@ -1023,6 +1041,7 @@ public class UserResource {
         displayTicket.id = ticket.id;
         displayTicket.name = ticket.name;
         displayTicket.status = ticket.status;
+        displayTicket.effectiveStatus = ticket.effectiveStatus;
         displayTicket.company = ticket.company;
         displayTicket.companyEntitlement = ticket.companyEntitlement;
         displayTicket.category = ticket.category;
@@ -1044,12 +1063,12 @@ public class UserResource {
 
     private Ticket findTicketForUser(User user, Long id) {
         if (User.TYPE_TAM.equalsIgnoreCase(user.type)) {
-            return Ticket
-                    .find("select distinct t from Ticket t join t.company c join c.users u where u = ?1 and t.id = ?2",
-                            user, id)
-                    .firstResult();
+            return FetchGraphs.<Ticket> apply(Ticket.find(
+                    "select distinct t from Ticket t join t.company c join c.users u where u = ?1 and t.id = ?2", user,
+                    id), Ticket.GRAPH_DETAIL).singleResultOptional().orElse(null);
         }
-        return Ticket.find("requester = ?1 and id = ?2", user, id).firstResult();
+        return FetchGraphs.<Ticket> apply(Ticket.find("requester = ?1 and id = ?2", user, id), Ticket.GRAPH_DETAIL)
+                .singleResultOptional().orElse(null);
     }
 
     private String formatDate(java.time.LocalDateTime date) {
@@ -8,6 +8,7 @@
 
 package ai.mnemosyne_systems.web;
 
+import ai.mnemosyne_systems.model.AppMetadata;
 import ai.mnemosyne_systems.model.Category;
 import ai.mnemosyne_systems.model.Attachment;
 import ai.mnemosyne_systems.model.Company;
@@ -18,23 +19,97 @@ import ai.mnemosyne_systems.model.Level;
 import ai.mnemosyne_systems.model.Ticket;
 import ai.mnemosyne_systems.model.Timezone;
 import ai.mnemosyne_systems.model.User;
+import ai.mnemosyne_systems.model.UserLogo;
 import ai.mnemosyne_systems.model.Message;
 import io.quarkus.elytron.security.common.BcryptUtil;
 import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.jboss.logging.Logger;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @ApplicationScoped
 public class UserSeeder {
 
+    private static final Logger LOGGER = Logger.getLogger(UserSeeder.class);
+
+    /**
+     * Version of the data seeded below, to be increased whenever the seeding changes.
+     */
+    static final String SEED_VERSION = "1";
+
+    @Inject
+    Flyway flyway;
+
+    @Inject
+    Event<Seeded> seeded;
+
+    @Inject
+    ManagedExecutor executor;
+
+    @ConfigProperty(name = "ticket.seed.background", defaultValue = "true")
+    boolean background;
+
     void onStart(@Observes StartupEvent event) {
-        seedCountriesAndTimezones();
-        seedDefaults();
-        seedSupportCatalog();
-        seedSampleData();
+        String schemaVersion = schemaVersion();
+        if (isCurrent(schemaVersion)) {
+            LOGGER.infof("Seed data %s is current for schema %s", SEED_VERSION, schemaVersion);
+            seeded.fire(new Seeded());
+            return;
+        }
+        if (background) {
+            executor.execute(() -> seed(schemaVersion));
+        } else {
+            seed(schemaVersion);
+        }
+    }
+
+    void seed(String schemaVersion) {
+        long started = System.nanoTime();
+        try {
+            seedCountriesAndTimezones();
+            seedDefaults();
+            seedSupportCatalog();
+            seedSampleData();
+            recordSeed(schemaVersion);
+        } catch (RuntimeException ex) {
+            LOGGER.error("Seeding failed, it is retried on the next start", ex);
+            return;
+        }
+        LOGGER.infof("Seed data %s applied for schema %s in %d ms", SEED_VERSION, schemaVersion,
+                (System.nanoTime() - started) / 1_000_000L);
+        seeded.fire(new Seeded());
+    }
+
+    private String schemaVersion() {
+        MigrationInfo current = flyway.info().current();
+        return current == null || current.getVersion() == null ? "none" : current.getVersion().getVersion();
+    }
+
+    @Transactional
+    boolean isCurrent(String schemaVersion) {
+        return SEED_VERSION.equals(AppMetadata.versionOf(AppMetadata.SEED_VERSION))
+                && schemaVersion.equals(AppMetadata.versionOf(AppMetadata.SCHEMA_VERSION));
+    }
+
+    @Transactional
+    void recordSeed(String schemaVersion) {
+        AppMetadata.record(AppMetadata.SEED_VERSION, SEED_VERSION);
+        AppMetadata.record(AppMetadata.SCHEMA_VERSION, schemaVersion);
+    }
+
+    /**
+     * Fired once the seed data is known to be in place, either applied on this start or already current.
+     */
+    public static final class Seeded {
     }
 
     @Transactional
@@ -198,7 +273,7 @@ public class UserSeeder {
         assignSupportIfMissing(a1, "support1@mnemosyne-systems.ai");
         assignSupportIfMissing(a4, "support1@mnemosyne-systems.ai");
         if (a4 != null) {
-            a4.status = "Closed";
+            a4.status = Ticket.Status.CLOSED.getLabel();
             a4.persist();
         }
 
@@ -326,7 +401,7 @@ public class UserSeeder {
         if (ticket == null) {
             ticket = new Ticket();
             ticket.name = name;
-            ticket.status = "Open";
+            ticket.status = Ticket.Status.OPEN.getLabel();
             ticket.company = company;
             ticket.requester = requester;
             ticket.companyEntitlement = entitlement;
@@ -336,9 +411,7 @@ public class UserSeeder {
         if (ticket.category == null) {
             ticket.category = Category.findDefault();
         }
-        if (ticket.status == null || ticket.status.isBlank()) {
-            ticket.status = "Open";
-        }
+        ticket.refreshEffectiveStatus();
         ticket.company = company;
         ticket.requester = requester;
         ticket.companyEntitlement = entitlement;
@@ -408,6 +481,7 @@ public class UserSeeder {
                 .anyMatch(existing -> existing.id != null && existing.id.equals(support.id));
         if (!exists) {
             ticket.supportUsers.add(support);
+            ticket.refreshEffectiveStatus();
             ticket.persist();
         }
     }
@@ -557,6 +631,7 @@ public class UserSeeder {
         for (Message message : messages) {
             message.author = null;
         }
+        UserLogo.delete("user", user);
         user.delete();
     }
 }
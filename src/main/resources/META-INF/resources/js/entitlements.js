@@ -0,0 +1,76 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+// Ticket forms load the entitlements of a newly chosen company from /search/companies/<id>/entitlements
+// and update the form in place, instead of rendering the whole form again.
+//
+// <div data-entitlements> is the entitlement field that is replaced. With data-entitlement-prompt it is
+//   always a select starting with that prompt and showing the support levels, otherwise a single
+//   entitlement is shown read-only.
+// Each entitlement carries data-expired, as on the pages rendered by the server.
+// Inputs and headings marked with data-ticket-name get the name of the next ticket of the company.
+//
+// When the entitlements cannot be loaded the browser navigates to the fallback page.
+function loadEntitlements(companyInput, fallback) {
+    if (!companyInput.value) {
+        return;
+    }
+    var field = companyInput.form.querySelector('[data-entitlements]');
+    if (!field) {
+        window.location = fallback;
+        return;
+    }
+    fetch('/search/companies/' + encodeURIComponent(companyInput.value) + '/entitlements', { credentials: 'same-origin' })
+        .then(function (response) { return response.ok ? response.json() : Promise.reject(response); })
+        .then(function (options) {
+            renderEntitlements(field, options.entitlements);
+            document.querySelectorAll('[data-ticket-name]').forEach(function (element) {
+                if (element.tagName === 'INPUT') {
+                    element.value = options.ticketName;
+                } else {
+                    element.textContent = options.ticketName;
+                }
+            });
+        })
+        .catch(function () { window.location = fallback; });
+}
+
+function renderEntitlements(field, entitlements) {
+    var prompt = field.getAttribute('data-entitlement-prompt');
+    var label = document.createElement('label');
+    label.appendChild(document.createTextNode('Entitlement '));
+    field.innerHTML = '';
+    field.appendChild(label);
+    if (prompt === null && entitlements.length === 1) {
+        var shown = document.createElement('input');
+        shown.type = 'text';
+        shown.value = entitlements[0].name;
+        shown.readOnly = true;
+        label.appendChild(shown);
+        var hidden = document.createElement('input');
+        hidden.type = 'hidden';
+        hidden.name = 'companyEntitlementId';
+        hidden.value = entitlements[0].id;
+        hidden.setAttribute('data-expired', entitlements[0].expired ? 'true' : 'false');
+        field.appendChild(hidden);
+        return;
+    }
+    var select = document.createElement('select');
+    select.name = 'companyEntitlementId';
+    select.required = true;
+    if (prompt !== null) {
+        select.appendChild(new Option(prompt, ''));
+    }
+    entitlements.forEach(function (entitlement) {
+        var text = prompt !== null ? entitlement.name + ' - ' + entitlement.level : entitlement.name;
+        var option = new Option(entitlement.expired ? text + ' (expired)' : text, entitlement.id);
+        option.setAttribute('data-expired', entitlement.expired ? 'true' : 'false');
+        select.appendChild(option);
+    });
+    label.appendChild(select);
+}
@@ -0,0 +1,109 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+// Typeahead fields load their candidates from the /search endpoints while the user types.
+//
+// <input data-typeahead="/search/companies" data-typeahead-value="companyId" list="...">
+//   suggests through its datalist and writes the id of the chosen candidate to the hidden input
+//   with the id given by data-typeahead-value, firing its change event. The options are keyed by
+//   id, since names need not be unique, and a typed name only counts when a single candidate has it.
+// <input data-typeahead="/search/users?type=user" data-typeahead-options="availableUsers"
+//        data-typeahead-exclude="selectedUsers">
+//   fills the select given by data-typeahead-options, leaving out the options of the exclude select.
+(function () {
+    function search(url, query, callback) {
+        var separator = url.indexOf('?') < 0 ? '?' : '&';
+        fetch(url + separator + 'q=' + encodeURIComponent(query), { credentials: 'same-origin' })
+            .then(function (response) { return response.ok ? response.json() : []; })
+            .then(callback)
+            .catch(function () { callback([]); });
+    }
+
+    function excluded(selectId) {
+        var ids = {};
+        var select = selectId ? document.getElementById(selectId) : null;
+        if (select) {
+            Array.prototype.forEach.call(select.options, function (option) { ids[option.value] = true; });
+        }
+        return ids;
+    }
+
+    function fill(input, candidates) {
+        var optionsId = input.getAttribute('data-typeahead-options');
+        var target = optionsId ? document.getElementById(optionsId) : input.list;
+        if (!target) {
+            return;
+        }
+        var skip = excluded(input.getAttribute('data-typeahead-exclude'));
+        target.innerHTML = '';
+        candidates.forEach(function (candidate) {
+            if (skip[String(candidate.id)]) {
+                return;
+            }
+            var option = document.createElement('option');
+            option.value = candidate.id;
+            option.textContent = candidate.name;
+            target.appendChild(option);
+        });
+    }
+
+    function choose(input) {
+        var valueId = input.getAttribute('data-typeahead-value');
+        var hidden = valueId ? document.getElementById(valueId) : null;
+        if (!hidden || !input.list) {
+            return;
+        }
+        var options = Array.prototype.slice.call(input.list.options);
+        var picked = options.find(function (option) { return option.value === input.value; });
+        if (picked) {
+            input.value = picked.textContent;
+            set(input, hidden, picked.value);
+            return;
+        }
+        if (hidden.value && input.value === input.getAttribute('data-typeahead-chosen')) {
+            return;
+        }
+        var named = options.filter(function (option) { return option.textContent === input.value; });
+        set(input, hidden, named.length === 1 ? named[0].value : '');
+    }
+
+    function set(input, hidden, id) {
+        input.setAttribute('data-typeahead-chosen', input.value);
+        if (hidden.value !== id) {
+            hidden.value = id;
+            hidden.dispatchEvent(new Event('change'));
+        }
+    }
+
+    document.addEventListener('DOMContentLoaded', function () {
+        document.querySelectorAll('input[data-typeahead]').forEach(function (input) {
+            var valueId = input.getAttribute('data-typeahead-value');
+            var hidden = valueId ? document.getElementById(valueId) : null;
+            if (hidden && hidden.value) {
+                input.setAttribute('data-typeahead-chosen', input.value);
+            }
+            var timer = null;
+            var load = function () {
+                search(input.getAttribute('data-typeahead'), input.value, function (candidates) {
+                    fill(input, candidates);
+                });
+            };
+            input.addEventListener('input', function (event) {
+                // Picking a datalist suggestion is an input without a typed character
+                if (input.list && (!event.inputType || event.inputType === 'insertReplacementText')) {
+                    choose(input);
+                    return;
+                }
+                clearTimeout(timer);
+                timer = setTimeout(load, 200);
+            });
+            input.addEventListener('focus', load);
+            input.addEventListener('change', function () { choose(input); });
+        });
+    });
+})();
@@ -0,0 +1,28 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+-- =====================
+-- ENTITLEMENT END DATE
+-- =====================
+-- Duration 1 is monthly and 2 is yearly, other durations do not end.
+ALTER TABLE company_entitlements ADD COLUMN end_date DATE;
+UPDATE company_entitlements SET end_date = CASE duration
+    WHEN 1 THEN (date + INTERVAL '1 month')::DATE
+    WHEN 2 THEN (date + INTERVAL '1 year')::DATE
+END
+WHERE date IS NOT NULL;
+
+-- =====================
+-- ENTITLEMENT EXPIRY
+-- =====================
+-- Kept by the application on write and by the daily expiry job.
+ALTER TABLE company_entitlements ADD COLUMN expired BOOLEAN NOT NULL DEFAULT FALSE;
+UPDATE company_entitlements SET expired = TRUE WHERE end_date < CURRENT_DATE;
+
+CREATE INDEX IF NOT EXISTS idx_company_entitlements_expired ON company_entitlements (id) WHERE expired;
+CREATE INDEX IF NOT EXISTS idx_company_entitlements_end_date ON company_entitlements (end_date) WHERE NOT expired;
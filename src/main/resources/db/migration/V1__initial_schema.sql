@@ -0,0 +1,193 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+-- =====================
+-- SEQUENCES
+-- =====================
+CREATE SEQUENCE country_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE timezone_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE user_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE company_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE category_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE support_level_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE entitlement_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE company_entitlement_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE ticket_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE message_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE attachment_seq START WITH 1 INCREMENT BY 1;
+
+-- =====================
+-- REFERENCE DATA
+-- =====================
+CREATE TABLE countries (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    code VARCHAR(3) NOT NULL,
+    CONSTRAINT pk_countries PRIMARY KEY (id)
+);
+
+CREATE TABLE timezones (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    country_id BIGINT NOT NULL,
+    CONSTRAINT pk_timezones PRIMARY KEY (id),
+    CONSTRAINT fk_timezones_country FOREIGN KEY (country_id) REFERENCES countries (id)
+);
+
+CREATE TABLE categories (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    is_default BOOLEAN NOT NULL,
+    CONSTRAINT pk_categories PRIMARY KEY (id)
+);
+
+CREATE TABLE support_levels (
+    id BIGINT NOT NULL,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    level INTEGER,
+    color VARCHAR(255),
+    fromDay INTEGER,
+    fromTime INTEGER,
+    toDay INTEGER,
+    toTime INTEGER,
+    country_id BIGINT,
+    timezone_id BIGINT,
+    CONSTRAINT pk_support_levels PRIMARY KEY (id),
+    CONSTRAINT fk_support_levels_country FOREIGN KEY (country_id) REFERENCES countries (id),
+    CONSTRAINT fk_support_levels_timezone FOREIGN KEY (timezone_id) REFERENCES timezones (id)
+);
+
+CREATE TABLE entitlements (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_entitlements PRIMARY KEY (id)
+);
+
+CREATE TABLE entitlement_support_levels (
+    entitlement_id BIGINT NOT NULL,
+    support_level_id BIGINT NOT NULL,
+    CONSTRAINT fk_entitlement_support_levels_entitlement FOREIGN KEY (entitlement_id) REFERENCES entitlements (id),
+    CONSTRAINT fk_entitlement_support_levels_level FOREIGN KEY (support_level_id) REFERENCES support_levels (id)
+);
+
+-- =====================
+-- USERS AND COMPANIES
+-- =====================
+CREATE TABLE users (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    social VARCHAR(255),
+    phone_number VARCHAR(255),
+    phone_extension VARCHAR(255),
+    timezone_id BIGINT,
+    country_id BIGINT,
+    user_type VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    logo_base64 TEXT,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT fk_users_timezone FOREIGN KEY (timezone_id) REFERENCES timezones (id),
+    CONSTRAINT fk_users_country FOREIGN KEY (country_id) REFERENCES countries (id)
+);
+
+CREATE TABLE companies (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    ticket_sequence BIGINT,
+    address1 VARCHAR(255),
+    address2 VARCHAR(255),
+    city VARCHAR(255),
+    state VARCHAR(255),
+    zip VARCHAR(255),
+    country_id BIGINT,
+    timezone_id BIGINT,
+    phone_number VARCHAR(255),
+    primary_contact_id BIGINT,
+    CONSTRAINT pk_companies PRIMARY KEY (id),
+    CONSTRAINT fk_companies_country FOREIGN KEY (country_id) REFERENCES countries (id),
+    CONSTRAINT fk_companies_timezone FOREIGN KEY (timezone_id) REFERENCES timezones (id),
+    CONSTRAINT fk_companies_primary_contact FOREIGN KEY (primary_contact_id) REFERENCES users (id)
+);
+
+CREATE TABLE company_users (
+    company_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    CONSTRAINT fk_company_users_company FOREIGN KEY (company_id) REFERENCES companies (id),
+    CONSTRAINT fk_company_users_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE company_entitlements (
+    id BIGINT NOT NULL,
+    company_id BIGINT NOT NULL,
+    entitlement_id BIGINT NOT NULL,
+    support_level_id BIGINT NOT NULL,
+    date DATE,
+    duration INTEGER,
+    CONSTRAINT pk_company_entitlements PRIMARY KEY (id),
+    CONSTRAINT fk_company_entitlements_company FOREIGN KEY (company_id) REFERENCES companies (id),
+    CONSTRAINT fk_company_entitlements_entitlement FOREIGN KEY (entitlement_id) REFERENCES entitlements (id),
+    CONSTRAINT fk_company_entitlements_level FOREIGN KEY (support_level_id) REFERENCES support_levels (id)
+);
+
+-- =====================
+-- TICKETS
+-- =====================
+CREATE TABLE tickets (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    category_id BIGINT,
+    external_issue_link VARCHAR(255),
+    company_id BIGINT NOT NULL,
+    requester_id BIGINT,
+    company_entitlement_id BIGINT,
+    CONSTRAINT pk_tickets PRIMARY KEY (id),
+    CONSTRAINT fk_tickets_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT fk_tickets_company FOREIGN KEY (company_id) REFERENCES companies (id),
+    CONSTRAINT fk_tickets_requester FOREIGN KEY (requester_id) REFERENCES users (id),
+    CONSTRAINT fk_tickets_company_entitlement FOREIGN KEY (company_entitlement_id) REFERENCES company_entitlements (id)
+);
+
+CREATE TABLE ticket_supports (
+    ticket_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    CONSTRAINT fk_ticket_supports_ticket FOREIGN KEY (ticket_id) REFERENCES tickets (id),
+    CONSTRAINT fk_ticket_supports_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE ticket_tams (
+    ticket_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    CONSTRAINT fk_ticket_tams_ticket FOREIGN KEY (ticket_id) REFERENCES tickets (id),
+    CONSTRAINT fk_ticket_tams_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE messages (
+    id BIGINT NOT NULL,
+    body TEXT NOT NULL,
+    date TIMESTAMP(6) NOT NULL,
+    ticket_id BIGINT NOT NULL,
+    author_id BIGINT,
+    CONSTRAINT pk_messages PRIMARY KEY (id),
+    CONSTRAINT fk_messages_ticket FOREIGN KEY (ticket_id) REFERENCES tickets (id),
+    CONSTRAINT fk_messages_author FOREIGN KEY (author_id) REFERENCES users (id)
+);
+
+CREATE TABLE attachments (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    mimeType VARCHAR(255) NOT NULL,
+    data BYTEA NOT NULL,
+    message_id BIGINT NOT NULL,
+    CONSTRAINT pk_attachments PRIMARY KEY (id),
+    CONSTRAINT fk_attachments_message FOREIGN KEY (message_id) REFERENCES messages (id)
+);
@@ -0,0 +1,51 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+-- =====================
+-- TICKETS AND MESSAGES
+-- =====================
+CREATE INDEX IF NOT EXISTS idx_messages_ticket_date ON messages (ticket_id, date DESC);
+CREATE INDEX IF NOT EXISTS idx_messages_author ON messages (author_id);
+CREATE INDEX IF NOT EXISTS idx_attachments_message ON attachments (message_id);
+CREATE INDEX IF NOT EXISTS idx_tickets_company ON tickets (company_id);
+CREATE INDEX IF NOT EXISTS idx_tickets_requester ON tickets (requester_id);
+CREATE INDEX IF NOT EXISTS idx_tickets_status ON tickets (status);
+CREATE INDEX IF NOT EXISTS idx_tickets_name ON tickets (name);
+CREATE INDEX IF NOT EXISTS idx_tickets_company_entitlement ON tickets (company_entitlement_id);
+
+-- =====================
+-- USERS AND COMPANIES
+-- =====================
+CREATE INDEX IF NOT EXISTS idx_users_name ON users (name);
+CREATE INDEX IF NOT EXISTS idx_company_entitlements_company ON company_entitlements (company_id);
+CREATE INDEX IF NOT EXISTS idx_timezones_country ON timezones (country_id);
+
+-- =====================
+-- JOIN TABLES
+-- =====================
+-- Databases created by schema update may hold duplicate pairs, so they are
+-- removed before the primary keys are added.
+DELETE FROM ticket_supports a USING ticket_supports b
+WHERE a.ctid < b.ctid AND a.ticket_id = b.ticket_id AND a.user_id = b.user_id;
+ALTER TABLE ticket_supports ADD CONSTRAINT pk_ticket_supports PRIMARY KEY (ticket_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_ticket_supports_user ON ticket_supports (user_id);
+
+DELETE FROM ticket_tams a USING ticket_tams b
+WHERE a.ctid < b.ctid AND a.ticket_id = b.ticket_id AND a.user_id = b.user_id;
+ALTER TABLE ticket_tams ADD CONSTRAINT pk_ticket_tams PRIMARY KEY (ticket_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_ticket_tams_user ON ticket_tams (user_id);
+
+DELETE FROM company_users a USING company_users b
+WHERE a.ctid < b.ctid AND a.company_id = b.company_id AND a.user_id = b.user_id;
+ALTER TABLE company_users ADD CONSTRAINT pk_company_users PRIMARY KEY (company_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_company_users_user ON company_users (user_id);
+
+DELETE FROM entitlement_support_levels a USING entitlement_support_levels b
+WHERE a.ctid < b.ctid AND a.entitlement_id = b.entitlement_id AND a.support_level_id = b.support_level_id;
+ALTER TABLE entitlement_support_levels
+    ADD CONSTRAINT pk_entitlement_support_levels PRIMARY KEY (entitlement_id, support_level_id);
@@ -0,0 +1,40 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+-- =====================
+-- NORMALIZED STATUS
+-- =====================
+UPDATE tickets SET status = CASE lower(trim(status))
+    WHEN 'assigned' THEN 'Assigned'
+    WHEN 'in progress' THEN 'In Progress'
+    WHEN 'in_progress' THEN 'In Progress'
+    WHEN 'resolved' THEN 'Resolved'
+    WHEN 'closed' THEN 'Closed'
+    ELSE 'Open'
+END;
+ALTER TABLE tickets ADD CONSTRAINT ck_tickets_status
+    CHECK (status IN ('Open', 'Assigned', 'In Progress', 'Resolved', 'Closed'));
+
+-- =====================
+-- EFFECTIVE STATUS
+-- =====================
+-- An open ticket with at least one support user is shown as Assigned.
+ALTER TABLE tickets ADD COLUMN effective_status VARCHAR(255);
+UPDATE tickets t SET effective_status = CASE
+    WHEN t.status = 'Open' AND EXISTS (SELECT 1 FROM ticket_supports ts WHERE ts.ticket_id = t.id) THEN 'Assigned'
+    ELSE t.status
+END;
+ALTER TABLE tickets ALTER COLUMN effective_status SET NOT NULL;
+
+-- =====================
+-- OPEN TICKETS
+-- =====================
+DROP INDEX IF EXISTS idx_tickets_status;
+CREATE INDEX IF NOT EXISTS idx_tickets_open ON tickets (id) WHERE status <> 'Closed';
+CREATE INDEX IF NOT EXISTS idx_tickets_open_requester ON tickets (requester_id) WHERE status <> 'Closed';
+CREATE INDEX IF NOT EXISTS idx_tickets_open_company ON tickets (company_id) WHERE status <> 'Closed';
@@ -0,0 +1,76 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+-- =====================
+-- CLOSED TICKETS
+-- =====================
+-- Tickets closed before this migration use their latest message as closing time.
+ALTER TABLE tickets ADD COLUMN closed_at TIMESTAMP(6);
+UPDATE tickets t SET closed_at = COALESCE((SELECT MAX(m.date) FROM messages m WHERE m.ticket_id = t.id), CURRENT_TIMESTAMP)
+WHERE t.status = 'Closed';
+CREATE INDEX IF NOT EXISTS idx_tickets_closed_at ON tickets (closed_at) WHERE status = 'Closed';
+
+-- =====================
+-- ARCHIVE
+-- =====================
+-- Archived rows keep their original ids. Names are copied, so there are no
+-- foreign keys to the hot tables.
+CREATE TABLE archived_tickets (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    company_id BIGINT NOT NULL,
+    company_name VARCHAR(255),
+    requester_id BIGINT,
+    requester_name VARCHAR(255),
+    category_name VARCHAR(255),
+    entitlement_name VARCHAR(255),
+    level_name VARCHAR(255),
+    external_issue_link VARCHAR(255),
+    closed_at TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_archived_tickets PRIMARY KEY (id)
+);
+CREATE TABLE archived_ticket_supports (
+    ticket_id BIGINT NOT NULL,
+    user_name VARCHAR(255),
+    CONSTRAINT fk_archived_ticket_supports_ticket FOREIGN KEY (ticket_id) REFERENCES archived_tickets (id)
+);
+CREATE TABLE archived_ticket_tams (
+    ticket_id BIGINT NOT NULL,
+    user_name VARCHAR(255),
+    CONSTRAINT fk_archived_ticket_tams_ticket FOREIGN KEY (ticket_id) REFERENCES archived_tickets (id)
+);
+CREATE TABLE archived_messages (
+    id BIGINT NOT NULL,
+    body TEXT NOT NULL,
+    date TIMESTAMP(6) NOT NULL,
+    ticket_id BIGINT NOT NULL,
+    author_id BIGINT,
+    author_name VARCHAR(255),
+    CONSTRAINT pk_archived_messages PRIMARY KEY (id),
+    CONSTRAINT fk_archived_messages_ticket FOREIGN KEY (ticket_id) REFERENCES archived_tickets (id)
+);
+CREATE TABLE archived_attachments (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    mimeType VARCHAR(255) NOT NULL,
+    size_bytes INTEGER NOT NULL,
+    data BYTEA NOT NULL,
+    message_id BIGINT NOT NULL,
+    CONSTRAINT pk_archived_attachments PRIMARY KEY (id),
+    CONSTRAINT fk_archived_attachments_message FOREIGN KEY (message_id) REFERENCES archived_messages (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_archived_tickets_company ON archived_tickets (company_id);
+CREATE INDEX IF NOT EXISTS idx_archived_tickets_requester ON archived_tickets (requester_id);
+CREATE INDEX IF NOT EXISTS idx_archived_tickets_closed_at ON archived_tickets (closed_at DESC);
+CREATE INDEX IF NOT EXISTS idx_archived_ticket_supports_ticket ON archived_ticket_supports (ticket_id);
+CREATE INDEX IF NOT EXISTS idx_archived_ticket_tams_ticket ON archived_ticket_tams (ticket_id);
+CREATE INDEX IF NOT EXISTS idx_archived_messages_ticket_date ON archived_messages (ticket_id, date DESC);
+CREATE INDEX IF NOT EXISTS idx_archived_attachments_message ON archived_attachments (message_id);
@@ -0,0 +1,64 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+-- =====================
+-- SEQUENCES
+-- =====================
+CREATE SEQUENCE user_logo_seq START WITH 1 INCREMENT BY 1;
+
+-- =====================
+-- USER LOGOS
+-- =====================
+CREATE TABLE user_logos (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    mime_type VARCHAR(255) NOT NULL,
+    data BYTEA NOT NULL,
+    thumbnail BYTEA,
+    fingerprint VARCHAR(64) NOT NULL,
+    CONSTRAINT pk_user_logos PRIMARY KEY (id),
+    CONSTRAINT uk_user_logos_user UNIQUE (user_id),
+    CONSTRAINT fk_user_logos_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+ALTER TABLE users ADD COLUMN logo_fingerprint VARCHAR(64);
+
+-- =====================
+-- EXISTING LOGOS
+-- =====================
+-- Logos in any other form would be lost with the column, so they stop the migration until they are fixed or cleared
+DO $$
+DECLARE
+    skipped TEXT;
+BEGIN
+    SELECT string_agg(id::TEXT, ', ' ORDER BY id) INTO skipped
+    FROM users
+    WHERE logo_base64 IS NOT NULL
+      AND trim(logo_base64) <> ''
+      AND logo_base64 NOT LIKE 'data:image/%;base64,%';
+    IF skipped IS NOT NULL THEN
+        RAISE EXCEPTION 'Logos of users % are not base64 image data URLs', skipped;
+    END IF;
+END $$;
+
+-- Thumbnails of the moved logos are left empty, the logo itself is served until the user uploads a new one.
+-- The fingerprint is computed as LogoHelper.fingerprint does, so the same image keeps its URL.
+WITH decoded AS (
+    SELECT id AS user_id,
+           substring(logo_base64 FROM 6 FOR position(';' IN logo_base64) - 6) AS mime_type,
+           decode(substring(logo_base64 FROM position(',' IN logo_base64) + 1), 'base64') AS data
+    FROM users
+    WHERE logo_base64 LIKE 'data:image/%;base64,%'
+)
+INSERT INTO user_logos (id, user_id, mime_type, data, fingerprint)
+SELECT nextval('user_logo_seq'), user_id, mime_type, data, substring(encode(sha256(data), 'hex') FOR 16)
+FROM decoded;
+
+UPDATE users u SET logo_fingerprint = l.fingerprint FROM user_logos l WHERE l.user_id = u.id;
+
+ALTER TABLE users DROP COLUMN logo_base64;
@@ -0,0 +1,15 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+-- =====================
+-- PREFIX SEARCH
+-- =====================
+-- text_pattern_ops lets LIKE 'prefix%' use the index whatever the collation of the database
+CREATE INDEX IF NOT EXISTS idx_companies_name_lower ON companies (lower(name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_name_lower ON users (lower(name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_lower ON users (lower(email) text_pattern_ops);
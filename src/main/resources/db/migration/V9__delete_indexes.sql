@@ -0,0 +1,13 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+-- =====================
+-- USER DELETION
+-- =====================
+-- Deleting a user clears it as the primary contact of its companies
+CREATE INDEX IF NOT EXISTS idx_companies_primary_contact ON companies (primary_contact_id);
@@ -0,0 +1,130 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.Entitlement;
+import ai.mnemosyne_systems.model.Level;
+import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class AlarmTest {
+
+    @Inject
+    Fixtures fixtures;
+
+    @Test
+    void requesterSeesTheAlarmOfOverdueTickets() {
+        String name = "alarmuser" + System.nanoTime();
+        Long userId = fixtures.ensureUser(name, User.TYPE_USER);
+        String cookie = Fixtures.login(name);
+        assertAlarm(cookie, false);
+
+        addTicket(userId, "Red", 10);
+        addTicket(userId, "White", 120);
+        addTicket(userId, "Red", null);
+        assertAlarm(cookie, false);
+
+        addTicket(userId, "Red", 120);
+        assertAlarm(cookie, true);
+    }
+
+    @Test
+    void closedTicketsRaiseNoAlarm() {
+        String name = "alarmclosed" + System.nanoTime();
+        Long userId = fixtures.ensureUser(name, User.TYPE_USER);
+        String cookie = Fixtures.login(name);
+        Long ticketId = addTicket(userId, "Red", 120);
+        assertAlarm(cookie, true);
+
+        close(ticketId);
+        assertAlarm(cookie, false);
+    }
+
+    @Test
+    void tamSeesTheAlarmOfAssignedTickets() {
+        String name = "alarmtam" + System.nanoTime();
+        Long tamId = fixtures.ensureUser(name, User.TYPE_TAM);
+        Long userId = fixtures.ensureUser("alarmrequester" + System.nanoTime(), User.TYPE_USER);
+        String cookie = Fixtures.login(name);
+        Long ticketId = addTicket(userId, "Red", 120);
+        assertAlarm(cookie, false);
+
+        assignTam(ticketId, tamId);
+        assertAlarm(cookie, true);
+    }
+
+    private static void assertAlarm(String cookie, boolean alarm) {
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get("/tickets/alarm/status").then().statusCode(200)
+                .body(Matchers.equalTo(Boolean.toString(alarm)));
+    }
+
+    /**
+     * Adds a ticket of the requester with an hour long SLA of the given colour, whose latest message is the given
+     * number of minutes old, or which has no message when it is null.
+     */
+    @Transactional
+    Long addTicket(Long requesterId, String color, Integer minutes) {
+        Company company = Company.findById(fixtures.addCompany("Alarm Co"));
+        CompanyEntitlement entitlement = new CompanyEntitlement();
+        entitlement.company = company;
+        entitlement.entitlement = Entitlement.find("order by id").firstResult();
+        entitlement.supportLevel = level(color);
+        entitlement.persist();
+        Ticket ticket = new Ticket();
+        ticket.name = Ticket.nextName(company);
+        ticket.status = Ticket.Status.OPEN.getLabel();
+        ticket.company = company;
+        ticket.companyEntitlement = entitlement;
+        ticket.requester = User.findById(requesterId);
+        ticket.persist();
+        if (minutes != null) {
+            Message message = new Message();
+            message.ticket = ticket;
+            message.body = "Alarm message";
+            message.date = LocalDateTime.now().minusMinutes(minutes);
+            message.persist();
+        }
+        return ticket.id;
+    }
+
+    @Transactional
+    void close(Long ticketId) {
+        Ticket ticket = Ticket.findById(ticketId);
+        ticket.status = Ticket.Status.CLOSED.getLabel();
+    }
+
+    @Transactional
+    void assignTam(Long ticketId, Long tamId) {
+        Ticket ticket = Ticket.findById(ticketId);
+        ticket.tamUsers.add(User.findById(tamId));
+    }
+
+    private Level level(String color) {
+        Level level = Level.find("name", "Alarm " + color).firstResult();
+        if (level == null) {
+            level = new Level();
+            level.name = "Alarm " + color;
+            level.level = 60;
+            level.color = color;
+            level.persist();
+        }
+        return level;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.ArchivedAttachment;
+import ai.mnemosyne_systems.model.ArchivedMessage;
+import ai.mnemosyne_systems.model.ArchivedTicket;
+import ai.mnemosyne_systems.model.Attachment;
+import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class ArchiveTest {
+
+    // Older than any ticket closed by the other tests, so only the ticket of this test is archived
+    private static final LocalDateTime CLOSED_AT = LocalDateTime.of(2001, 1, 1, 0, 0);
+
+    @Inject
+    Fixtures fixtures;
+
+    @Inject
+    TicketArchiveService archiveService;
+
+    @Test
+    void closedTicketIsArchivedWithItsRows() {
+        Long supportId = fixtures.ensureUser("archivesupport", User.TYPE_SUPPORT);
+        Long tamId = fixtures.ensureUser("archivetam", User.TYPE_TAM);
+        Long ticketId = fixtures.addTicket(fixtures.addCompany("Archive Co"), null);
+        Long messageId = fixtures.addMessage(ticketId, supportId, "Archived message body");
+        Long attachmentId = fixtures.addAttachment(messageId, "archived.txt", "Archived data");
+        String name = fixtures.ticketName(ticketId);
+        close(ticketId, supportId, tamId);
+
+        Assertions.assertTrue(archiveService.archiveClosedTickets(CLOSED_AT.plusDays(1)) >= 1);
+
+        assertGone(Ticket.class, ticketId);
+        assertGone(Message.class, messageId);
+        assertGone(Attachment.class, attachmentId);
+        Assertions.assertEquals(List.of("archivesupport"), supportNames(ticketId));
+        Assertions.assertEquals(List.of("archivetam"), tamNames(ticketId));
+        Assertions.assertEquals("Archived message body", archivedMessage(messageId));
+        Assertions.assertEquals("Archived data", archivedAttachment(attachmentId));
+        Assertions.assertEquals(0, countTams(ticketId));
+
+        String cookie = Fixtures.login("support1");
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).queryParam("q", name).get("/support/archive").then()
+                .statusCode(200).body(Matchers.containsString("/support/archive/" + ticketId));
+        RestAssured.given().redirects().follow(false).cookie(AuthHelper.AUTH_COOKIE, cookie)
+                .get("/support/tickets/" + ticketId).then().statusCode(303)
+                .header("Location", Matchers.endsWith("/support/archive/" + ticketId));
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get("/support/archive/" + ticketId).then()
+                .statusCode(200).body(Matchers.containsString("Archived message body"))
+                .body(Matchers.containsString("archivesupport")).body(Matchers.containsString("archivetam"));
+    }
+
+    @Transactional
+    void close(Long ticketId, Long supportId, Long tamId) {
+        Ticket ticket = Ticket.findById(ticketId);
+        ticket.status = Ticket.Status.CLOSED.getLabel();
+        ticket.closedAt = CLOSED_AT;
+        ticket.supportUsers.add(User.findById(supportId));
+        ticket.tamUsers.add(User.findById(tamId));
+    }
+
+    @Transactional
+    void assertGone(Class<?> type, Long id) {
+        Assertions.assertNull(Ticket.getEntityManager().find(type, id), type.getSimpleName() + " " + id);
+    }
+
+    @Transactional
+    List<String> supportNames(Long ticketId) {
+        ArchivedTicket ticket = ArchivedTicket.findById(ticketId);
+        return List.copyOf(ticket.supportNames);
+    }
+
+    @Transactional
+    List<String> tamNames(Long ticketId) {
+        ArchivedTicket ticket = ArchivedTicket.findById(ticketId);
+        return List.copyOf(ticket.tamNames);
+    }
+
+    @Transactional
+    String archivedMessage(Long messageId) {
+        ArchivedMessage message = ArchivedMessage.findById(messageId);
+        return message == null ? null : message.body;
+    }
+
+    @Transactional
+    String archivedAttachment(Long attachmentId) {
+        ArchivedAttachment attachment = ArchivedAttachment.findById(attachmentId);
+        return attachment == null ? null : new String(attachment.data, StandardCharsets.UTF_8);
+    }
+
+    @Transactional
+    long countTams(Long ticketId) {
+        return ((Number) Ticket.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM ticket_tams WHERE ticket_id = ?1").setParameter(1, ticketId)
+                .getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.ArchivedMessage;
+import ai.mnemosyne_systems.model.ArchivedTicket;
+import ai.mnemosyne_systems.model.Attachment;
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class BulkDeleteTest {
+
+    @Inject
+    Fixtures fixtures;
+
+    record Fixture(Long userId, Long companyId, Long ticketId, Long messageId, Long attachmentId, Long archivedId) {
+    }
+
+    @Test
+    void companyIsDeletedWithItsTicketsAndArchive() {
+        Fixture fixture = createFixture("Bulk Delete Co");
+        String cookie = Fixtures.login("admin");
+        RestAssured.given().redirects().follow(false).cookie(AuthHelper.AUTH_COOKIE, cookie)
+                .post("/companies/" + fixture.companyId() + "/delete").then().statusCode(303);
+
+        assertGone(Company.class, fixture.companyId());
+        assertGone(Ticket.class, fixture.ticketId());
+        assertGone(Message.class, fixture.messageId());
+        assertGone(Attachment.class, fixture.attachmentId());
+        assertGone(ArchivedTicket.class, fixture.archivedId());
+        Assertions.assertEquals(0, countArchivedMessages(fixture.archivedId()));
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get("/deletions").then().statusCode(200).body(
+                "find { it.kind == 'company' && it.targetId == " + fixture.companyId() + " }.state",
+                Matchers.equalTo("DONE"));
+    }
+
+    @Test
+    void userIsDeletedFromTheRowsReferringToIt() {
+        Fixture fixture = createFixture("Bulk Delete User Co");
+        RestAssured.given().redirects().follow(false).cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin"))
+                .post("/users/" + fixture.userId() + "/delete").then().statusCode(303);
+
+        assertGone(User.class, fixture.userId());
+        Assertions.assertTrue(ticketAndCompanyAreKept(fixture));
+    }
+
+    @Test
+    void ticketIsDeletedWithoutLoadingItsMessages() {
+        String cookie = Fixtures.login("support1");
+        // The first request may still warm up lookups, so it is not measured
+        deleteTicket(cookie, ticketWithMessages(1));
+        Long smallId = ticketWithMessages(1);
+        Long largeId = ticketWithMessages(10);
+        int small = deleteTicket(cookie, smallId);
+        int large = deleteTicket(cookie, largeId);
+
+        Assertions.assertEquals(small, large, "Ticket deletion statements grew with messages and attachments");
+        assertGone(Ticket.class, smallId);
+        assertGone(Ticket.class, largeId);
+    }
+
+    private static int deleteTicket(String cookie, Long ticketId) {
+        Response response = RestAssured.given().redirects().follow(false).cookie(AuthHelper.AUTH_COOKIE, cookie)
+                .post("/tickets/" + ticketId + "/delete");
+        Assertions.assertEquals(303, response.statusCode());
+        return Integer.parseInt(response.getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER));
+    }
+
+    Long ticketWithMessages(int messages) {
+        Long ticketId = fixtures.addTicket(fixtures.addCompany("Bulk Delete Ticket Co"), null);
+        for (int i = 0; i < messages; i++) {
+            Long messageId = fixtures.addMessage(ticketId, null, "Bulk delete message " + i);
+            fixtures.addAttachment(messageId, "bulk" + i + ".txt", "Bulk delete data " + i);
+        }
+        return ticketId;
+    }
+
+    @Transactional
+    void assertGone(Class<?> type, Long id) {
+        Assertions.assertNull(Ticket.getEntityManager().find(type, id), type.getSimpleName() + " " + id);
+    }
+
+    @Transactional
+    long countArchivedMessages(Long archivedId) {
+        return ArchivedMessage.count("ticket.id", archivedId);
+    }
+
+    @Transactional
+    boolean ticketAndCompanyAreKept(Fixture fixture) {
+        Ticket ticket = Ticket.findById(fixture.ticketId());
+        Message message = Message.findById(fixture.messageId());
+        Company company = Company.findById(fixture.companyId());
+        return ticket.requester == null && message.author == null && company.primaryContact == null
+                && company.users.isEmpty();
+    }
+
+    @Transactional
+    Fixture createFixture(String name) {
+        Long userId = fixtures.ensureUser(name.toLowerCase().replace(' ', '-') + "-" + System.nanoTime(),
+                User.TYPE_USER);
+        User user = User.findById(userId);
+        Company company = Company.findById(fixtures.addCompany(name));
+        company.primaryContact = user;
+        company.users.add(user);
+        Long ticketId = fixtures.addTicket(company.id, userId);
+        Long messageId = fixtures.addMessage(ticketId, userId, "Bulk delete message");
+        Long attachmentId = fixtures.addAttachment(messageId, "bulk.txt", "Bulk delete data");
+
+        ArchivedTicket archived = new ArchivedTicket();
+        archived.id = Long.MAX_VALUE - System.nanoTime() % 1_000_000_000L;
+        archived.name = name + " archived";
+        archived.status = "Closed";
+        archived.companyId = company.id;
+        archived.archivedAt = LocalDateTime.now();
+        archived.persist();
+
+        ArchivedMessage archivedMessage = new ArchivedMessage();
+        archivedMessage.id = archived.id;
+        archivedMessage.body = "Archived bulk delete message";
+        archivedMessage.date = LocalDateTime.now();
+        archivedMessage.ticket = archived;
+        archivedMessage.persist();
+
+        return new Fixture(userId, company.id, ticketId, messageId, attachmentId, archived.id);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class CompanyListTest {
+
+    @Inject
+    Fixtures fixtures;
+
+    @Test
+    void pagesAreNumberedFromOne() {
+        fixtures.ensureUser("companylistadmin", User.TYPE_ADMIN);
+        String cookie = Fixtures.login("companylistadmin");
+        int pages = addCompanies();
+
+        page(cookie, null).body(Matchers.containsString("Page 1 of " + pages))
+                .body(Matchers.containsString("href=\"/companies?page=2\""))
+                .body(Matchers.not(Matchers.containsString("Previous")));
+        page(cookie, 0).body(Matchers.containsString("Page 1 of " + pages));
+        page(cookie, 2).body(Matchers.containsString("Page 2 of " + pages))
+                .body(Matchers.containsString("href=\"/companies?page=1\""));
+        page(cookie, pages + 5).body(Matchers.containsString("Page " + pages + " of " + pages))
+                .body(Matchers.containsString("href=\"/companies?page=" + (pages - 1) + "\""))
+                .body(Matchers.not(Matchers.containsString("Next")));
+    }
+
+    @Test
+    void onlyTheFirstEmailsAreListed() {
+        fixtures.ensureUser("companylistadmin", User.TYPE_ADMIN);
+        String cookie = Fixtures.login("companylistadmin");
+        String suffix = Long.toString(System.nanoTime());
+        Long companyId = fixtures.addCompany("0 Company List");
+        for (String name : new String[] { "e", "b", "d", "a", "c" }) {
+            addUser(companyId, fixtures.ensureUser("companylist" + name + suffix, User.TYPE_USER));
+        }
+
+        page(cookie, 1).body(Matchers.containsString("companylista" + suffix + "@"))
+                .body(Matchers.containsString("companylistb" + suffix + "@"))
+                .body(Matchers.containsString("companylistc" + suffix + "@"))
+                .body(Matchers.not(Matchers.containsString("companylistd" + suffix + "@")))
+                .body(Matchers.containsString(" and 2 more"));
+    }
+
+    private static ValidatableResponse page(String cookie, Integer page) {
+        RequestSpecification request = RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie);
+        if (page != null) {
+            request.queryParam("page", page);
+        }
+        return request.get("/companies").then().statusCode(200);
+    }
+
+    /**
+     * Adds companies until there are more than one page of them, and returns the number of pages.
+     */
+    @Transactional
+    int addCompanies() {
+        long count = Company.count();
+        for (long i = count; i <= CompanyResource.PAGE_SIZE; i++) {
+            Company company = new Company();
+            company.name = "Company List " + System.nanoTime();
+            company.persist();
+        }
+        return (int) ((Company.count() + CompanyResource.PAGE_SIZE - 1) / CompanyResource.PAGE_SIZE);
+    }
+
+    @Transactional
+    void addUser(Long companyId, Long userId) {
+        Company company = Company.findById(companyId);
+        company.users.add(User.findById(userId));
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class ConditionalGetTest {
+
+    @Inject
+    Fixtures fixtures;
+
+    @Test
+    void unchangedDashboardIsNotModified() {
+        ensureSupport();
+        String cookie = login();
+        Response first = get(cookie, null);
+        Assertions.assertEquals(200, first.statusCode());
+        String etag = first.getHeader("ETag");
+        Assertions.assertNotNull(etag, "Missing ETag");
+
+        Response second = get(cookie, etag);
+        if (second.statusCode() == 200) {
+            // The refresh period ended between the two requests
+            etag = second.getHeader("ETag");
+            second = get(cookie, etag);
+        }
+        Assertions.assertEquals(304, second.statusCode());
+        // The user is looked up, nothing else
+        Assertions.assertEquals("1", second.getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER));
+    }
+
+    @Test
+    void newTicketRendersTheListAgain() {
+        ensureSupport();
+        String cookie = login();
+        String etag = get(cookie, null).getHeader("ETag");
+        addTicket();
+        Response response = get(cookie, etag);
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertNotEquals(etag, response.getHeader("ETag"));
+    }
+
+    @Test
+    void writesToOtherDataKeepTheList() {
+        ensureSupport();
+        String cookie = login();
+        assertNotModifiedAfter(cookie, "/support", this::addCompany);
+    }
+
+    @Test
+    void renamesAndOwnProfileRenderTheListAgain() {
+        ensureSupport();
+        String cookie = login();
+        Long companyId = fixtures.addCompany("ETag Rename Co");
+        assertModifiedAfter(cookie, () -> renameCompany(companyId));
+        assertModifiedAfter(cookie, () -> renameOwnUser("ETag Support " + System.nanoTime()));
+    }
+
+    @Test
+    void ticketPageFollowsItsOwnTicket() {
+        ensureSupport();
+        String cookie = login();
+        Long ticketId = addTicket();
+        Long otherId = addTicket();
+        String path = "/support/tickets/" + ticketId;
+        get(cookie, path, null);
+        assertNotModifiedAfter(cookie, path, () -> addMessage(otherId));
+
+        String etag = get(cookie, path, null).getHeader("ETag");
+        addMessage(ticketId);
+        Response response = get(cookie, path, etag);
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertNotEquals(etag, response.getHeader("ETag"));
+    }
+
+    @Test
+    void removedUserIsNotAnsweredFromTheCookie() {
+        String name = "etaggone" + System.nanoTime();
+        ensureSupport(name);
+        String cookie = Fixtures.login(name);
+        String etag = get(cookie, null).getHeader("ETag");
+        removeUser(name);
+        Assertions.assertEquals(303, get(cookie, etag).statusCode());
+    }
+
+    /**
+     * Allows for the refresh period ending between the two requests by trying again.
+     */
+    private void assertNotModifiedAfter(String cookie, String path, Runnable write) {
+        Response response = null;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            String etag = get(cookie, path, null).getHeader("ETag");
+            write.run();
+            response = get(cookie, path, etag);
+            if (response.statusCode() == 304) {
+                return;
+            }
+        }
+        Assertions.assertEquals(304, response.statusCode());
+    }
+
+    private void assertModifiedAfter(String cookie, Runnable write) {
+        String etag = get(cookie, null).getHeader("ETag");
+        write.run();
+        Response response = get(cookie, etag);
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertNotEquals(etag, response.getHeader("ETag"));
+    }
+
+    private Response get(String cookie, String etag) {
+        return get(cookie, "/support", etag);
+    }
+
+    private Response get(String cookie, String path, String etag) {
+        RequestSpecification request = RestAssured.given().redirects().follow(false).cookie(AuthHelper.AUTH_COOKIE,
+                cookie);
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        return request.get(path);
+    }
+
+    private String login() {
+        return Fixtures.login("etagsupport");
+    }
+
+    void ensureSupport() {
+        ensureSupport("etagsupport");
+    }
+
+    void ensureSupport(String name) {
+        fixtures.ensureUser(name, User.TYPE_SUPPORT);
+    }
+
+    @Transactional
+    void removeUser(String name) {
+        User.delete("name", name);
+    }
+
+    @Transactional
+    void renameCompany(Long companyId) {
+        Company company = Company.findById(companyId);
+        company.name = company.name + " renamed";
+    }
+
+    @Transactional
+    void renameOwnUser(String fullName) {
+        User user = User.find("name", "etagsupport").firstResult();
+        user.fullName = fullName;
+    }
+
+    void addCompany() {
+        fixtures.addCompany("ETag Co");
+    }
+
+    Long addTicket() {
+        return fixtures.addTicket(fixtures.ensureCompany("ETag Tickets Co"), null);
+    }
+
+    void addMessage(Long ticketId) {
+        fixtures.addMessage(ticketId, null, "ETag message");
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.Entitlement;
+import ai.mnemosyne_systems.model.Level;
+import io.quarkus.cache.CacheManager;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class EntitlementExpiryTest {
+
+    @Inject
+    EntitlementExpiryService expiryService;
+
+    @Inject
+    Fixtures fixtures;
+
+    @Inject
+    CompanyEntitlementOptions entitlementOptions;
+
+    @Inject
+    TicketVersions ticketVersions;
+
+    @Inject
+    CacheManager cacheManager;
+
+    @Test
+    void endDateAndFlagFollowTheWrites() {
+        Long lapsed = createEntitlement(LocalDate.now().minusMonths(2), CompanyEntitlement.DURATION_MONTHLY);
+        Long current = createEntitlement(LocalDate.now(), CompanyEntitlement.DURATION_YEARLY);
+
+        CompanyEntitlement lapsedEntry = find(lapsed);
+        Assertions.assertEquals(LocalDate.now().minusMonths(2).plusMonths(1), lapsedEntry.endDate);
+        Assertions.assertTrue(lapsedEntry.expired);
+        Assertions.assertFalse(find(current).expired);
+    }
+
+    @Test
+    void dailyJobExpiresPassedEndDates() {
+        Long current = createEntitlement(LocalDate.now(), CompanyEntitlement.DURATION_MONTHLY);
+        Assertions.assertFalse(find(current).expired);
+
+        Assertions.assertTrue(expiryService.expire(LocalDate.now().plusMonths(2)) > 0);
+        Assertions.assertTrue(find(current).expired);
+    }
+
+    @Test
+    void dailyJobDropsTheCachedChoices() {
+        Long current = createEntitlement(LocalDate.now(), CompanyEntitlement.DURATION_MONTHLY);
+        Long companyId = companyOf(current);
+        options(companyId);
+        CaffeineCache cache = cacheManager.getCache(CompanyEntitlementOptions.CACHE).orElseThrow()
+                .as(CaffeineCache.class);
+        Assertions.assertTrue(cache.keySet().contains(companyId));
+        long version = ticketVersions.current();
+
+        Assertions.assertTrue(expiryService.expire(LocalDate.now().plusMonths(2)) > 0);
+        Assertions.assertFalse(cache.keySet().contains(companyId), "Expired entitlement is still offered");
+        Assertions.assertTrue(ticketVersions.current() > version, "Ticket lists keep the expired entitlement");
+    }
+
+    @Transactional
+    void options(Long companyId) {
+        entitlementOptions.load(companyId);
+    }
+
+    @Transactional
+    Long companyOf(Long id) {
+        CompanyEntitlement entry = CompanyEntitlement.findById(id);
+        return entry.company.id;
+    }
+
+    @Transactional
+    CompanyEntitlement find(Long id) {
+        return CompanyEntitlement.findById(id);
+    }
+
+    @Transactional
+    Long createEntitlement(LocalDate date, int duration) {
+        CompanyEntitlement entry = new CompanyEntitlement();
+        entry.company = Company.findById(fixtures.addCompany("Expiry Co"));
+        entry.entitlement = Entitlement.find("order by id").firstResult();
+        entry.supportLevel = Level.find("order by id").firstResult();
+        entry.date = date;
+        entry.duration = duration;
+        entry.persist();
+        return entry.id;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.Ticket;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class ExportTest {
+
+    @Inject
+    Fixtures fixtures;
+
+    @Test
+    void ticketsAreExportedAsNdjson() {
+        Long[] ids = createTicket();
+        String body = RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin"))
+                .queryParam("company", ids[0]).get("/export/tickets").then().statusCode(200)
+                .contentType(Matchers.startsWith(ExportResource.NDJSON)).extract().asString();
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(1, lines.length);
+        Assertions.assertTrue(lines[0].contains("\"id\":" + ids[1]));
+        Assertions.assertTrue(lines[0].contains("\"name\":\"export.txt\""));
+        Assertions.assertTrue(lines[0].contains("\"size\":11"));
+
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin")).queryParam("company", ids[0])
+                .queryParam("after", ids[1]).get("/export/tickets").then().statusCode(200).body(Matchers.emptyString());
+    }
+
+    @Test
+    void ticketsAreExportedAsCsv() {
+        Long[] ids = createTicket();
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin")).queryParam("format", "csv")
+                .queryParam("company", ids[0]).get("/export/tickets").then().statusCode(200)
+                .contentType(Matchers.startsWith(ExportResource.CSV))
+                .body(Matchers.startsWith("ticket_id,ticket_name,status"))
+                .body(Matchers.containsString("\"Export, with a comma\""))
+                .body(Matchers.containsString(",1,11,export.txt"));
+    }
+
+    @Test
+    void datesSelectTheMessagesOfTheirDays() {
+        Long companyId = fixtures.addCompany("Export Dates Co");
+        Long ticketId = fixtures.addTicket(companyId, null);
+        addMessage(ticketId, LocalDateTime.of(2020, 1, 9, 23, 59), "Before the range");
+        addMessage(ticketId, LocalDateTime.of(2020, 1, 10, 0, 0), "First of the range");
+        addMessage(ticketId, LocalDateTime.of(2020, 1, 10, 23, 59, 59), "Last of the range");
+        Long laterId = fixtures.addTicket(companyId, null);
+        addMessage(laterId, LocalDateTime.of(2020, 1, 11, 0, 0), "After the range");
+        fixtures.addTicket(companyId, null);
+
+        String body = RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin"))
+                .queryParam("company", companyId).queryParam("from", "2020-01-10").queryParam("to", "2020-01-10")
+                .get("/export/tickets").then().statusCode(200).extract().asString();
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(1, lines.length, "Only the ticket with messages in the range is exported");
+        Assertions.assertTrue(lines[0].contains("\"id\":" + ticketId));
+        Assertions.assertTrue(lines[0].contains("First of the range"));
+        Assertions.assertTrue(lines[0].contains("Last of the range"));
+        Assertions.assertFalse(lines[0].contains("Before the range"));
+    }
+
+    @Test
+    void ticketIsWholeAcrossFetches() {
+        Long companyId = fixtures.addCompany("Export Fetch Co");
+        Long ticketId = fixtures.addTicket(companyId, null);
+        for (int i = 0; i < 3; i++) {
+            Long messageId = fixtures.addMessage(ticketId, null, "Fetched message " + i);
+            fixtures.addAttachment(messageId, "first" + i + ".txt", "first");
+            fixtures.addAttachment(messageId, "second" + i + ".txt", "second");
+        }
+        Long nextId = fixtures.addTicket(companyId, null);
+        fixtures.addMessage(nextId, null, "Next ticket");
+
+        String body = RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin"))
+                .queryParam("company", companyId).get("/export/tickets").then().statusCode(200).extract().asString();
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(2, lines.length);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(lines[0].contains("Fetched message " + i));
+            Assertions.assertTrue(lines[0].contains("\"name\":\"second" + i + ".txt\""));
+        }
+        Assertions.assertTrue(lines[1].contains("Next ticket"));
+    }
+
+    @Test
+    void formulasAreNotExportedAsFormulas() {
+        Long companyId = fixtures.addCompany("Export Formula Co");
+        Long ticketId = fixtures.addTicket(companyId, null);
+        fixtures.addMessage(ticketId, null, "=HYPERLINK(\"x\")");
+        fixtures.addMessage(ticketId, null, "@SUM(A1)");
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin")).queryParam("format", "csv")
+                .queryParam("company", companyId).get("/export/tickets").then().statusCode(200)
+                .body(Matchers.containsString(",\"'=HYPERLINK(\"\"x\"\")\","))
+                .body(Matchers.containsString(",'@SUM(A1),"));
+    }
+
+    @Test
+    void exportIsForAdminsOnly() {
+        RestAssured.given().redirects().follow(false).cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("support1"))
+                .get("/export/tickets").then().statusCode(303);
+    }
+
+    @Transactional
+    void addMessage(Long ticketId, LocalDateTime date, String body) {
+        Message message = new Message();
+        message.ticket = Ticket.findById(ticketId);
+        message.body = body;
+        message.date = date;
+        message.persist();
+    }
+
+    Long[] createTicket() {
+        Long companyId = fixtures.addCompany("Export Co");
+        Long ticketId = fixtures.addTicket(companyId, null);
+        Long messageId = fixtures.addMessage(ticketId, null, "Export, with a comma");
+        fixtures.addAttachment(messageId, "export.txt", "export data");
+        return new Long[] { companyId, ticketId };
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Attachment;
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.elytron.security.common.BcryptUtil;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Logs in and creates the rows shared by the tests. Users are created with their name as password and an email of
+ * {@code name@mnemosyne-systems.ai}; the rows are returned by id, so they can be used outside the transaction.
+ */
+@ApplicationScoped
+public class Fixtures {
+
+    static String login(String username) {
+        return login(username, username);
+    }
+
+    static String login(String username, String password) {
+        return RestAssured.given().redirects().follow(false).contentType(ContentType.URLENC)
+                .formParam("username", username).formParam("password", password).post("/login").then().statusCode(303)
+                .extract().cookie(AuthHelper.AUTH_COOKIE);
+    }
+
+    @Transactional
+    public Long ensureUser(String name, String type) {
+        User user = User.find("email", name + "@mnemosyne-systems.ai").firstResult();
+        if (user == null) {
+            user = new User();
+            user.name = name;
+            user.email = name + "@mnemosyne-systems.ai";
+            user.type = type;
+            user.passwordHash = BcryptUtil.bcryptHash(name);
+            user.persist();
+        }
+        return user.id;
+    }
+
+    @Transactional
+    public Long ensureCompany(String name) {
+        Company company = Company.find("name", name).firstResult();
+        if (company == null) {
+            company = new Company();
+            company.name = name;
+            company.persist();
+        }
+        return company.id;
+    }
+
+    /**
+     * Adds a company whose name starts with the prefix and is not used by any other test run.
+     */
+    @Transactional
+    public Long addCompany(String prefix) {
+        Company company = new Company();
+        company.name = prefix + " " + System.nanoTime();
+        company.persist();
+        return company.id;
+    }
+
+    @Transactional
+    public Long addTicket(Long companyId, Long requesterId) {
+        Company company = Company.findById(companyId);
+        Ticket ticket = new Ticket();
+        ticket.name = Ticket.nextName(company);
+        ticket.status = Ticket.Status.OPEN.getLabel();
+        ticket.company = company;
+        ticket.requester = requesterId == null ? null : User.findById(requesterId);
+        ticket.persist();
+        return ticket.id;
+    }
+
+    @Transactional
+    public Long addMessage(Long ticketId, Long authorId, String body) {
+        Message message = new Message();
+        message.ticket = Ticket.findById(ticketId);
+        message.body = body;
+        message.date = LocalDateTime.now();
+        message.author = authorId == null ? null : User.findById(authorId);
+        message.persist();
+        return message.id;
+    }
+
+    @Transactional
+    public Long addAttachment(Long messageId, String name, String data) {
+        Attachment attachment = new Attachment();
+        attachment.message = Message.findById(messageId);
+        attachment.name = name;
+        attachment.mimeType = "text/plain";
+        attachment.data = data.getBytes(StandardCharsets.UTF_8);
+        attachment.persist();
+        return attachment.id;
+    }
+
+    @Transactional
+    public String ticketName(Long ticketId) {
+        Ticket ticket = Ticket.findById(ticketId);
+        return ticket.name;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.cache.CacheManager;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.Template;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.util.List;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class FragmentKeysTest {
+
+    @Inject
+    Fixtures fixtures;
+
+    @Inject
+    Engine engine;
+
+    @Inject
+    CacheManager cacheManager;
+
+    @Test
+    void editedMessageIsRenderedAgain() {
+        fixtures.ensureUser("fragmentsupport", User.TYPE_SUPPORT);
+        String cookie = Fixtures.login("fragmentsupport");
+        Long ticketId = fixtures.addTicket(fixtures.addCompany("Fragment Co"), null);
+        Long messageId = fixtures.addMessage(ticketId, null, "First fragment body");
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get("/support/tickets/" + ticketId).then()
+                .statusCode(200).body(Matchers.containsString("First fragment body"));
+
+        Assertions.assertEquals(1, editMessage(messageId, "Second fragment body"));
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get("/support/tickets/" + ticketId).then()
+                .statusCode(200).body(Matchers.containsString("Second fragment body"))
+                .body(Matchers.not(Matchers.containsString("First fragment body")));
+    }
+
+    @Test
+    void rowFollowsItsOwnTicket() {
+        Long companyId = fixtures.addCompany("Fragment Row Co");
+        Long ticketId = fixtures.addTicket(companyId, null);
+        Long otherId = fixtures.addTicket(fixtures.addCompany("Fragment Other Co"), null);
+        String key = rowKey(ticketId);
+
+        fixtures.addMessage(otherId, null, "Other ticket message");
+        Assertions.assertEquals(key, rowKey(ticketId));
+
+        fixtures.addMessage(ticketId, null, "Own ticket message");
+        String changed = rowKey(ticketId);
+        Assertions.assertNotEquals(key, changed);
+
+        renameCompany(companyId);
+        String renamed = rowKey(ticketId);
+        Assertions.assertNotEquals(changed, renamed);
+
+        assignSupport(ticketId, fixtures.ensureUser("fragmentsupport", User.TYPE_SUPPORT));
+        Assertions.assertNotEquals(renamed, rowKey(ticketId));
+    }
+
+    @Test
+    void unsavedMessagesAreNotCached() {
+        CaffeineCache cache = cacheManager.getCache("qute-cache").orElseThrow().as(CaffeineCache.class);
+        Template template = engine.parse("{#messageBody message=message /}");
+        Message draft = new Message();
+        draft.body = "Draft *body*";
+        int size = cache.keySet().size();
+        Assertions.assertTrue(template.data("message", draft).render().contains("<em>body</em>"));
+        Assertions.assertEquals(size, cache.keySet().size());
+
+        Long ticketId = fixtures.addTicket(fixtures.addCompany("Fragment Draft Co"), null);
+        Message saved = findMessage(fixtures.addMessage(ticketId, null, "Saved *body*"));
+        Assertions.assertTrue(template.data("message", saved).render().contains("<em>body</em>"));
+        Assertions.assertEquals(size + 1, cache.keySet().size());
+    }
+
+    @Transactional
+    int editMessage(Long messageId, String body) {
+        Message message = Message.findById(messageId);
+        message.body = body;
+        message.flush();
+        return message.version;
+    }
+
+    @Transactional
+    Message findMessage(Long messageId) {
+        return Message.findById(messageId);
+    }
+
+    // Written with SQL, as another instance would be seen, so that no counter of this one moves
+    @Transactional
+    void renameCompany(Long companyId) {
+        Company.getEntityManager().createNativeQuery("UPDATE companies SET name = name || ' renamed' WHERE id = ?1")
+                .setParameter(1, companyId).executeUpdate();
+    }
+
+    @Transactional
+    void assignSupport(Long ticketId, Long supportId) {
+        Ticket ticket = Ticket.findById(ticketId);
+        ticket.supportUsers.add(User.findById(supportId));
+    }
+
+    @Transactional
+    String rowKey(Long ticketId) {
+        Ticket ticket = Ticket.findById(ticketId);
+        User support = TicketQueries.latestSupportUsers(List.of(ticket)).get(ticketId);
+        return FragmentKeys.rowKey(ticket, TicketQueries.latestMessageDates(List.of(ticket)).get(ticketId),
+                support == null ? null : support.id, support == null ? null : support.name, "Red", "support");
+    }
+}
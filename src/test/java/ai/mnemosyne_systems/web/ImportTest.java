@@ -0,0 +1,228 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Attachment;
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class ImportTest {
+
+    @Inject
+    Fixtures fixtures;
+
+    @Test
+    void companiesUsersAndTicketsAreImported() {
+        String company = "Imp" + System.nanoTime();
+        String email = company.toLowerCase() + "@import.test";
+        String named = Ticket.formatName(company, 7);
+        String body = line("{'type':'company','key':'c1','name':'" + company + "'}")
+                + line("{'type':'user','email':'" + email + "','company':'c1','fullName':'Imported User'}")
+                + line("{'type':'ticket','company':'c1','requester':'" + email + "','status':'Assigned',"
+                        + "'messages':[{'date':'2026-01-02T03:04:05','author':'" + email + "','body':'Imported body',"
+                        + "'attachments':[{'name':'plain.bin','data':'" + base64("plain") + "'},"
+                        + "{'name':'note.txt','mimeType':'text/plain','data':'" + base64("note") + "'}]}]}")
+                + line("{'type':'ticket','company':'c1','name':'" + named + "','messages':[]}")
+                + line("{'type':'ticket','company':'c1','status':'Waiting',"
+                        + "'messages':[{'date':'2026-01-03T00:00:00','body':'Second'}]}");
+        importNdjson(body, 0).body("records", Matchers.is(5)).body("companies", Matchers.is(1))
+                .body("users", Matchers.is(1)).body("tickets", Matchers.is(3)).body("messages", Matchers.is(2))
+                .body("attachments", Matchers.is(2)).body("error", Matchers.nullValue());
+
+        Assertions.assertEquals(List.of(Ticket.formatName(company, 8), named, Ticket.formatName(company, 9)),
+                ticketNames(company));
+        Assertions.assertEquals(9L, ticketSequence(company));
+        Assertions.assertEquals(List.of("Assigned", "Open", "Open"), ticketStatuses(company));
+        Assertions.assertTrue(isMember(company, email), "Imported user is not in the company");
+        Assertions.assertEquals(List.of("application/octet-stream:plain", "text/plain:note"), attachments(company));
+        Assertions.assertEquals(email, firstAuthor(company));
+    }
+
+    @Test
+    void existingCompaniesAndUsersAreReused() {
+        String company = "Reused Import Co " + System.nanoTime();
+        Long companyId = fixtures.ensureCompany(company);
+        String name = "reusedimport" + System.nanoTime();
+        fixtures.ensureUser(name, User.TYPE_USER);
+        String email = name + "@mnemosyne-systems.ai";
+        String body = line("{'type':'company','name':'" + company + "'}")
+                + line("{'type':'user','email':'" + email.toUpperCase() + "'}")
+                + line("{'type':'ticket','company':'" + company + "','requester':'" + email + "','messages':[]}");
+        importNdjson(body, 0).body("companies", Matchers.is(0)).body("users", Matchers.is(0))
+                .body("tickets", Matchers.is(1)).body("error", Matchers.nullValue());
+        Assertions.assertEquals(companyId, fixtures.ensureCompany(company));
+        Assertions.assertEquals(1, ticketNames(company).size());
+        Assertions.assertEquals(email, requester(company));
+    }
+
+    @Test
+    void skippedRecordsAreNotImportedAgain() {
+        String company = "Resumed Import Co " + System.nanoTime();
+        String body = line("{'type':'company','name':'" + company + "'}")
+                + line("{'type':'ticket','company':'" + company + "','messages':[]}")
+                + line("{'type':'ticket','company':'" + company + "','messages':[]}");
+        importNdjson(line("{'type':'company','name':'" + company + "'}")
+                + line("{'type':'ticket','company':'" + company + "','messages':[]}"), 0).body("records",
+                        Matchers.is(2));
+        importNdjson(body, 2).body("records", Matchers.is(3)).body("companies", Matchers.is(0)).body("tickets",
+                Matchers.is(1));
+        Assertions.assertEquals(2, ticketNames(company).size());
+    }
+
+    @Test
+    void exportedTicketsAreImportedBack() {
+        Long companyId = fixtures.addCompany("Round Trip Co");
+        Long ticketId = fixtures.addTicket(companyId, null);
+        fixtures.addMessage(ticketId, null, "Round trip body");
+        String exported = RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin"))
+                .queryParam("company", companyId).get("/export/tickets").then().statusCode(200).extract().asString();
+        String company = companyName(companyId);
+
+        importNdjson(exported, 0).body("records", Matchers.is(1)).body("companies", Matchers.is(0))
+                .body("tickets", Matchers.is(1)).body("messages", Matchers.is(1)).body("error", Matchers.nullValue());
+        List<String> names = ticketNames(company);
+        Assertions.assertEquals(2, names.size());
+        Assertions.assertEquals(names.get(0), names.get(1));
+        Assertions.assertEquals(List.of("Round trip body", "Round trip body"), bodies(company));
+    }
+
+    @Test
+    void exportedFormulasAreImportedBackAsText() {
+        Long companyId = fixtures.addCompany("Formula Trip Co");
+        Long ticketId = fixtures.addTicket(companyId, null);
+        fixtures.addMessage(ticketId, null, "=1+1");
+        fixtures.addMessage(ticketId, null, "'-kept");
+        String exported = RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin"))
+                .queryParam("format", "csv").queryParam("company", companyId).get("/export/tickets").then()
+                .statusCode(200).extract().asString();
+        String company = companyName(companyId);
+
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin")).contentType(ExportResource.CSV)
+                .body(exported).post("/import").then().statusCode(200).body("tickets", Matchers.is(1))
+                .body("error", Matchers.nullValue());
+        Assertions.assertEquals(List.of("=1+1", "'-kept", "=1+1", "'-kept"), bodies(company));
+    }
+
+    @Test
+    void importIsForAdminsOnly() {
+        RestAssured.given().redirects().follow(false).cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("support1"))
+                .contentType(ExportResource.NDJSON).body("{\"type\":\"company\",\"name\":\"Import Co\"}\n")
+                .post("/import").then().statusCode(303);
+    }
+
+    @Test
+    void invalidRecordStopsTheImport() {
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin")).contentType(ExportResource.NDJSON)
+                .body("{\"type\":\"user\"}\n").post("/import").then().statusCode(200).body("records", Matchers.is(0))
+                .body("users", Matchers.is(0)).body("error", Matchers.equalTo("Record 1: missing email"));
+    }
+
+    @Test
+    void csvNeedsTheCompanyColumn() {
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin")).contentType(ExportResource.CSV)
+                .body("ticket_id,ticket_name,status\r\n1,A-00001,Open\r\n").post("/import").then().statusCode(200)
+                .body("tickets", Matchers.is(0)).body("error", Matchers.containsString("company_name"));
+    }
+
+    private ValidatableResponse importNdjson(String body, long skip) {
+        return RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin"))
+                .contentType(ExportResource.NDJSON).queryParam("skip", skip).body(body).post("/import").then()
+                .statusCode(200);
+    }
+
+    private static String line(String json) {
+        return json.replace('\'', '"') + "\n";
+    }
+
+    private static String base64(String data) {
+        return Base64.getEncoder().encodeToString(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Transactional
+    String companyName(Long companyId) {
+        Company company = Company.findById(companyId);
+        return company.name;
+    }
+
+    @Transactional
+    Long ticketSequence(String company) {
+        Company found = Company.find("name", company).firstResult();
+        return found.ticketSequence;
+    }
+
+    @Transactional
+    List<String> ticketNames(String company) {
+        List<String> names = new ArrayList<>();
+        for (Ticket ticket : Ticket.<Ticket> list("company.name = ?1 order by id", company)) {
+            names.add(ticket.name);
+        }
+        return names;
+    }
+
+    @Transactional
+    List<String> ticketStatuses(String company) {
+        List<String> statuses = new ArrayList<>();
+        for (Ticket ticket : Ticket.<Ticket> list("company.name = ?1 order by id", company)) {
+            statuses.add(ticket.status);
+        }
+        return statuses;
+    }
+
+    @Transactional
+    String requester(String company) {
+        Ticket ticket = Ticket.find("company.name = ?1", company).firstResult();
+        return ticket.requester == null ? null : ticket.requester.email;
+    }
+
+    @Transactional
+    boolean isMember(String company, String email) {
+        Company found = Company.find("name", company).firstResult();
+        return found.users.stream().anyMatch(user -> email.equals(user.email));
+    }
+
+    @Transactional
+    List<String> bodies(String company) {
+        List<String> bodies = new ArrayList<>();
+        for (Message message : Message.<Message> list("ticket.company.name = ?1 order by id", company)) {
+            bodies.add(message.body);
+        }
+        return bodies;
+    }
+
+    @Transactional
+    String firstAuthor(String company) {
+        Message message = Message.find("ticket.company.name = ?1 order by id", company).firstResult();
+        return message.author == null ? null : message.author.email;
+    }
+
+    @Transactional
+    List<String> attachments(String company) {
+        List<String> attachments = new ArrayList<>();
+        for (Attachment attachment : Attachment.<Attachment> list("message.ticket.company.name = ?1 order by id",
+                company)) {
+            attachments.add(attachment.mimeType + ":" + new String(attachment.data, StandardCharsets.UTF_8));
+        }
+        return attachments;
+    }
+}
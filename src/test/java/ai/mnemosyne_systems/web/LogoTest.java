@@ -0,0 +1,100 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import javax.imageio.ImageIO;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class LogoTest {
+
+    @Inject
+    Fixtures fixtures;
+
+    @Test
+    void uploadedLogoIsServedFromFingerprintedUrl() throws IOException {
+        fixtures.ensureUser("logosupport", User.TYPE_SUPPORT);
+        String cookie = Fixtures.login("logosupport");
+        RestAssured.given().redirects().follow(false).cookie(AuthHelper.AUTH_COOKIE, cookie)
+                .contentType(ContentType.URLENC).formParam("name", "logosupport")
+                .formParam("logoData", "data:image/png;base64," + Base64.getEncoder().encodeToString(png(300, 200)))
+                .post("/profile").then().statusCode(303);
+
+        String logoUrl = logoUrl();
+        Assertions.assertNotNull(logoUrl, "Missing logo");
+        String page = RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get("/profile").then().statusCode(200)
+                .extract().asString();
+        Assertions.assertTrue(page.contains("src=\"" + logoUrl + "\""), "Page does not link the logo");
+        Assertions.assertFalse(page.contains("data:image/png;base64"), "Page still inlines the logo");
+
+        Response logo = RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get(logoUrl);
+        Assertions.assertEquals(200, logo.statusCode());
+        Assertions.assertEquals("image/png", logo.contentType());
+        Assertions.assertEquals(LogoResource.CACHE_CONTROL, logo.getHeader("Cache-Control"));
+        Assertions.assertTrue(logo.asByteArray().length > 0);
+
+        String stale = logoUrl.substring(0, logoUrl.lastIndexOf('/') + 1) + "0000000000000000";
+        RestAssured.given().redirects().follow(false).cookie(AuthHelper.AUTH_COOKIE, cookie).get(stale).then()
+                .statusCode(303).header("Location", Matchers.endsWith(logoUrl));
+        RestAssured.given().redirects().follow(false).get(logoUrl).then().statusCode(303);
+    }
+
+    @Test
+    void fingerprintIsTheOneOfTheMigration() {
+        // substring(encode(sha256('abc'), 'hex') FOR 16) in PostgreSQL, as V7 fingerprints the moved logos
+        Assertions.assertEquals("ba7816bf8f01cfea", LogoHelper.fingerprint("abc".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void oversizedLogoIsRefused() throws IOException {
+        fixtures.ensureUser("logolimits", User.TYPE_SUPPORT);
+        String cookie = Fixtures.login("logolimits");
+        byte[] large = new byte[300 * 1024];
+        new Random(1).nextBytes(large);
+        upload(cookie, "data:image/png;base64," + Base64.getEncoder().encodeToString(large)).then().statusCode(400);
+        upload(cookie, "data:image/png;base64," + Base64.getEncoder().encodeToString(png(1100, 1000))).then()
+                .statusCode(400);
+        upload(cookie, "data:image/png;base64," + Base64.getEncoder().encodeToString(png(1000, 1000))).then()
+                .statusCode(303);
+    }
+
+    private static Response upload(String cookie, String logoData) {
+        return RestAssured.given().redirects().follow(false).cookie(AuthHelper.AUTH_COOKIE, cookie)
+                .contentType(ContentType.URLENC).formParam("name", "logolimits").formParam("logoData", logoData)
+                .post("/profile");
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    @Transactional
+    String logoUrl() {
+        User user = User.find("email", "logosupport@mnemosyne-systems.ai").firstResult();
+        return user.getLogoUrl();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.mailer.Mail;
+import io.quarkus.mailer.MockMailbox;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Sends the notifications on virtual threads, which only happens once the transaction that causes them has committed.
+ */
+@QuarkusTest
+@TestProfile(MailDispatchTest.VirtualThreads.class)
+class MailDispatchTest {
+
+    public static class VirtualThreads implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("ticket.mailer.virtual-threads", "true");
+        }
+    }
+
+    @Inject
+    Fixtures fixtures;
+
+    @Inject
+    TicketEmailService emailService;
+
+    @Inject
+    MockMailbox mailbox;
+
+    @Test
+    void mailIsSentAfterTheCommit() throws InterruptedException {
+        String name = "mailcommit" + System.nanoTime();
+        String email = name + "@mnemosyne-systems.ai";
+        Long ticketId = fixtures.addTicket(fixtures.addCompany("Mail Commit Co"),
+                fixtures.ensureUser(name, User.TYPE_USER));
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            emailService.notifyStatusChange(Ticket.findById(ticketId), "Open", null);
+            Assertions.assertTrue(mailbox.getMessagesSentTo(email).isEmpty(), "Mail sent before the commit");
+        });
+        Assertions.assertEquals(1, awaitMails(email).size());
+    }
+
+    @Test
+    void mailIsNotSentAfterARollback() throws InterruptedException {
+        String name = "mailrollback" + System.nanoTime();
+        String email = name + "@mnemosyne-systems.ai";
+        Long ticketId = fixtures.addTicket(fixtures.addCompany("Mail Rollback Co"),
+                fixtures.ensureUser(name, User.TYPE_USER));
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            emailService.notifyMessageChange(Ticket.findById(ticketId), null, null);
+            QuarkusTransaction.setRollbackOnly();
+        });
+        // A committed notification sent afterwards shows that the dispatch has run
+        QuarkusTransaction.requiringNew()
+                .run(() -> emailService.notifyStatusChange(Ticket.findById(ticketId), "Open", null));
+        List<Mail> mails = awaitMails(email);
+        Assertions.assertEquals(1, mails.size());
+        Assertions.assertTrue(mails.get(0).getSubject().endsWith("Status update"), mails.get(0).getSubject());
+    }
+
+    private List<Mail> awaitMails(String email) throws InterruptedException {
+        for (int i = 0; i < 100 && mailbox.getMessagesSentTo(email).isEmpty(); i++) {
+            Thread.sleep(50);
+        }
+        return mailbox.getMessagesSentTo(email);
+    }
+}
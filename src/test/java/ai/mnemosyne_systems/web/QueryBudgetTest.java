@@ -0,0 +1,230 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Attachment;
+import ai.mnemosyne_systems.model.Category;
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.Entitlement;
+import ai.mnemosyne_systems.model.Level;
+import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the budgeted endpoints against a small and a large dataset and checks that the number of SQL statements,
+ * reported in {@link QueryBudgetFilter#QUERY_COUNT_HEADER}, stays the same.
+ */
+@QuarkusTest
+class QueryBudgetTest {
+
+    @Inject
+    Fixtures fixtures;
+
+    private static final int SMALL = 3;
+    private static final int LARGE = 30;
+
+    @Test
+    void supportDashboardDoesNotGrowWithTickets() {
+        Long companyId = ensureFixture("Budget Dashboard Co");
+        String cookie = Fixtures.login("support1");
+        addTickets(companyId, SMALL);
+        int small = statements(cookie, "/support");
+        addTickets(companyId, LARGE - SMALL);
+        int large = statements(cookie, "/support");
+        Assertions.assertEquals(small, large, "Support dashboard statements grew with tickets");
+    }
+
+    @Test
+    void ticketDetailDoesNotGrowWithMessages() {
+        Long companyId = ensureFixture("Budget Detail Co");
+        String cookie = Fixtures.login("support1");
+        Long ticketId = addTickets(companyId, 1);
+        addMessages(ticketId, SMALL);
+        int small = statements(cookie, "/support/tickets/" + ticketId);
+        addMessages(ticketId, LARGE - SMALL);
+        int large = statements(cookie, "/support/tickets/" + ticketId);
+        Assertions.assertEquals(small, large, "Ticket detail statements grew with messages");
+    }
+
+    @Test
+    void attachmentViewDoesNotGrowWithTickets() {
+        Long companyId = ensureFixture("Budget Attachment Co");
+        String cookie = Fixtures.login("budgetuser");
+        Long ticketId = addTickets(companyId, SMALL);
+        Long attachmentId = addMessages(ticketId, 1);
+        int small = statements(cookie, "/attachments/" + attachmentId);
+        addTickets(companyId, LARGE - SMALL);
+        int large = statements(cookie, "/attachments/" + attachmentId);
+        Assertions.assertEquals(small, large, "Attachment view statements grew with tickets");
+    }
+
+    @Test
+    void alarmStatusDoesNotGrowWithTickets() {
+        Long companyId = ensureFixture("Budget Alarm Co");
+        String cookie = Fixtures.login("support1");
+        addTickets(companyId, SMALL);
+        int small = statements(cookie, "/tickets/alarm/status");
+        addTickets(companyId, LARGE - SMALL);
+        int large = statements(cookie, "/tickets/alarm/status");
+        Assertions.assertEquals(small, large, "Alarm status statements grew with tickets");
+    }
+
+    @Test
+    void incomingMailDoesNotGrowWithMessages() {
+        Long companyId = ensureFixture("Budget Mail Co");
+        Long ticketId = addTickets(companyId, 1);
+        String ticketName = fixtures.ticketName(ticketId);
+        addMessages(ticketId, SMALL);
+        receiveMail(ticketName);
+        int small = queryCount(receiveMail(ticketName));
+        addMessages(ticketId, LARGE - SMALL);
+        receiveMail(ticketName);
+        int large = queryCount(receiveMail(ticketName));
+        Assertions.assertEquals(small, large, "Incoming mail statements grew with messages");
+    }
+
+    /**
+     * The first request may still assign TAMs or warm up lookups, so the second one is measured.
+     */
+    private int statements(String cookie, String path) {
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get(path).then().statusCode(200);
+        Response response = RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get(path);
+        Assertions.assertEquals(200, response.statusCode());
+        return queryCount(response);
+    }
+
+    private Response receiveMail(String ticketName) {
+        Response response = RestAssured.given().contentType("multipart/form-data")
+                .multiPart("from", "budgetuser@mnemosyne-systems.ai").multiPart("subject", "[" + ticketName + "] Re")
+                .multiPart("body", "Budget reply " + System.nanoTime()).post("/mail/incoming");
+        Assertions.assertEquals(200, response.statusCode());
+        return response;
+    }
+
+    private int queryCount(Response response) {
+        String header = response.getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER);
+        Assertions.assertNotNull(header, "Missing " + QueryBudgetFilter.QUERY_COUNT_HEADER);
+        return Integer.parseInt(header);
+    }
+
+    @Transactional
+    Long ensureFixture(String companyName) {
+        fixtures.ensureUser("support1", User.TYPE_SUPPORT);
+        User requester = User.findById(fixtures.ensureUser("budgetuser", User.TYPE_USER));
+        Company company = Company.findById(fixtures.ensureCompany(companyName));
+        if (!company.users.contains(requester)) {
+            company.users.add(requester);
+        }
+        if (Category.count() == 0) {
+            Category category = new Category();
+            category.name = "Question";
+            category.isDefault = true;
+            category.persist();
+        }
+        if (CompanyEntitlement.count("company", company) == 0) {
+            Entitlement entitlement = Entitlement.find("name", "Starter").firstResult();
+            if (entitlement == null) {
+                entitlement = new Entitlement();
+                entitlement.name = "Starter";
+                entitlement.description = "Starter";
+                entitlement.persist();
+            }
+            Level level = Level.find("name", "Critical").firstResult();
+            if (level == null) {
+                level = new Level();
+                level.name = "Critical";
+                level.level = 60;
+                level.color = "Red";
+                level.persist();
+            }
+            CompanyEntitlement entry = new CompanyEntitlement();
+            entry.company = company;
+            entry.entitlement = entitlement;
+            entry.supportLevel = level;
+            entry.persist();
+        }
+        return company.id;
+    }
+
+    /**
+     * Adds tickets to the company, every other one assigned to support1, and returns the id of the first one.
+     */
+    @Transactional
+    Long addTickets(Long companyId, int count) {
+        Company company = Company.findById(companyId);
+        User requester = User.find("email", "budgetuser@mnemosyne-systems.ai").firstResult();
+        User support = User.find("email", "support1@mnemosyne-systems.ai").firstResult();
+        CompanyEntitlement entitlement = CompanyEntitlement.find("company", company).firstResult();
+        Long firstId = null;
+        for (int i = 0; i < count; i++) {
+            Ticket ticket = new Ticket();
+            ticket.name = Ticket.nextName(company);
+            ticket.status = Ticket.Status.OPEN.getLabel();
+            ticket.company = company;
+            ticket.requester = requester;
+            ticket.companyEntitlement = entitlement;
+            ticket.category = Category.findDefault();
+            if (i % 2 == 0) {
+                ticket.supportUsers.add(support);
+            }
+            ticket.persist();
+            Message message = new Message();
+            message.ticket = ticket;
+            message.body = "Budget ticket created.";
+            message.date = LocalDateTime.now().minusMinutes(90);
+            message.author = requester;
+            message.persist();
+            if (firstId == null) {
+                firstId = ticket.id;
+            }
+        }
+        return firstId;
+    }
+
+    /**
+     * Adds messages with one attachment each, alternating between the requester and support1, and returns the id of the
+     * first attachment.
+     */
+    @Transactional
+    Long addMessages(Long ticketId, int count) {
+        Ticket ticket = Ticket.findById(ticketId);
+        User requester = User.find("email", "budgetuser@mnemosyne-systems.ai").firstResult();
+        User support = User.find("email", "support1@mnemosyne-systems.ai").firstResult();
+        Long firstId = null;
+        for (int i = 0; i < count; i++) {
+            Message message = new Message();
+            message.ticket = ticket;
+            message.body = "Budget message " + i;
+            message.date = LocalDateTime.now().minusMinutes(count - i);
+            message.author = i % 2 == 0 ? requester : support;
+            message.persist();
+            Attachment attachment = new Attachment();
+            attachment.message = message;
+            attachment.name = "budget-" + i + ".txt";
+            attachment.mimeType = "text/plain";
+            attachment.data = ("Budget attachment " + i).getBytes(StandardCharsets.UTF_8);
+            attachment.persist();
+            if (firstId == null) {
+                firstId = attachment.id;
+            }
+        }
+        return firstId;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import jakarta.inject.Inject;
+import java.util.Map;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the Flyway migrations on an empty PostgreSQL database from Dev Services, and lets Hibernate validate the result
+ * against the entities, as production starts. It needs Docker, so it runs with the integration tests,
+ * {@code mvn verify -DskipITs=false}.
+ */
+@QuarkusTest
+@TestProfile(SchemaMigrationIT.Postgres.class)
+class SchemaMigrationIT {
+
+    public static class Postgres implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.datasource.db-kind", "postgresql", "quarkus.datasource.jdbc.url", "",
+                    "quarkus.datasource.username", "", "quarkus.datasource.password", "",
+                    "quarkus.flyway.migrate-at-start", "true", "quarkus.hibernate-orm.schema-management.strategy",
+                    "validate");
+        }
+    }
+
+    @Inject
+    Flyway flyway;
+
+    @Test
+    void migrationsMatchTheEntities() {
+        MigrationInfo current = flyway.info().current();
+        Assertions.assertNotNull(current, "No migration was applied");
+        Assertions.assertEquals(0, flyway.info().pending().length, "Migrations are pending");
+        for (MigrationInfo migration : flyway.info().applied()) {
+            Assertions.assertTrue(migration.getState().isApplied() && !migration.getState().isFailed(),
+                    migration.getScript() + " " + migration.getState());
+        }
+    }
+
+    @Test
+    void seededPagesAreServed() {
+        String cookie = Fixtures.login("support1");
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get("/support").then().statusCode(200);
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get("/tickets/alarm/status").then().statusCode(200)
+                .body(Matchers.anyOf(Matchers.equalTo("true"), Matchers.equalTo("false")));
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.Entitlement;
+import ai.mnemosyne_systems.model.Level;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class SearchTest {
+
+    @Inject
+    Fixtures fixtures;
+
+    @Test
+    void companiesAreFoundByPrefix() {
+        ensureCompanies();
+        String cookie = Fixtures.login("support1");
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).queryParam("q", "typeahead co")
+                .get("/search/companies").then().statusCode(200).contentType(ContentType.JSON)
+                .body("size()", Matchers.equalTo(3)).body("[0].name", Matchers.equalTo("Typeahead Co 0"));
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).queryParam("q", "Typeahead").queryParam("limit", 2)
+                .get("/search/companies").then().statusCode(200).body("size()", Matchers.equalTo(2));
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).queryParam("q", "%").get("/search/companies").then()
+                .statusCode(200).body("size()", Matchers.equalTo(0));
+    }
+
+    @Test
+    void usersAreOnlySearchedByAdmins() {
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("admin")).queryParam("q", "user1")
+                .queryParam("type", "user").get("/search/users").then().statusCode(200)
+                .body("name", Matchers.hasItem("user1"));
+        RestAssured.given().redirects().follow(false).cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("support1"))
+                .queryParam("q", "user1").queryParam("type", "user").get("/search/users").then().statusCode(303);
+    }
+
+    @Test
+    void ticketFormLoadsCompaniesOnDemand() {
+        ensureCompanies();
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("support1")).get("/tickets/new").then()
+                .statusCode(200).body(Matchers.containsString("data-typeahead=\"/search/companies\""))
+                .body(Matchers.not(Matchers.containsString("Typeahead Co 1")));
+    }
+
+    @Test
+    void userFormsLoadCompaniesOnDemand() {
+        ensureCompanies();
+        Long companyId = fixtures.ensureCompany("Typeahead Co 0");
+        assertCompaniesOnDemand(Fixtures.login("admin"), "/users/create", "/users?companyId=" + companyId);
+        assertCompaniesOnDemand(Fixtures.login("support1"), "/support/users/" + companyId,
+                "/support/users/" + companyId + "/create");
+    }
+
+    private static void assertCompaniesOnDemand(String cookie, String... paths) {
+        for (String path : paths) {
+            RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get(path).then().statusCode(200)
+                    .body(Matchers.containsString("data-typeahead=\"/search/companies\""))
+                    .body(Matchers.not(Matchers.containsString("Typeahead Co 1")));
+        }
+    }
+
+    @Test
+    void companyEntitlementsAreListedOncePerEntitlement() {
+        Long companyId = ensureEntitlementCompany();
+        String cookie = Fixtures.login("support1");
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie)
+                .get("/search/companies/" + companyId + "/entitlements").then().statusCode(200)
+                .contentType(ContentType.JSON).body("ticketName", Matchers.startsWith("Choice-"))
+                .body("entitlements.size()", Matchers.equalTo(1));
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get("/search/companies/-1/entitlements").then()
+                .statusCode(404);
+        RestAssured.given().redirects().follow(false).cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("user1"))
+                .get("/search/companies/" + companyId + "/entitlements").then().statusCode(303);
+    }
+
+    @Test
+    void cachedEntitlementsFollowTheirWrites() {
+        Long companyId = fixtures.addCompany("Cached Choice Co");
+        Long entitlementId = addEntitlement(companyId, "Cached Plan " + System.nanoTime());
+        String cookie = Fixtures.login("support1");
+        String path = "/search/companies/" + companyId + "/entitlements";
+        String ticketName = RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get(path).then().statusCode(200)
+                .body("entitlements.size()", Matchers.equalTo(1)).extract().path("ticketName");
+
+        fixtures.addTicket(companyId, null);
+        addEntitlement(companyId, "Cached Extra " + System.nanoTime());
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get(path).then().statusCode(200)
+                .body("ticketName", Matchers.not(Matchers.equalTo(ticketName)))
+                .body("entitlements.size()", Matchers.equalTo(2));
+
+        String renamed = renameEntitlement(entitlementId);
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, cookie).get(path).then().statusCode(200)
+                .body("entitlements.name", Matchers.hasItem(renamed));
+    }
+
+    @Test
+    void expiredEntitlementsAreFlagged() {
+        Long companyId = fixtures.addCompany("Expired Choice Co");
+        Long expiredId = addEntitlement(companyId, "Expired Plan " + System.nanoTime());
+        expire(companyId, expiredId);
+        addEntitlement(companyId, "Current Plan " + System.nanoTime());
+        RestAssured.given().cookie(AuthHelper.AUTH_COOKIE, Fixtures.login("support1"))
+                .get("/search/companies/" + companyId + "/entitlements").then().statusCode(200)
+                .body("entitlements.find { it.name.startsWith('Expired Plan') }.expired", Matchers.equalTo(true))
+                .body("entitlements.find { it.name.startsWith('Current Plan') }.expired", Matchers.equalTo(false));
+    }
+
+    @Transactional
+    void expire(Long companyId, Long entitlementId) {
+        CompanyEntitlement entry = CompanyEntitlement
+                .find("company.id = ?1 and entitlement.id = ?2", companyId, entitlementId).firstResult();
+        entry.date = LocalDate.now().minusMonths(2);
+        entry.duration = CompanyEntitlement.DURATION_MONTHLY;
+    }
+
+    @Transactional
+    Long addEntitlement(Long companyId, String name) {
+        Entitlement entitlement = new Entitlement();
+        entitlement.name = name;
+        entitlement.description = name;
+        entitlement.persist();
+        CompanyEntitlement entry = new CompanyEntitlement();
+        entry.company = Company.findById(companyId);
+        entry.entitlement = entitlement;
+        entry.supportLevel = Level.find("order by id").firstResult();
+        entry.persist();
+        return entitlement.id;
+    }
+
+    @Transactional
+    String renameEntitlement(Long entitlementId) {
+        Entitlement entitlement = Entitlement.findById(entitlementId);
+        entitlement.name = entitlement.name + " renamed";
+        return entitlement.name;
+    }
+
+    @Transactional
+    Long ensureEntitlementCompany() {
+        Company company = Company.findById(fixtures.ensureCompany("Choice Co"));
+        if (CompanyEntitlement.count("company", company) > 0) {
+            return company.id;
+        }
+        Entitlement entitlement = Entitlement.find("order by id").firstResult();
+        List<Level> levels = Level.find("order by id").page(0, 2).list();
+        for (Level level : levels) {
+            CompanyEntitlement entry = new CompanyEntitlement();
+            entry.company = company;
+            entry.entitlement = entitlement;
+            entry.supportLevel = level;
+            entry.persist();
+        }
+        return company.id;
+    }
+
+    void ensureCompanies() {
+        for (int i = 0; i < 3; i++) {
+            fixtures.ensureCompany("Typeahead Co " + i);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Company;
+import ai.mnemosyne_systems.model.CompanyEntitlement;
+import ai.mnemosyne_systems.model.Entitlement;
+import ai.mnemosyne_systems.model.Level;
+import ai.mnemosyne_systems.model.Message;
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class SupportDashboardTest {
+
+    @Inject
+    SupportDashboard dashboard;
+
+    @Inject
+    Fixtures fixtures;
+
+    @Test
+    void listsFollowTheSlaOrder() {
+        Long supportId = fixtures.ensureUser("dashsupport", User.TYPE_SUPPORT);
+        Long[] ids = createTickets(supportId);
+        SupportDashboard.Snapshot snapshot = dashboard.snapshot();
+
+        Assertions.assertEquals("Red", snapshot.slaColors.get(ids[0]));
+        Assertions.assertEquals("White", snapshot.slaColors.get(ids[1]));
+        Assertions.assertFalse(snapshot.slaColors.containsKey(ids[3]), "Ticket without activity has a colour");
+        Assertions.assertFalse(snapshot.slaColors.containsKey(ids[4]), "Ticket without level has a colour");
+
+        List<Long> open = ids(snapshot.openTickets);
+        Assertions.assertEquals(sortedBySla(false, supportId, snapshot.slaColors, snapshot.messageDates), open);
+        Assertions.assertTrue(open.indexOf(ids[1]) < open.indexOf(ids[2]), "Ties are not ordered by id");
+        Assertions.assertTrue(open.indexOf(ids[4]) < open.indexOf(ids[3]), "Missing activity is not last");
+
+        User support = new User();
+        support.id = supportId;
+        List<Long> assigned = ids(snapshot.assignedTo(support));
+        Assertions.assertEquals(sortedBySla(true, supportId, snapshot.slaColors, snapshot.messageDates), assigned);
+        Assertions.assertTrue(assigned.indexOf(ids[5]) >= 0 && assigned.indexOf(ids[5]) < assigned.indexOf(ids[6]));
+        Assertions.assertFalse(assigned.contains(ids[7]), "Closed ticket is listed as assigned");
+    }
+
+    @Test
+    void ticketWriteIsSeenByTheNextSnapshot() {
+        Long supportId = fixtures.ensureUser("dashsupport", User.TYPE_SUPPORT);
+        SupportDashboard.Snapshot before = dashboard.snapshot();
+        Long[] ids = createTickets(supportId);
+        SupportDashboard.Snapshot after = dashboard.snapshot();
+        Assertions.assertNotSame(before, after);
+        Assertions.assertTrue(ids(after.openTickets).contains(ids[0]));
+    }
+
+    /**
+     * The lists as the dashboard built them before the snapshot, sorted by {@link SupportResource#sortBySla}.
+     */
+    @Transactional
+    List<Long> sortedBySla(boolean assigned, Long supportId, Map<Long, String> slaColors,
+            Map<Long, LocalDateTime> messageDates) {
+        List<Ticket> tickets = Ticket.find("status <> ?1 or supportUsers is empty", Ticket.Status.CLOSED.getLabel())
+                .list();
+        List<Ticket> listed = new ArrayList<>();
+        for (Ticket ticket : tickets) {
+            boolean mine = ticket.supportUsers.stream().anyMatch(user -> user.id.equals(supportId));
+            if (assigned ? mine && !ticket.isClosed() : ticket.supportUsers.isEmpty()) {
+                listed.add(ticket);
+            }
+        }
+        SupportResource.sortBySla(listed, slaColors, messageDates);
+        return ids(listed);
+    }
+
+    /**
+     * Creates a red ticket, two white ones with the same activity, one without activity and one without level, all
+     * without support, and two tickets of the support user, a red and a white one, besides a closed one.
+     */
+    @Transactional
+    Long[] createTickets(Long supportId) {
+        Company company = Company.findById(fixtures.addCompany("Dashboard Co"));
+        CompanyEntitlement entitlement = new CompanyEntitlement();
+        entitlement.company = company;
+        entitlement.entitlement = Entitlement.find("order by id").firstResult();
+        entitlement.supportLevel = level();
+        entitlement.persist();
+        User support = User.findById(supportId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime tie = now.minusMinutes(10);
+        return new Long[] { ticket(company, entitlement, now.minusMinutes(120), null, false),
+                ticket(company, entitlement, tie, null, false), ticket(company, entitlement, tie, null, false),
+                ticket(company, entitlement, null, null, false),
+                ticket(company, null, now.minusMinutes(5), null, false),
+                ticket(company, entitlement, now.minusMinutes(200), support, false),
+                ticket(company, entitlement, now.minusMinutes(3), support, false),
+                ticket(company, entitlement, now.minusMinutes(300), support, true) };
+    }
+
+    private Long ticket(Company company, CompanyEntitlement entitlement, LocalDateTime activity, User support,
+            boolean closed) {
+        Ticket ticket = new Ticket();
+        ticket.name = Ticket.nextName(company);
+        ticket.status = closed ? Ticket.Status.CLOSED.getLabel() : Ticket.Status.OPEN.getLabel();
+        ticket.company = company;
+        ticket.companyEntitlement = entitlement;
+        if (support != null) {
+            ticket.supportUsers.add(support);
+        }
+        ticket.persist();
+        if (activity != null) {
+            Message message = new Message();
+            message.ticket = ticket;
+            message.body = "Dashboard message";
+            message.date = activity;
+            message.persist();
+        }
+        return ticket.id;
+    }
+
+    private Level level() {
+        Level level = Level.find("name", "Dashboard Hour").firstResult();
+        if (level == null) {
+            level = new Level();
+            level.name = "Dashboard Hour";
+            level.level = 60;
+            level.color = "Red";
+            level.persist();
+        }
+        return level;
+    }
+
+    private static List<Long> ids(List<Ticket> tickets) {
+        List<Long> ids = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            ids.add(ticket.id);
+        }
+        return ids;
+    }
+}
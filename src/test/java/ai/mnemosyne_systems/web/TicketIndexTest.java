@@ -0,0 +1,122 @@
+/*
+ * Eclipse Public License - v 2.0
+ *
+ *   THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE
+ *   PUBLIC LICENSE ("AGREEMENT"). ANY USE, REPRODUCTION OR DISTRIBUTION
+ *   OF THE PROGRAM CONSTITUTES RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ */
+
+package ai.mnemosyne_systems.web;
+
+import ai.mnemosyne_systems.model.Ticket;
+import ai.mnemosyne_systems.model.User;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TicketIndexTest {
+
+    private static final String[] COLORS = { "Red", " yellow ", "White", "Black", null };
+
+    @Test
+    void orderFollowsSortBySla() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Map<Long, String> slaColors = new HashMap<>();
+        Map<Long, LocalDateTime> messageDates = new HashMap<>();
+        List<Ticket> tickets = new ArrayList<>();
+        // Ties on colour and activity, tickets without activity and tickets without a colour
+        add(tickets, slaColors, messageDates, 1, "White", now);
+        add(tickets, slaColors, messageDates, 2, null, now.minusMinutes(5));
+        add(tickets, slaColors, messageDates, 3, "White", now);
+        add(tickets, slaColors, messageDates, 4, "Red", null);
+        add(tickets, slaColors, messageDates, 5, "Red", now.minusMinutes(90));
+        add(tickets, slaColors, messageDates, 6, "Red", null);
+        add(tickets, slaColors, messageDates, 7, "Yellow", now.minusMinutes(30));
+        add(tickets, slaColors, messageDates, 8, null, null);
+        add(tickets, slaColors, messageDates, 9, "Blue", now);
+
+        Assertions.assertEquals(List.of(5L, 4L, 6L, 7L, 1L, 3L, 9L, 2L, 8L), order(tickets, slaColors, messageDates));
+        Assertions.assertEquals(sorted(tickets, slaColors, messageDates), order(tickets, slaColors, messageDates));
+    }
+
+    @Test
+    void orderFollowsSortBySlaForRandomTickets() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Map<Long, String> slaColors = new HashMap<>();
+        Map<Long, LocalDateTime> messageDates = new HashMap<>();
+        List<Ticket> tickets = new ArrayList<>();
+        long id = 0;
+        for (int i = 0; i < 500; i++) {
+            id += 1 + random.nextInt(3);
+            // Few distinct dates, so that many tickets tie
+            LocalDateTime date = random.nextInt(5) == 0 ? null : now.minusMinutes(random.nextInt(10));
+            add(tickets, slaColors, messageDates, id, COLORS[random.nextInt(COLORS.length)], date);
+        }
+        Assertions.assertEquals(sorted(tickets, slaColors, messageDates), order(tickets, slaColors, messageDates));
+    }
+
+    @Test
+    void columnsAreMapsOfTheRowsWithAValue() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0, 0, 123_456_789);
+        Map<Long, String> slaColors = new HashMap<>();
+        Map<Long, LocalDateTime> messageDates = new HashMap<>();
+        List<Ticket> tickets = new ArrayList<>();
+        add(tickets, slaColors, messageDates, 1, "Red", now);
+        add(tickets, slaColors, messageDates, 2, null, null);
+        add(tickets, slaColors, messageDates, 3, "White", now.minusDays(1));
+        User assignee = new User();
+        assignee.id = 10L;
+        assignee.name = "assignee";
+        TicketIndex index = new TicketIndex(tickets, slaColors, messageDates, Map.of(3L, assignee));
+
+        Map<Long, String> colors = new LinkedHashMap<>(index.slaColors());
+        Assertions.assertEquals(Map.of(1L, "Red", 3L, "White"), colors);
+        Assertions.assertEquals(List.of(1L, 3L), new ArrayList<>(colors.keySet()));
+        Assertions.assertEquals(2, index.lastActivity().size());
+        Assertions.assertEquals(now, index.lastActivity().get(1L));
+        Assertions.assertFalse(index.lastActivity().containsKey(2L));
+        Assertions.assertEquals(Map.of(3L, 10L), new HashMap<>(index.assigneeIds()));
+        Assertions.assertNull(index.assigneeNames().get(4L));
+    }
+
+    private static List<Long> order(List<Ticket> tickets, Map<Long, String> slaColors,
+            Map<Long, LocalDateTime> messageDates) {
+        TicketIndex index = new TicketIndex(tickets, slaColors, messageDates, Map.of());
+        List<Long> ids = new ArrayList<>();
+        for (Ticket ticket : index.unassigned()) {
+            ids.add(ticket.id);
+        }
+        return ids;
+    }
+
+    private static List<Long> sorted(List<Ticket> tickets, Map<Long, String> slaColors,
+            Map<Long, LocalDateTime> messageDates) {
+        List<Ticket> sorted = new ArrayList<>(tickets);
+        SupportResource.sortBySla(sorted, slaColors, messageDates);
+        List<Long> ids = new ArrayList<>();
+        for (Ticket ticket : sorted) {
+            ids.add(ticket.id);
+        }
+        return ids;
+    }
+
+    private static void add(List<Ticket> tickets, Map<Long, String> slaColors, Map<Long, LocalDateTime> messageDates,
+            long id, String color, LocalDateTime date) {
+        Ticket ticket = new Ticket();
+        ticket.id = id;
+        tickets.add(ticket);
+        if (color != null) {
+            slaColors.put(id, color);
+        }
+        if (date != null) {
+            messageDates.put(id, date);
+        }
+    }
+}